@@ -0,0 +1,78 @@
+package com.twilio.sdk.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Runs benchmarks with the GC profiler and fails if one allocates more bytes per operation than its budget, e.g.
+ * <pre>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark.main=com.twilio.sdk.benchmark.AllocationBudget \
+ *     -Dbenchmark=SafeRequestBenchmark
+ * </pre>
+ * Benchmarks without a budget are only reported. Lower a budget when a change allocates less, so that it stays
+ * pinned; raise one only for a deliberate trade-off.
+ */
+public final class AllocationBudget {
+
+	/** Allocated bytes per operation, by benchmark method. */
+	private static final Map<String, Long> BUDGETS = new LinkedHashMap<String, Long>();
+
+	static {
+		BUDGETS.put("SafeRequestBenchmark.getInstance", 2300L);
+		BUDGETS.put("SafeRequestBenchmark.getPage", 4100L);
+		BUDGETS.put("SafeRequestBenchmark.post", 5200L);
+		BUDGETS.put("PropertyFootprintBenchmark.call", 260L);
+		BUDGETS.put("PropertyFootprintBenchmark.message", 240L);
+	}
+
+	private AllocationBudget() {
+	}
+
+	public static void main(final String[] args) throws RunnerException {
+		String include = args.length > 0 ? args[0] : SafeRequestBenchmark.class.getSimpleName();
+		Collection<RunResult> results = new Runner(new OptionsBuilder()
+				.include(include)
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+
+		boolean exceeded = false;
+		for (final RunResult result : results) {
+			String benchmark = result.getParams().getBenchmark();
+			String name = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1);
+			double allocated = allocatedBytesPerOp(result);
+			Long budget = BUDGETS.get(name);
+			if (budget == null) {
+				System.out.printf("%-40s %10.0f B/op (no budget)%n", name, allocated);
+			} else if (allocated > budget) {
+				System.out.printf("%-40s %10.0f B/op exceeds budget of %d B/op%n", name, allocated, budget);
+				exceeded = true;
+			} else {
+				System.out.printf("%-40s %10.0f B/op within budget of %d B/op%n", name, allocated, budget);
+			}
+		}
+
+		if (exceeded) {
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Gets the normalized allocation rate reported by the GC profiler.
+	 */
+	private static double allocatedBytesPerOp(final RunResult result) {
+		for (final Map.Entry<String, Result> secondary : result.getSecondaryResults().entrySet()) {
+			if (secondary.getKey().endsWith("gc.alloc.rate.norm")) {
+				return secondary.getValue().getScore();
+			}
+		}
+		throw new IllegalStateException("No allocation rate reported for " + result.getParams().getBenchmark());
+	}
+}
@@ -0,0 +1,94 @@
+package com.twilio.sdk.benchmark;
+
+import org.apache.http.Header;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.params.BasicHttpParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+
+/**
+ * An HttpClient answering every request with the same JSON body, so that benchmarks measure the client's own
+ * request and response handling rather than the network.
+ */
+final class CannedHttpClient implements HttpClient {
+
+	private static final Header CONTENT_TYPE = new BasicHeader("Content-Type", "application/json");
+
+	private final byte[] body;
+
+	private final HttpParams params = new BasicHttpParams();
+
+	CannedHttpClient(final String body) {
+		this.body = body.getBytes(ContentType.APPLICATION_JSON.getCharset());
+	}
+
+	@Override
+	public HttpResponse execute(final HttpUriRequest request) {
+		BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+		response.setEntity(new ByteArrayEntity(body, ContentType.APPLICATION_JSON));
+		response.setHeader(CONTENT_TYPE);
+		return response;
+	}
+
+	@Override
+	public HttpResponse execute(final HttpUriRequest request, final HttpContext context) {
+		return execute(request);
+	}
+
+	@Override
+	public HttpResponse execute(final HttpHost target, final HttpRequest request) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public HttpResponse execute(final HttpHost target, final HttpRequest request, final HttpContext context) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public <T> T execute(final HttpUriRequest request, final ResponseHandler<? extends T> handler)
+			throws IOException {
+		return handler.handleResponse(execute(request));
+	}
+
+	@Override
+	public <T> T execute(final HttpUriRequest request, final ResponseHandler<? extends T> handler,
+	                     final HttpContext context) throws IOException {
+		return handler.handleResponse(execute(request));
+	}
+
+	@Override
+	public <T> T execute(final HttpHost target, final HttpRequest request,
+	                     final ResponseHandler<? extends T> handler) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public <T> T execute(final HttpHost target, final HttpRequest request, final ResponseHandler<? extends T> handler,
+	                     final HttpContext context) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public HttpParams getParams() {
+		return params;
+	}
+
+	@Override
+	public ClientConnectionManager getConnectionManager() {
+		throw new UnsupportedOperationException();
+	}
+}
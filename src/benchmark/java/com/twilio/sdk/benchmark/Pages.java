@@ -0,0 +1,104 @@
+package com.twilio.sdk.benchmark;
+
+/**
+ * Builds synthetic API responses shaped like real Twilio list pages.
+ */
+final class Pages {
+
+	static final String ACCOUNT_SID = "AC0123456789abcdef0123456789abcdef";
+
+	private Pages() {
+	}
+
+	/**
+	 * Builds a Calls list page.
+	 *
+	 * @param pageSize the number of calls on the page
+	 * @return the JSON page
+	 */
+	static String callsPage(final int pageSize) {
+		String base = "/2010-04-01/Accounts/" + ACCOUNT_SID + "/Calls.json";
+		StringBuilder sb = new StringBuilder(pageSize * 1024);
+		sb.append("{\"first_page_uri\": \"").append(base).append("?PageSize=").append(pageSize).append("&Page=0\", ");
+		sb.append("\"end\": ").append(pageSize - 1).append(", \"calls\": [");
+		for (int i = 0; i < pageSize; i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			String sid = sid("CA", i);
+			sb.append("{\"sid\": \"").append(sid).append("\", ");
+			sb.append("\"date_created\": \"Tue, 10 Mar 2015 14:22:09 +0000\", ");
+			sb.append("\"date_updated\": \"Tue, 10 Mar 2015 14:22:31 +0000\", ");
+			sb.append("\"parent_call_sid\": null, \"account_sid\": \"").append(ACCOUNT_SID).append("\", ");
+			sb.append("\"to\": \"+14155551212\", \"to_formatted\": \"(415) 555-1212\", ");
+			sb.append("\"from\": \"+14155556789\", \"from_formatted\": \"(415) 555-6789\", ");
+			sb.append("\"phone_number_sid\": \"").append(sid("PN", i)).append("\", \"status\": \"completed\", ");
+			sb.append("\"start_time\": \"Tue, 10 Mar 2015 14:22:10 +0000\", ");
+			sb.append("\"end_time\": \"Tue, 10 Mar 2015 14:22:31 +0000\", \"duration\": \"21\", ");
+			sb.append("\"price\": \"-0.01500\", \"price_unit\": \"USD\", \"direction\": \"outbound-api\", ");
+			sb.append("\"answered_by\": null, \"api_version\": \"2010-04-01\", \"annotation\": null, ");
+			sb.append("\"forwarded_from\": null, \"group_sid\": null, \"caller_name\": null, ");
+			sb.append("\"uri\": \"/2010-04-01/Accounts/").append(ACCOUNT_SID).append("/Calls/").append(sid).append(".json\", ");
+			sb.append("\"subresource_uris\": {\"notifications\": \"/2010-04-01/Accounts/").append(ACCOUNT_SID);
+			sb.append("/Calls/").append(sid).append("/Notifications.json\", \"recordings\": \"/2010-04-01/Accounts/");
+			sb.append(ACCOUNT_SID).append("/Calls/").append(sid).append("/Recordings.json\"}}");
+		}
+		sb.append("], \"previous_page_uri\": null, \"uri\": \"").append(base).append("?PageSize=").append(pageSize);
+		sb.append("&Page=0\", \"page_size\": ").append(pageSize).append(", \"start\": 0, ");
+		sb.append("\"next_page_uri\": \"").append(base).append("?PageSize=").append(pageSize);
+		sb.append("&Page=1&PageToken=PA").append(sid("CA", pageSize - 1)).append("\", \"page\": 0}");
+		return sb.toString();
+	}
+
+	/**
+	 * Builds a Messages list page.
+	 *
+	 * @param pageSize the number of messages on the page
+	 * @return the JSON page
+	 */
+	static String messagesPage(final int pageSize) {
+		String base = "/2010-04-01/Accounts/" + ACCOUNT_SID + "/Messages.json";
+		StringBuilder sb = new StringBuilder(pageSize * 1024);
+		sb.append("{\"first_page_uri\": \"").append(base).append("?PageSize=").append(pageSize).append("&Page=0\", ");
+		sb.append("\"end\": ").append(pageSize - 1).append(", \"messages\": [");
+		for (int i = 0; i < pageSize; i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			String sid = sid("SM", i);
+			sb.append("{\"sid\": \"").append(sid).append("\", ");
+			sb.append("\"date_created\": \"Tue, 10 Mar 2015 14:22:09 +0000\", ");
+			sb.append("\"date_updated\": \"Tue, 10 Mar 2015 14:22:11 +0000\", ");
+			sb.append("\"date_sent\": \"Tue, 10 Mar 2015 14:22:10 +0000\", ");
+			sb.append("\"account_sid\": \"").append(ACCOUNT_SID).append("\", ");
+			sb.append("\"to\": \"+14155551212\", \"from\": \"+14155556789\", \"messaging_service_sid\": null, ");
+			sb.append("\"body\": \"Your order ").append(i).append(" has shipped\", \"status\": \"delivered\", ");
+			sb.append("\"num_segments\": \"1\", \"num_media\": \"0\", \"direction\": \"outbound-api\", ");
+			sb.append("\"api_version\": \"2010-04-01\", \"price\": \"-0.00750\", \"price_unit\": \"USD\", ");
+			sb.append("\"error_code\": null, \"error_message\": null, ");
+			sb.append("\"uri\": \"/2010-04-01/Accounts/").append(ACCOUNT_SID).append("/Messages/").append(sid).append(".json\", ");
+			sb.append("\"subresource_uris\": {\"media\": \"/2010-04-01/Accounts/").append(ACCOUNT_SID);
+			sb.append("/Messages/").append(sid).append("/Media.json\"}}");
+		}
+		sb.append("], \"previous_page_uri\": null, \"uri\": \"").append(base).append("?PageSize=").append(pageSize);
+		sb.append("&Page=0\", \"page_size\": ").append(pageSize).append(", \"start\": 0, ");
+		sb.append("\"next_page_uri\": null, \"page\": 0}");
+		return sb.toString();
+	}
+
+	/**
+	 * Builds a deterministic 34 character sid.
+	 *
+	 * @param prefix the two letter sid prefix
+	 * @param i the sequence number
+	 * @return the sid
+	 */
+	static String sid(final String prefix, final int i) {
+		String hex = Integer.toHexString(i);
+		StringBuilder sb = new StringBuilder(34).append(prefix);
+		for (int pad = hex.length(); pad < 32; pad++) {
+			sb.append('0');
+		}
+		return sb.append(hex).toString();
+	}
+}
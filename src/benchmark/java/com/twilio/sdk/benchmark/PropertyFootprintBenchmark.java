@@ -0,0 +1,80 @@
+package com.twilio.sdk.benchmark;
+
+import com.twilio.sdk.TwilioRestClient;
+import com.twilio.sdk.TwilioRestResponse;
+import com.twilio.sdk.resource.instance.Call;
+import com.twilio.sdk.resource.instance.Message;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the footprint of one Call and one Message built from a list page, the way ListResource builds them.
+ *
+ * The page is parsed once, so each operation only allocates the instance and its property storage, and the
+ * instances are kept until the next invocation. Run with the GC profiler: gc.alloc.rate.norm is the number of bytes
+ * each instance holds on top of the parsed property values, which the page and the instances share.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyFootprintBenchmark {
+
+	private static final int PAGE_SIZE = 1000;
+
+	private TwilioRestClient client;
+
+	private List<Map<String, Object>> calls;
+
+	private List<Map<String, Object>> messages;
+
+	private final Object[] page = new Object[PAGE_SIZE];
+
+	@Setup
+	public void setUp() {
+		client = new TwilioRestClient(Pages.ACCOUNT_SID, "0123456789abcdef0123456789abcdef");
+		calls = rows(Pages.callsPage(PAGE_SIZE), "calls");
+		messages = rows(Pages.messagesPage(PAGE_SIZE), "messages");
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Map<String, Object>> rows(final String page, final String listKey) {
+		TwilioRestResponse response = new TwilioRestResponse("https://api.twilio.com/2010-04-01/Accounts/"
+		                                                     + Pages.ACCOUNT_SID + "/" + listKey + ".json", page, 200);
+		response.setContentType("application/json");
+		return (List<Map<String, Object>>) response.toMap().get(listKey);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAGE_SIZE)
+	public Object[] call() {
+		for (int i = 0; i < PAGE_SIZE; i++) {
+			page[i] = new Call(client, calls.get(i));
+		}
+		return page;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAGE_SIZE)
+	public Object[] message() {
+		for (int i = 0; i < PAGE_SIZE; i++) {
+			page[i] = new Message(client, messages.get(i));
+		}
+		return page;
+	}
+}
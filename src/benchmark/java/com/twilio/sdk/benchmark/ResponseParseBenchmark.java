@@ -0,0 +1,64 @@
+package com.twilio.sdk.benchmark;
+
+import com.twilio.sdk.TwilioRestResponse;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of decoding one page of Calls the way ListResource does it: once for the paging
+ * properties and once for the page data.
+ *
+ * {@code legacyPage} reproduces the previous behaviour of a fresh ObjectMapper and a full parse per
+ * {@code toMap()} call, {@code cachedPage} goes through {@link TwilioRestResponse#toMap()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseParseBenchmark {
+
+	@Param({"50", "1000"})
+	private int pageSize;
+
+	private String page;
+
+	@Setup
+	public void setUp() {
+		page = Pages.callsPage(pageSize);
+	}
+
+	@Benchmark
+	@SuppressWarnings("unchecked")
+	public Object legacyPage() throws IOException {
+		Map<String, Object> paging = new ObjectMapper().readValue(page, HashMap.class);
+		Map<String, Object> data = new ObjectMapper().readValue(page, HashMap.class);
+		return paging.get("next_page_uri") == null ? data.get("calls") : paging;
+	}
+
+	@Benchmark
+	public Object cachedPage() {
+		TwilioRestResponse response = new TwilioRestResponse("https://api.twilio.com/2010-04-01/Accounts/"
+		                                                     + Pages.ACCOUNT_SID + "/Calls.json", page, 200);
+		response.setContentType("application/json");
+		Map<String, Object> paging = response.toMap();
+		Map<String, Object> data = response.toMap();
+		return paging.get("next_page_uri") == null ? data.get("calls") : paging;
+	}
+}
@@ -0,0 +1,80 @@
+package com.twilio.sdk.benchmark;
+
+import com.twilio.sdk.TwilioRestClient;
+import com.twilio.sdk.TwilioRestException;
+import com.twilio.sdk.TwilioRestResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the request and response envelope of {@link TwilioRestClient#safeRequest(String, String, Map)}:
+ * building the uri, headers and body of the request, and wrapping the response, against an HttpClient that answers
+ * immediately with a small body. The body is not parsed, see {@link ResponseParseBenchmark} for that.
+ *
+ * Run with the GC profiler to see allocated bytes per request; {@link AllocationBudget} fails the run if they
+ * exceed the budget.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SafeRequestBenchmark {
+
+	private static final String CALLS = "/2010-04-01/Accounts/" + Pages.ACCOUNT_SID + "/Calls";
+
+	private static final String CALLS_LIST = CALLS + ".json";
+
+	private TwilioRestClient client;
+
+	private String instancePath;
+
+	private Map<String, String> pageFilters;
+
+	private Map<String, String> callParams;
+
+	@Setup
+	public void setUp() {
+		String sid = Pages.sid("CA", 1);
+		client = new TwilioRestClient(Pages.ACCOUNT_SID, "0123456789abcdef0123456789abcdef");
+		client.setHttpClient(new CannedHttpClient("{\"sid\": \"" + sid + "\", \"status\": \"queued\"}"));
+		instancePath = CALLS + "/" + sid + ".json";
+
+		pageFilters = new HashMap<String, String>();
+		pageFilters.put("PageSize", "50");
+		pageFilters.put("Status", "completed");
+
+		callParams = new HashMap<String, String>();
+		callParams.put("To", "+14155551212");
+		callParams.put("From", "+14155556789");
+		callParams.put("Url", "http://demo.twilio.com/docs/voice.xml");
+	}
+
+	@Benchmark
+	public TwilioRestResponse getInstance() throws TwilioRestException {
+		return client.safeRequest(instancePath, "GET", (Map<String, String>) null);
+	}
+
+	@Benchmark
+	public TwilioRestResponse getPage() throws TwilioRestException {
+		return client.safeRequest(CALLS_LIST, "GET", pageFilters);
+	}
+
+	@Benchmark
+	public TwilioRestResponse post() throws TwilioRestException {
+		return client.safeRequest(CALLS_LIST, "POST", callParams);
+	}
+}
@@ -0,0 +1,271 @@
+package com.twilio.sdk;
+
+import com.twilio.sdk.resource.instance.Account;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches {@link Account} handles and authenticated clients per sub-account, so that services working on behalf
+ * of many sub-accounts reuse loaded accounts and warmed up clients instead of building them per request.
+ * <p/>
+ * Accounts are requested with the credentials of the parent client; clients of sub-accounts are built on the
+ * {@link TwilioTransport} of the parent client and so share its connection pool. The registry holds at most
+ * {@link Builder#maxEntries(int)} sub-accounts, evicting the least recently used one beyond that, and drops
+ * sub-accounts that have not been used for {@link Builder#idleTimeout(long)} milliseconds.
+ *
+ * <pre>
+ * AccountRegistry registry = new AccountRegistry.Builder(client)
+ *     .maxEntries(10000)
+ *     .idleTimeout(600000)
+ *     .build();
+ * CallList calls = registry.getAccount(subAccountSid).getCalls();
+ * </pre>
+ */
+public class AccountRegistry {
+
+	/** The default maximum number of cached sub-accounts */
+	public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+	/** The default time in milliseconds after which unused sub-accounts are dropped */
+	public static final long DEFAULT_IDLE_TIMEOUT = 30 * 60 * 1000;
+
+	private final TwilioRestClient parent;
+
+	private final int maxEntries;
+
+	private final long idleTimeoutNanos;
+
+	private final LinkedHashMap<String, Entry> entries;
+
+	private long hits;
+
+	private long misses;
+
+	private long evictions;
+
+	/**
+	 * The cached handles of one sub-account.
+	 */
+	private static class Entry {
+
+		private Account account;
+
+		private TwilioRestClient client;
+
+		private String authToken;
+
+		private long lastAccess;
+	}
+
+	private AccountRegistry(final Builder b) {
+		this.parent = b.parent;
+		this.maxEntries = b.maxEntries;
+		this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(b.idleTimeout);
+		this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+			private static final long serialVersionUID = 5305923495310429562L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+				if (size() > maxEntries) {
+					evictions++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Gets the account of a sub-account, requested with the credentials of the parent client. The same handle is
+	 * returned until the sub-account is evicted, so its properties are loaded only once.
+	 *
+	 * @param sid the sub-account sid
+	 * @return the account
+	 */
+	public synchronized Account getAccount(final String sid) {
+		return accountOf(entry(sid), sid);
+	}
+
+	/**
+	 * Gets a client authenticated as a sub-account, looking up its auth token with the credentials of the parent
+	 * client on first use.
+	 *
+	 * @param sid the sub-account sid
+	 * @return the client of the sub-account
+	 */
+	public TwilioRestClient getClient(final String sid) {
+		Entry entry;
+		Account account;
+		synchronized (this) {
+			entry = entry(sid);
+			account = accountOf(entry, sid);
+		}
+
+		// Loading the account may make a request, which is not worth holding up other sub-accounts for
+		String authToken = account.getAuthToken();
+		synchronized (this) {
+			return clientOf(entry, sid, authToken);
+		}
+	}
+
+	/**
+	 * Gets a client authenticated as a sub-account with the given auth token. The client is built on the transport
+	 * of the parent client, and is rebuilt if the auth token changes.
+	 *
+	 * @param sid the sub-account sid
+	 * @param authToken the auth token of the sub-account
+	 * @return the client of the sub-account
+	 */
+	public synchronized TwilioRestClient getClient(final String sid, final String authToken) {
+		return clientOf(entry(sid), sid, authToken);
+	}
+
+	/**
+	 * Drops the cached handles of a sub-account, e.g. after its auth token has been rotated or it was closed.
+	 *
+	 * @param sid the sub-account sid
+	 */
+	public synchronized void invalidate(final String sid) {
+		entries.remove(sid);
+	}
+
+	/**
+	 * Drops the cached handles of all sub-accounts.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * Gets the number of cached sub-accounts, not counting ones that have expired but not yet been dropped.
+	 *
+	 * @return the number of cached sub-accounts
+	 */
+	public synchronized int size() {
+		expire(System.nanoTime());
+		return entries.size();
+	}
+
+	/**
+	 * Gets the number of lookups that found a cached sub-account.
+	 *
+	 * @return the hit count
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Gets the number of lookups that had to create a sub-account entry.
+	 *
+	 * @return the miss count
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Gets the number of sub-accounts dropped because the registry was full or they were idle.
+	 *
+	 * @return the eviction count
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	private Entry entry(final String sid) {
+		if (sid == null) {
+			throw new IllegalArgumentException("sid is required.");
+		}
+
+		long now = System.nanoTime();
+		expire(now);
+		Entry entry = entries.get(sid);
+		if (entry == null) {
+			misses++;
+			entry = new Entry();
+			entries.put(sid, entry);
+		} else {
+			hits++;
+		}
+		entry.lastAccess = now;
+		return entry;
+	}
+
+	private Account accountOf(final Entry entry, final String sid) {
+		if (entry.account == null) {
+			entry.account = parent.getAccount(sid);
+		}
+		return entry.account;
+	}
+
+	private TwilioRestClient clientOf(final Entry entry, final String sid, final String authToken) {
+		if (authToken == null) {
+			throw new IllegalArgumentException("authToken is required.");
+		}
+
+		if (entry.client == null || !authToken.equals(entry.authToken)) {
+			entry.client = new TwilioRestClient(sid, authToken, parent.getEndpoint(), parent.getTransport());
+			entry.authToken = authToken;
+		}
+		return entry.client;
+	}
+
+	/**
+	 * Drops idle entries. Entries are kept in access order, so only the least recently used ones are checked.
+	 */
+	private void expire(final long now) {
+		if (idleTimeoutNanos <= 0) {
+			return;
+		}
+
+		Iterator<Entry> it = entries.values().iterator();
+		while (it.hasNext()) {
+			if (now - it.next().lastAccess < idleTimeoutNanos) {
+				return;
+			}
+			it.remove();
+			evictions++;
+		}
+	}
+
+	/** Builder used to construct an AccountRegistry */
+	public static class Builder {
+		private final TwilioRestClient parent;
+		private int maxEntries = DEFAULT_MAX_ENTRIES;
+		private long idleTimeout = DEFAULT_IDLE_TIMEOUT;
+
+		/**
+		 * @param parent the client of the parent account, whose credentials and transport are used
+		 */
+		public Builder(final TwilioRestClient parent) {
+			if (parent == null) {
+				throw new IllegalArgumentException("parent client is required.");
+			}
+			this.parent = parent;
+		}
+
+		public Builder maxEntries(int maxEntries) {
+			if (maxEntries < 1) {
+				throw new IllegalArgumentException("maxEntries must be at least 1");
+			}
+			this.maxEntries = maxEntries;
+			return this;
+		}
+
+		/**
+		 * Sets the time in milliseconds after which unused sub-accounts are dropped, or 0 to keep them until evicted.
+		 */
+		public Builder idleTimeout(long idleTimeout) {
+			this.idleTimeout = idleTimeout;
+			return this;
+		}
+
+		public AccountRegistry build() {
+			return new AccountRegistry(this);
+		}
+	}
+}
@@ -0,0 +1,303 @@
+package com.twilio.sdk;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fails requests fast while an API host is unhealthy, keeping one circuit per host so that a degraded product,
+ * e.g. taskrouter.twilio.com, does not tie up threads and connections needed by the others.
+ *
+ * A circuit is closed while healthy. It records the outcome of the last {@code windowSize} requests; once at
+ * least {@code minimumCalls} were recorded and either the share of failures (I/O errors and 5xx responses) or of
+ * slow calls reaches its threshold, the circuit opens and every request fails with a
+ * {@link CircuitBreakerOpenException} without being sent. After {@code openDuration}, the circuit is half-open and
+ * lets {@code halfOpenCalls} trial requests through: if they all succeed it closes, otherwise it opens again.
+ *
+ * <pre>
+ * CircuitBreaker breaker = new CircuitBreaker.Builder()
+ *     .failureRateThreshold(50)
+ *     .slowCallThreshold(5000)
+ *     .openDuration(30000)
+ *     .build();
+ * client.setCircuitBreaker(breaker);
+ * </pre>
+ *
+ * A breaker may be shared by several clients.
+ */
+public class CircuitBreaker {
+
+	/**
+	 * The state of a circuit.
+	 */
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final int failureRateThreshold;
+	private final int slowCallRateThreshold;
+	private final long slowCallNanos;
+	private final int windowSize;
+	private final int minimumCalls;
+	private final long openNanos;
+	private final int halfOpenCalls;
+
+	private final ConcurrentMap<String, Circuit> circuits = new ConcurrentHashMap<String, Circuit>();
+
+	private CircuitBreaker(final Builder b) {
+		this.failureRateThreshold = b.failureRateThreshold;
+		this.slowCallRateThreshold = b.slowCallRateThreshold;
+		this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(b.slowCallThreshold);
+		this.windowSize = b.windowSize;
+		this.minimumCalls = Math.min(b.minimumCalls, b.windowSize);
+		this.openNanos = TimeUnit.MILLISECONDS.toNanos(b.openDuration);
+		this.halfOpenCalls = b.halfOpenCalls;
+	}
+
+	/**
+	 * Checks that a request to a host may be sent. Every permitted request must be followed by a call to
+	 * {@link #onResult(String, boolean, long)}.
+	 *
+	 * @param host the API host
+	 * @throws CircuitBreakerOpenException if the circuit of the host is open
+	 */
+	public void acquirePermission(final String host) throws CircuitBreakerOpenException {
+		circuitFor(host).acquirePermission(host);
+	}
+
+	/**
+	 * Records the outcome of a request.
+	 *
+	 * @param host the API host
+	 * @param failure true if the request failed with an I/O error or a server error
+	 * @param durationNanos the duration of the request
+	 */
+	public void onResult(final String host, final boolean failure, final long durationNanos) {
+		circuitFor(host).onResult(failure, durationNanos >= slowCallNanos);
+	}
+
+	/**
+	 * Records that a permitted request was not sent after all, e.g. because it was refused by a rate limiter.
+	 *
+	 * @param host the API host
+	 */
+	public void onCancelled(final String host) {
+		circuitFor(host).onCancelled();
+	}
+
+	/**
+	 * Gets the state of the circuit of a host.
+	 *
+	 * @param host the API host
+	 * @return the state
+	 */
+	public State getState(final String host) {
+		Circuit circuit = circuits.get(host);
+		return circuit == null ? State.CLOSED : circuit.getState();
+	}
+
+	/**
+	 * Closes the circuit of a host and forgets its recorded outcomes.
+	 *
+	 * @param host the API host
+	 */
+	public void reset(final String host) {
+		circuits.remove(host);
+	}
+
+	private Circuit circuitFor(final String host) {
+		Circuit circuit = circuits.get(host);
+		if (circuit == null) {
+			Circuit created = new Circuit();
+			circuit = circuits.putIfAbsent(host, created);
+			if (circuit == null) {
+				circuit = created;
+			}
+		}
+		return circuit;
+	}
+
+	/**
+	 * The state and recent outcomes of one host, guarded by its own monitor.
+	 */
+	private class Circuit {
+
+		/** Ring buffers of the last outcomes. */
+		private final boolean[] failures = new boolean[windowSize];
+		private final boolean[] slowCalls = new boolean[windowSize];
+		private int next;
+		private int recorded;
+		private int failureCount;
+		private int slowCount;
+
+		private State state = State.CLOSED;
+		private long openedAt;
+		private int trialsStarted;
+		private int trialsSucceeded;
+
+		synchronized State getState() {
+			if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+				return State.HALF_OPEN;
+			}
+			return state;
+		}
+
+		synchronized void acquirePermission(final String host) throws CircuitBreakerOpenException {
+			if (state == State.OPEN) {
+				long remaining = openNanos - (System.nanoTime() - openedAt);
+				if (remaining > 0) {
+					throw new CircuitBreakerOpenException(host, TimeUnit.NANOSECONDS.toMillis(remaining));
+				}
+				state = State.HALF_OPEN;
+				trialsStarted = 0;
+				trialsSucceeded = 0;
+			}
+
+			if (state == State.HALF_OPEN) {
+				if (trialsStarted >= halfOpenCalls) {
+					throw new CircuitBreakerOpenException(host, 0);
+				}
+				trialsStarted++;
+			}
+		}
+
+		synchronized void onCancelled() {
+			if (state == State.HALF_OPEN && trialsStarted > 0) {
+				trialsStarted--;
+			}
+		}
+
+		synchronized void onResult(final boolean failure, final boolean slow) {
+			if (state == State.HALF_OPEN) {
+				if (failure || slow) {
+					open();
+				} else if (++trialsSucceeded >= halfOpenCalls) {
+					close();
+				}
+				return;
+			} else if (state == State.OPEN) {
+				// A request started before the circuit opened
+				return;
+			}
+
+			if (recorded == windowSize) {
+				failureCount -= failures[next] ? 1 : 0;
+				slowCount -= slowCalls[next] ? 1 : 0;
+			} else {
+				recorded++;
+			}
+			failures[next] = failure;
+			slowCalls[next] = slow;
+			failureCount += failure ? 1 : 0;
+			slowCount += slow ? 1 : 0;
+			next = (next + 1) % windowSize;
+
+			if (recorded >= minimumCalls
+			    && (failureCount * 100 >= failureRateThreshold * recorded
+			        || slowCount * 100 >= slowCallRateThreshold * recorded)) {
+				open();
+			}
+		}
+
+		private void open() {
+			state = State.OPEN;
+			openedAt = System.nanoTime();
+		}
+
+		private void close() {
+			state = State.CLOSED;
+			next = 0;
+			recorded = 0;
+			failureCount = 0;
+			slowCount = 0;
+		}
+	}
+
+	/** Builder used to construct a CircuitBreaker */
+	public static class Builder {
+		private int failureRateThreshold = 50;
+		private int slowCallRateThreshold = 100;
+		private long slowCallThreshold = TwilioClientConfig.DEFAULT_READ_TIMEOUT;
+		private int windowSize = 20;
+		private int minimumCalls = 10;
+		private long openDuration = 30000;
+		private int halfOpenCalls = 3;
+
+		/**
+		 * Sets the percentage of failed requests at which the circuit opens; defaults to 50.
+		 */
+		public Builder failureRateThreshold(int failureRateThreshold) {
+			if (failureRateThreshold < 1 || failureRateThreshold > 100) {
+				throw new IllegalArgumentException("failureRateThreshold must be between 1 and 100");
+			}
+			this.failureRateThreshold = failureRateThreshold;
+			return this;
+		}
+
+		/**
+		 * Sets the percentage of slow requests at which the circuit opens; defaults to 100.
+		 */
+		public Builder slowCallRateThreshold(int slowCallRateThreshold) {
+			if (slowCallRateThreshold < 1 || slowCallRateThreshold > 100) {
+				throw new IllegalArgumentException("slowCallRateThreshold must be between 1 and 100");
+			}
+			this.slowCallRateThreshold = slowCallRateThreshold;
+			return this;
+		}
+
+		/**
+		 * Sets the duration in milliseconds from which a request counts as slow; defaults to the read timeout. The
+		 * duration runs until the response headers arrive, not until the body has been read.
+		 */
+		public Builder slowCallThreshold(long slowCallThreshold) {
+			this.slowCallThreshold = slowCallThreshold;
+			return this;
+		}
+
+		/**
+		 * Sets the number of recent requests whose outcome is considered; defaults to 20.
+		 */
+		public Builder windowSize(int windowSize) {
+			if (windowSize < 1) {
+				throw new IllegalArgumentException("windowSize must be at least 1");
+			}
+			this.windowSize = windowSize;
+			return this;
+		}
+
+		/**
+		 * Sets the number of requests recorded before the circuit may open; defaults to 10.
+		 */
+		public Builder minimumCalls(int minimumCalls) {
+			if (minimumCalls < 1) {
+				throw new IllegalArgumentException("minimumCalls must be at least 1");
+			}
+			this.minimumCalls = minimumCalls;
+			return this;
+		}
+
+		/**
+		 * Sets the time in milliseconds the circuit stays open before letting trial requests through; defaults
+		 * to 30 seconds.
+		 */
+		public Builder openDuration(long openDuration) {
+			this.openDuration = openDuration;
+			return this;
+		}
+
+		/**
+		 * Sets the number of trial requests of a half-open circuit; defaults to 3.
+		 */
+		public Builder halfOpenCalls(int halfOpenCalls) {
+			if (halfOpenCalls < 1) {
+				throw new IllegalArgumentException("halfOpenCalls must be at least 1");
+			}
+			this.halfOpenCalls = halfOpenCalls;
+			return this;
+		}
+
+		public CircuitBreaker build() {
+			return new CircuitBreaker(this);
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package com.twilio.sdk;
+
+/**
+ * Thrown when a request is refused without being sent because the {@link CircuitBreaker} of its host is open.
+ */
+public class CircuitBreakerOpenException extends TwilioRestException {
+
+	private static final long serialVersionUID = -4475049011961612304L;
+
+	/** The error code reported for refused requests, matching HTTP 503 Service Unavailable. */
+	public static final int ERROR_CODE = 503;
+
+	private final String host;
+	private final long retryAfterMillis;
+
+	/**
+	 * Instantiates a new circuit breaker open exception.
+	 *
+	 * @param host the host whose circuit is open
+	 * @param retryAfterMillis the time until trial requests are let through again
+	 */
+	public CircuitBreakerOpenException(final String host, final long retryAfterMillis) {
+		super("Circuit breaker open for " + host, ERROR_CODE, "", ERROR_CODE);
+		this.host = host;
+		this.retryAfterMillis = retryAfterMillis;
+	}
+
+	/**
+	 * Gets the host whose circuit is open.
+	 *
+	 * @return the host
+	 */
+	public String getHost() {
+		return host;
+	}
+
+	/**
+	 * Gets the time until trial requests are let through again.
+	 *
+	 * @return the time in milliseconds, 0 if trial requests are already in flight
+	 */
+	public long getRetryAfterMillis() {
+		return retryAfterMillis;
+	}
+}
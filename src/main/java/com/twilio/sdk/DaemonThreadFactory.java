@@ -0,0 +1,34 @@
+package com.twilio.sdk;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the daemon threads of the pools the library starts itself, such as the default async executor or the
+ * workers of a {@link com.twilio.sdk.resource.BatchLoader}. Threads are named
+ * {@code twilio-<name>-<pool>-<thread>} so that they can be told apart in thread dumps, and never keep the JVM
+ * running.
+ */
+public class DaemonThreadFactory implements ThreadFactory {
+
+	private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+	private final AtomicInteger threadCount = new AtomicInteger();
+
+	private final String prefix;
+
+	/**
+	 * Instantiates a new daemon thread factory for one pool.
+	 *
+	 * @param name the name of the pool's component, e.g. "async"
+	 */
+	public DaemonThreadFactory(final String name) {
+		this.prefix = "twilio-" + name + "-" + POOL_COUNT.incrementAndGet() + "-";
+	}
+
+	public Thread newThread(final Runnable runnable) {
+		Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	}
+}
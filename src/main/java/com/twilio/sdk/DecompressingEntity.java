@@ -0,0 +1,172 @@
+package com.twilio.sdk;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Decompresses a gzip or deflate encoded response body while it is read, counting the compressed and
+ * decompressed bytes of the response and adding them to the totals of the client.
+ */
+class DecompressingEntity extends HttpEntityWrapper {
+
+	private final boolean gzip;
+	private final AtomicLong totalCompressed;
+	private final AtomicLong totalDecompressed;
+
+	private long compressedBytes;
+	private long decompressedBytes;
+	private InputStream content;
+
+	/**
+	 * Instantiates a new decompressing entity.
+	 *
+	 * @param entity the compressed entity
+	 * @param gzip true for gzip, false for deflate (zlib) encoding
+	 * @param totalCompressed the client total of compressed bytes
+	 * @param totalDecompressed the client total of decompressed bytes
+	 */
+	DecompressingEntity(final HttpEntity entity, final boolean gzip, final AtomicLong totalCompressed,
+	                    final AtomicLong totalDecompressed) {
+		super(entity);
+		this.gzip = gzip;
+		this.totalCompressed = totalCompressed;
+		this.totalDecompressed = totalDecompressed;
+	}
+
+	/**
+	 * Wraps the entity of a response if it is compressed.
+	 *
+	 * @param entity the response entity, may be null
+	 * @param totalCompressed the client total of compressed bytes
+	 * @param totalDecompressed the client total of decompressed bytes
+	 * @return the decompressing entity, or the entity itself if it is not compressed
+	 */
+	static HttpEntity wrap(final HttpEntity entity, final AtomicLong totalCompressed,
+	                       final AtomicLong totalDecompressed) {
+		Header encoding = entity == null ? null : entity.getContentEncoding();
+		if (encoding == null) {
+			return entity;
+		}
+
+		String value = encoding.getValue().trim();
+		if ("gzip".equalsIgnoreCase(value) || "x-gzip".equalsIgnoreCase(value)) {
+			return new DecompressingEntity(entity, true, totalCompressed, totalDecompressed);
+		} else if ("deflate".equalsIgnoreCase(value)) {
+			return new DecompressingEntity(entity, false, totalCompressed, totalDecompressed);
+		}
+		return entity;
+	}
+
+	@Override
+	public synchronized InputStream getContent() throws IOException {
+		if (content == null) {
+			InputStream compressed = new FilterInputStream(wrappedEntity.getContent()) {
+				@Override
+				public int read() throws IOException {
+					int b = super.read();
+					if (b >= 0) {
+						countCompressed(1);
+					}
+					return b;
+				}
+
+				@Override
+				public int read(final byte[] buf, final int off, final int len) throws IOException {
+					int n = super.read(buf, off, len);
+					countCompressed(n);
+					return n;
+				}
+			};
+
+			InputStream decompressed = gzip ? new GZIPInputStream(compressed) : new InflaterInputStream(compressed);
+			content = new FilterInputStream(decompressed) {
+				@Override
+				public int read() throws IOException {
+					int b = super.read();
+					if (b >= 0) {
+						countDecompressed(1);
+					}
+					return b;
+				}
+
+				@Override
+				public int read(final byte[] buf, final int off, final int len) throws IOException {
+					int n = super.read(buf, off, len);
+					countDecompressed(n);
+					return n;
+				}
+			};
+		}
+		return content;
+	}
+
+	@Override
+	public void writeTo(final OutputStream out) throws IOException {
+		InputStream in = getContent();
+		try {
+			byte[] buf = new byte[4096];
+			int n;
+			while ((n = in.read(buf)) != -1) {
+				out.write(buf, 0, n);
+			}
+		} finally {
+			in.close();
+		}
+	}
+
+	@Override
+	public Header getContentEncoding() {
+		return null;
+	}
+
+	@Override
+	public long getContentLength() {
+		return -1;
+	}
+
+	@Override
+	public boolean isStreaming() {
+		return true;
+	}
+
+	/**
+	 * Gets the number of compressed bytes read so far.
+	 *
+	 * @return the compressed bytes
+	 */
+	long getCompressedBytes() {
+		return compressedBytes;
+	}
+
+	/**
+	 * Gets the number of decompressed bytes read so far.
+	 *
+	 * @return the decompressed bytes
+	 */
+	long getDecompressedBytes() {
+		return decompressedBytes;
+	}
+
+	private void countCompressed(final int n) {
+		if (n > 0) {
+			compressedBytes += n;
+			totalCompressed.addAndGet(n);
+		}
+	}
+
+	private void countDecompressed(final int n) {
+		if (n > 0) {
+			decompressedBytes += n;
+			totalDecompressed.addAndGet(n);
+		}
+	}
+}
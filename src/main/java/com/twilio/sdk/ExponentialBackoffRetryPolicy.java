@@ -0,0 +1,133 @@
+package com.twilio.sdk;
+
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.impl.cookie.DateParseException;
+import org.apache.http.impl.cookie.DateUtils;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.util.Random;
+
+/**
+ * The default {@link RetryPolicy}: exponential backoff with full jitter, honouring Retry-After.
+ *
+ * The n-th retry waits a random time between 0 and {@code min(maxDelay, baseDelay * 2^(n-1))}, so clients
+ * that failed together do not retry in lock-step. A Retry-After header sets a floor on the wait. Retries stop
+ * once the total time would exceed {@code maxElapsed}.
+ *
+ * Idempotent methods (GET, PUT, DELETE, ...) are retried on 429, 5xx and I/O errors. POST is only retried
+ * when the request is known not to have been processed: on 429, and when no connection could be established.
+ */
+public class ExponentialBackoffRetryPolicy implements RetryPolicy {
+
+	/** The default delay before the first retry. */
+	public static final long DEFAULT_BASE_DELAY = 100;
+
+	/** The default upper bound of a single delay. */
+	public static final long DEFAULT_MAX_DELAY = 10000;
+
+	/** The default upper bound of the time spent on one request, retries included. */
+	public static final long DEFAULT_MAX_ELAPSED = 60000;
+
+	private static final int TOO_MANY_REQUESTS = 429;
+
+	private final long baseDelay;
+	private final long maxDelay;
+	private final long maxElapsed;
+	private final Random random = new Random();
+
+	/**
+	 * Instantiates a policy with the default delays.
+	 */
+	public ExponentialBackoffRetryPolicy() {
+		this(DEFAULT_BASE_DELAY, DEFAULT_MAX_DELAY, DEFAULT_MAX_ELAPSED);
+	}
+
+	/**
+	 * Instantiates a new exponential backoff retry policy.
+	 *
+	 * @param baseDelay the delay bound of the first retry, in milliseconds
+	 * @param maxDelay the upper bound of a single delay, in milliseconds
+	 * @param maxElapsed the upper bound of the time spent on one request, in milliseconds
+	 */
+	public ExponentialBackoffRetryPolicy(final long baseDelay, final long maxDelay, final long maxElapsed) {
+		this.baseDelay = baseDelay;
+		this.maxDelay = maxDelay;
+		this.maxElapsed = maxElapsed;
+	}
+
+	public long getRetryDelay(final String method, final int attempt, final long elapsedMillis,
+	                          final TwilioRestResponse response, final IOException error) {
+		if (!isRetryable(method, response, error)) {
+			return -1;
+		}
+
+		long bound = Math.min(maxDelay, baseDelay << Math.min(attempt - 1, 30));
+		long delay = (long) (nextRandom() * (bound + 1));
+
+		long retryAfter = response == null ? -1 : parseRetryAfter(response.getHeader("Retry-After"));
+		if (retryAfter > delay) {
+			delay = retryAfter;
+		}
+
+		return elapsedMillis >= maxElapsed || elapsedMillis + delay > maxElapsed ? -1 : delay;
+	}
+
+	/**
+	 * Determines whether the failure can be retried safely.
+	 *
+	 * @param method the HTTP method
+	 * @param response the failed response, or null
+	 * @param error the I/O error, or null
+	 * @return true if the request may be repeated
+	 */
+	protected boolean isRetryable(final String method, final TwilioRestResponse response, final IOException error) {
+		if (response != null && response.getHttpStatus() == TOO_MANY_REQUESTS) {
+			return true;
+		}
+
+		if (isIdempotent(method)) {
+			return error != null || (response != null && response.isServerError());
+		}
+
+		return error instanceof ConnectException || error instanceof ConnectTimeoutException
+		       || error instanceof UnknownHostException;
+	}
+
+	/**
+	 * Determines whether repeating the method has the same effect as sending it once.
+	 *
+	 * @param method the HTTP method
+	 * @return true for every method but POST
+	 */
+	protected boolean isIdempotent(final String method) {
+		return !"POST".equalsIgnoreCase(method);
+	}
+
+	private synchronized double nextRandom() {
+		return random.nextDouble();
+	}
+
+	/**
+	 * Parses a Retry-After header, given either in seconds or as an HTTP date.
+	 *
+	 * @param value the header value
+	 * @return the delay in milliseconds, or -1 if absent or invalid
+	 */
+	private static long parseRetryAfter(final String value) {
+		if (value == null) {
+			return -1;
+		}
+
+		try {
+			return Math.max(0, Long.parseLong(value.trim()) * 1000);
+		} catch (final NumberFormatException e) {
+			try {
+				return Math.max(0, DateUtils.parseDate(value).getTime() - System.currentTimeMillis());
+			} catch (final DateParseException e1) {
+				return -1;
+			}
+		}
+	}
+}
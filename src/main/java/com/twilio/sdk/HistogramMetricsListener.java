@@ -0,0 +1,217 @@
+package com.twilio.sdk;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link TwilioMetricsListener} keeping latency histograms per endpoint, where an endpoint is the HTTP method
+ * and normalized resource path, e.g. {@code POST /2010-04-01/Accounts/{sid}/Messages}. Each endpoint takes about
+ * 40 KB, so beyond {@link #MAX_ENDPOINTS} further paths are counted together under the path {@link #OTHER_PATH}.
+ *
+ * <pre>
+ * HistogramMetricsListener metrics = new HistogramMetricsListener();
+ * client.setMetricsListener(metrics);
+ * ...
+ * HistogramMetricsListener.Endpoint send = metrics.getEndpoint("POST", "/2010-04-01/Accounts/{sid}/Messages");
+ * long p99 = send.getTotal().getPercentile(99, TimeUnit.MILLISECONDS);
+ * </pre>
+ */
+public class HistogramMetricsListener implements TwilioMetricsListener {
+
+	/**
+	 * The histograms and counters of one endpoint.
+	 */
+	public static class Endpoint {
+
+		private final LatencyHistogram total = new LatencyHistogram();
+		private final LatencyHistogram connect = new LatencyHistogram();
+		private final LatencyHistogram timeToFirstByte = new LatencyHistogram();
+		private final LatencyHistogram bodyRead = new LatencyHistogram();
+		private final LatencyHistogram parse = new LatencyHistogram();
+		private final AtomicLong retries = new AtomicLong();
+		private final AtomicLong errors = new AtomicLong();
+		private final ConcurrentMap<Integer, AtomicLong> statusCodes = new ConcurrentHashMap<Integer, AtomicLong>();
+
+		/**
+		 * Gets the total time of each attempt.
+		 *
+		 * @return the histogram
+		 */
+		public LatencyHistogram getTotal() {
+			return total;
+		}
+
+		/**
+		 * Gets the connection lease time, including connect and TLS handshake for new connections.
+		 *
+		 * @return the histogram
+		 */
+		public LatencyHistogram getConnect() {
+			return connect;
+		}
+
+		/**
+		 * Gets the time from sending the request to receiving the response headers.
+		 *
+		 * @return the histogram
+		 */
+		public LatencyHistogram getTimeToFirstByte() {
+			return timeToFirstByte;
+		}
+
+		/**
+		 * Gets the time spent reading response bodies.
+		 *
+		 * @return the histogram
+		 */
+		public LatencyHistogram getBodyRead() {
+			return bodyRead;
+		}
+
+		/**
+		 * Gets the time spent parsing response bodies.
+		 *
+		 * @return the histogram
+		 */
+		public LatencyHistogram getParse() {
+			return parse;
+		}
+
+		/**
+		 * Gets the number of retried attempts.
+		 *
+		 * @return the retries
+		 */
+		public long getRetries() {
+			return retries.get();
+		}
+
+		/**
+		 * Gets the number of attempts that failed with an I/O error.
+		 *
+		 * @return the errors
+		 */
+		public long getErrors() {
+			return errors.get();
+		}
+
+		/**
+		 * Gets the number of responses per HTTP status code.
+		 *
+		 * @return the counts, by status code
+		 */
+		public Map<Integer, Long> getStatusCodes() {
+			Map<Integer, Long> counts = new TreeMap<Integer, Long>();
+			for (final Map.Entry<Integer, AtomicLong> e : statusCodes.entrySet()) {
+				counts.put(e.getKey(), e.getValue().get());
+			}
+			return counts;
+		}
+
+		private void countStatus(final int statusCode) {
+			AtomicLong counter = statusCodes.get(statusCode);
+			if (counter == null) {
+				AtomicLong created = new AtomicLong();
+				counter = statusCodes.putIfAbsent(statusCode, created);
+				if (counter == null) {
+					counter = created;
+				}
+			}
+			counter.incrementAndGet();
+		}
+	}
+
+	/** The maximum number of endpoints kept apart. */
+	public static final int MAX_ENDPOINTS = 256;
+
+	/** The path of the endpoint counting the requests beyond {@link #MAX_ENDPOINTS}. */
+	public static final String OTHER_PATH = "{other}";
+
+	private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<String, Endpoint>();
+
+	public void requestCompleted(final RequestMetrics metrics) {
+		Endpoint endpoint = endpointFor(metrics.getMethod(), metrics.getPath());
+
+		endpoint.total.record(metrics.getTotalNanos());
+		endpoint.connect.record(metrics.getConnectNanos());
+		endpoint.timeToFirstByte.record(metrics.getTimeToFirstByteNanos());
+		endpoint.bodyRead.record(metrics.getBodyReadNanos());
+
+		if (metrics.getAttempt() > 1) {
+			endpoint.retries.incrementAndGet();
+		}
+		if (metrics.getError() != null) {
+			endpoint.errors.incrementAndGet();
+		} else {
+			endpoint.countStatus(metrics.getStatusCode());
+		}
+	}
+
+	public void responseParsed(final String method, final String path, final long parseNanos) {
+		endpointFor(method, path).parse.record(parseNanos);
+	}
+
+	/**
+	 * Gets the histograms of one endpoint.
+	 *
+	 * @param method the HTTP method
+	 * @param path the normalized resource path
+	 * @return the endpoint, or null if no request was made to it
+	 */
+	public Endpoint getEndpoint(final String method, final String path) {
+		return endpoints.get(method + " " + path);
+	}
+
+	/**
+	 * Gets the histograms of every endpoint requested so far.
+	 *
+	 * @return the endpoints, keyed and sorted by method and path, e.g. "GET /2010-04-01/Accounts/{sid}/Calls"
+	 */
+	public Map<String, Endpoint> getEndpoints() {
+		return Collections.unmodifiableMap(new TreeMap<String, Endpoint>(endpoints));
+	}
+
+	/**
+	 * Formats the main figures of every endpoint, one line each.
+	 *
+	 * @return the summary
+	 */
+	public String summary() {
+		StringBuilder sb = new StringBuilder();
+		for (final Map.Entry<String, Endpoint> e : getEndpoints().entrySet()) {
+			LatencyHistogram total = e.getValue().total;
+			sb.append(e.getKey())
+			  .append(" count=").append(total.getCount())
+			  .append(" p50=").append(total.getPercentile(50, TimeUnit.MILLISECONDS)).append("ms")
+			  .append(" p99=").append(total.getPercentile(99, TimeUnit.MILLISECONDS)).append("ms")
+			  .append(" max=").append(total.getMax(TimeUnit.MILLISECONDS)).append("ms")
+			  .append(" retries=").append(e.getValue().getRetries())
+			  .append(" errors=").append(e.getValue().getErrors())
+			  .append(" status=").append(e.getValue().getStatusCodes())
+			  .append('\n');
+		}
+		return sb.toString();
+	}
+
+	private Endpoint endpointFor(final String method, final String path) {
+		String key = method + " " + path;
+		Endpoint endpoint = endpoints.get(key);
+		if (endpoint == null && endpoints.size() >= MAX_ENDPOINTS) {
+			key = method + " " + OTHER_PATH;
+			endpoint = endpoints.get(key);
+		}
+		if (endpoint == null) {
+			Endpoint created = new Endpoint();
+			endpoint = endpoints.putIfAbsent(key, created);
+			if (endpoint == null) {
+				endpoint = created;
+			}
+		}
+		return endpoint;
+	}
+}
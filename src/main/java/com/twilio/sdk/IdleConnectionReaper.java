@@ -0,0 +1,58 @@
+package com.twilio.sdk;
+
+import org.apache.http.conn.ClientConnectionManager;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically closes expired and idle connections of registered connection managers, on one shared daemon
+ * thread. Managers are only weakly referenced, and are dropped once their client is garbage collected.
+ */
+final class IdleConnectionReaper {
+
+	private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+			new ThreadFactory() {
+				public Thread newThread(final Runnable runnable) {
+					Thread thread = new Thread(runnable, "twilio-idle-connection-reaper");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+
+	private IdleConnectionReaper() {
+	}
+
+	/**
+	 * Starts reaping the connections of a manager.
+	 *
+	 * @param manager the connection manager
+	 * @param idleTimeout the time in milliseconds after which idle connections are closed
+	 */
+	static void register(final ClientConnectionManager manager, final long idleTimeout) {
+		final WeakReference<ClientConnectionManager> ref = new WeakReference<ClientConnectionManager>(manager);
+		final long interval = Math.max(1000, idleTimeout / 2);
+		final ScheduledFuture<?>[] task = new ScheduledFuture<?>[1];
+
+		synchronized (task) {
+			task[0] = SCHEDULER.scheduleWithFixedDelay(new Runnable() {
+				public void run() {
+					ClientConnectionManager mgr = ref.get();
+					if (mgr == null) {
+						synchronized (task) {
+							task[0].cancel(false);
+						}
+						return;
+					}
+
+					mgr.closeExpiredConnections();
+					mgr.closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+				}
+			}, interval, interval, TimeUnit.MILLISECONDS);
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package com.twilio.sdk;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free latency histogram with log-linear buckets, in the style of HdrHistogram: every power of two is
+ * split into 16 linear sub-buckets, so recorded values are kept to within about 6% at any magnitude, from one
+ * microsecond to hours, in a fixed array of counters.
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 4;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong sum = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Records a latency.
+	 *
+	 * @param nanos the latency in nanoseconds; negative values are ignored
+	 */
+	public void record(final long nanos) {
+		if (nanos < 0) {
+			return;
+		}
+
+		long micros = nanos / 1000;
+		counts.incrementAndGet(bucketOf(micros));
+		count.incrementAndGet();
+		sum.addAndGet(micros);
+
+		long current = max.get();
+		while (micros > current && !max.compareAndSet(current, micros)) {
+			current = max.get();
+		}
+	}
+
+	/**
+	 * Gets the number of recorded values.
+	 *
+	 * @return the count
+	 */
+	public long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * Gets the mean of the recorded values.
+	 *
+	 * @param unit the unit of the result
+	 * @return the mean, or 0 if nothing was recorded
+	 */
+	public double getMean(final TimeUnit unit) {
+		long n = count.get();
+		return n == 0 ? 0 : (double) unit.convert(sum.get() * 1000, TimeUnit.NANOSECONDS) / n;
+	}
+
+	/**
+	 * Gets the largest recorded value.
+	 *
+	 * @param unit the unit of the result
+	 * @return the maximum
+	 */
+	public long getMax(final TimeUnit unit) {
+		return unit.convert(max.get(), TimeUnit.MICROSECONDS);
+	}
+
+	/**
+	 * Gets the value below which the given percentage of the recorded values fall, to bucket precision.
+	 *
+	 * @param percentile the percentile, between 0 and 100
+	 * @param unit the unit of the result
+	 * @return the percentile value, or 0 if nothing was recorded
+	 */
+	public long getPercentile(final double percentile, final TimeUnit unit) {
+		long n = count.get();
+		if (n == 0) {
+			return 0;
+		}
+
+		long target = Math.max(1, (long) Math.ceil(n * percentile / 100));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+			if (seen >= target) {
+				return unit.convert(Math.min(upperBoundOf(i), max.get()), TimeUnit.MICROSECONDS);
+			}
+		}
+		return unit.convert(max.get(), TimeUnit.MICROSECONDS);
+	}
+
+	/**
+	 * Gets the bucket of a value: values below 16 have their own bucket, larger values share a bucket with those
+	 * having the same highest bit and next 4 bits.
+	 */
+	static int bucketOf(final long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int magnitude = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS + 1;
+		int subBucket = (int) (value >>> (magnitude - 1)) & (SUB_BUCKETS - 1);
+		return magnitude * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * Gets the largest value falling into a bucket.
+	 */
+	static long upperBoundOf(final int bucket) {
+		int magnitude = bucket / SUB_BUCKETS;
+		long subBucket = bucket % SUB_BUCKETS;
+		if (magnitude == 0) {
+			return subBucket;
+		}
+		long base = (SUB_BUCKETS | subBucket) << (magnitude - 1);
+		return base + (1L << (magnitude - 1)) - 1;
+	}
+}
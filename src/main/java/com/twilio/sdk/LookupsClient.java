@@ -17,6 +17,16 @@ public class LookupsClient extends TwilioClient {
 		super(username, password, endpoint);
 	}
 
+	public LookupsClient(final String username, final String password, final String endpoint,
+	                     final TwilioClientConfig config) {
+		super(username, password, endpoint, config);
+	}
+
+	public LookupsClient(final String username, final String password, final String endpoint,
+	                     final TwilioTransport transport) {
+		super(username, password, endpoint, transport);
+	}
+
 	public PhoneNumber getPhoneNumber(final String number) {
 		return getPhoneNumber(number, null, false);
 	}
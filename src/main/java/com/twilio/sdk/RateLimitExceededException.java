@@ -0,0 +1,21 @@
+package com.twilio.sdk;
+
+/**
+ * Thrown when a request is refused by the client-side {@link RateLimiter}, without having been sent.
+ */
+public class RateLimitExceededException extends TwilioRestException {
+
+	private static final long serialVersionUID = 2706403546424960826L;
+
+	/** The error code reported for requests refused by the limiter, matching HTTP 429 Too Many Requests. */
+	public static final int ERROR_CODE = 429;
+
+	/**
+	 * Instantiates a new rate limit exceeded exception.
+	 *
+	 * @param message the message
+	 */
+	public RateLimitExceededException(final String message) {
+		super(message, ERROR_CODE, "", ERROR_CODE);
+	}
+}
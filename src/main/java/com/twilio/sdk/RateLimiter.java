@@ -0,0 +1,505 @@
+package com.twilio.sdk;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A client-side limit on the request rate and the number of concurrent requests, kept separately for every
+ * account and API host (api.twilio.com, taskrouter.twilio.com, lookups.twilio.com, ...).
+ *
+ * The rate is enforced with a token bucket: {@code burst} requests may start at once, after which requests
+ * start at {@code permitsPerSecond}. Independently, at most {@code maxConcurrent} requests may be in flight.
+ * When a request has to wait, the {@link Mode} decides what happens:
+ * <ul>
+ *     <li>{@link Mode#BLOCK} waits on the calling thread, up to {@code maxWait};</li>
+ *     <li>{@link Mode#FAIL_FAST} throws a {@link RateLimitExceededException} right away;</li>
+ *     <li>{@link Mode#ASYNC_WAIT} blocks synchronous requests like BLOCK, but the async methods of
+ *     {@link TwilioClient} only submit their task once a permit is available, so waiting requests do not hold
+ *     an executor thread.</li>
+ * </ul>
+ *
+ * <pre>
+ * RateLimiter limiter = new RateLimiter.Builder()
+ *     .permitsPerSecond(100)
+ *     .maxConcurrent(20)
+ *     .hostLimit("lookups.twilio.com", 10, 10, 5)
+ *     .build();
+ * client.setRateLimiter(limiter);
+ * </pre>
+ *
+ * A limiter may be shared by several clients, which then share the allowance of each account and host.
+ */
+public class RateLimiter {
+
+	/**
+	 * What a request does when it cannot start immediately.
+	 */
+	public enum Mode {
+		BLOCK, FAIL_FAST, ASYNC_WAIT
+	}
+
+	/**
+	 * Receives the outcome of {@link RateLimiter#acquireAsync(String, String, PermitCallback)}. Callbacks run on
+	 * the limiter's scheduler thread or the releasing thread, and must return quickly.
+	 */
+	public interface PermitCallback {
+
+		/**
+		 * Called once a permit was acquired; the permit must be released when the request completes.
+		 *
+		 * @param permit the permit
+		 */
+		void acquired(Permit permit);
+
+		/**
+		 * Called if no permit could be acquired within the maximum wait.
+		 *
+		 * @param e the failure
+		 */
+		void rejected(RateLimitExceededException e);
+	}
+
+	/**
+	 * The right to send one request. Releasing it more than once has no effect.
+	 */
+	public static class Permit {
+
+		/** A permit of an unlimited client, whose release does nothing. */
+		public static final Permit NONE = new Permit(null);
+
+		private final Limit limit;
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		private Permit(final Limit limit) {
+			this.limit = limit;
+		}
+
+		/**
+		 * Releases the permit, letting a waiting request start.
+		 */
+		public void release() {
+			if (limit != null && released.compareAndSet(false, true)) {
+				limit.release();
+			}
+		}
+	}
+
+	/**
+	 * A snapshot of the counters of one account and host, or of the whole limiter.
+	 */
+	public static class Stats {
+
+		private final long acquired;
+		private final long waited;
+		private final long rejected;
+		private final long totalWaitNanos;
+		private final long maxWaitNanos;
+
+		private Stats(final long acquired, final long waited, final long rejected, final long totalWaitNanos,
+		              final long maxWaitNanos) {
+			this.acquired = acquired;
+			this.waited = waited;
+			this.rejected = rejected;
+			this.totalWaitNanos = totalWaitNanos;
+			this.maxWaitNanos = maxWaitNanos;
+		}
+
+		/**
+		 * Gets the number of permits handed out.
+		 *
+		 * @return the number of acquired permits
+		 */
+		public long getAcquired() {
+			return acquired;
+		}
+
+		/**
+		 * Gets the number of permits that could not be handed out immediately.
+		 *
+		 * @return the number of requests that waited
+		 */
+		public long getWaited() {
+			return waited;
+		}
+
+		/**
+		 * Gets the number of requests refused by the limiter.
+		 *
+		 * @return the number of rejections
+		 */
+		public long getRejected() {
+			return rejected;
+		}
+
+		/**
+		 * Gets the time spent waiting for permits, summed over all requests.
+		 *
+		 * @return the total wait in milliseconds
+		 */
+		public long getTotalWaitMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos);
+		}
+
+		/**
+		 * Gets the longest wait for a permit.
+		 *
+		 * @return the maximum wait in milliseconds
+		 */
+		public long getMaxWaitMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos);
+		}
+
+		/**
+		 * Gets the mean wait over all acquired permits.
+		 *
+		 * @return the average wait in milliseconds
+		 */
+		public double getAverageWaitMillis() {
+			return acquired == 0 ? 0 : totalWaitNanos / 1e6 / acquired;
+		}
+	}
+
+	/**
+	 * Schedules async waiters whose next token is due later.
+	 */
+	private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+			new ThreadFactory() {
+				public Thread newThread(final Runnable runnable) {
+					Thread thread = new Thread(runnable, "twilio-rate-limiter");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+
+	private final Mode mode;
+	private final long maxWaitNanos;
+	private final LimitSpec defaultSpec;
+	private final Map<String, LimitSpec> hostSpecs;
+	private final ConcurrentMap<String, Limit> limits = new ConcurrentHashMap<String, Limit>();
+
+	private RateLimiter(final Builder b) {
+		this.mode = b.mode;
+		this.maxWaitNanos = b.maxWait > 0 ? TimeUnit.MILLISECONDS.toNanos(b.maxWait) : Long.MAX_VALUE;
+		this.defaultSpec = new LimitSpec(b.permitsPerSecond, b.burst, b.maxConcurrent);
+		this.hostSpecs = new HashMap<String, LimitSpec>(b.hostSpecs);
+	}
+
+	/**
+	 * Gets the behaviour of requests that cannot start immediately.
+	 *
+	 * @return the mode
+	 */
+	public Mode getMode() {
+		return mode;
+	}
+
+	/**
+	 * Acquires a permit to send a request, waiting if the mode allows it.
+	 *
+	 * @param accountSid the account sending the request
+	 * @param host the API host
+	 * @return the permit, which must be released when the request completes
+	 * @throws RateLimitExceededException if no permit is available and the mode is FAIL_FAST, or none became
+	 * available within the maximum wait
+	 */
+	public Permit acquire(final String accountSid, final String host) throws RateLimitExceededException {
+		Limit limit = limitFor(accountSid, host);
+		long start = System.nanoTime();
+		boolean waited = false;
+
+		synchronized (limit) {
+			while (true) {
+				long wait = limit.reserve();
+				if (wait == 0) {
+					limit.recordAcquired(waited ? System.nanoTime() - start : 0);
+					return new Permit(limit);
+				}
+
+				long remaining = maxWaitNanos - (System.nanoTime() - start);
+				if (mode == Mode.FAIL_FAST || remaining <= 0) {
+					throw limit.reject(accountSid, host);
+				}
+
+				try {
+					TimeUnit.NANOSECONDS.timedWait(limit, wait < 0 ? remaining : Math.min(wait, remaining));
+					waited = true;
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new RuntimeException(e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Acquires a permit without blocking the calling thread. The callback is invoked once a permit is available,
+	 * or with the failure if the maximum wait has passed when the request is next considered.
+	 *
+	 * @param accountSid the account sending the request
+	 * @param host the API host
+	 * @param callback receives the permit
+	 */
+	public void acquireAsync(final String accountSid, final String host, final PermitCallback callback) {
+		new AsyncWaiter(accountSid, host, limitFor(accountSid, host), callback).run();
+	}
+
+	/**
+	 * Gets the counters of one account and host.
+	 *
+	 * @param accountSid the account
+	 * @param host the API host
+	 * @return the counters, all zero if no request was made yet
+	 */
+	public Stats getStats(final String accountSid, final String host) {
+		Limit limit = limits.get(accountSid + "@" + host);
+		return limit == null ? new Stats(0, 0, 0, 0, 0) : limit.stats();
+	}
+
+	/**
+	 * Gets the counters summed over every account and host.
+	 *
+	 * @return the counters
+	 */
+	public Stats getStats() {
+		long acquired = 0, waited = 0, rejected = 0, totalWait = 0, maxWait = 0;
+		for (final Limit limit : limits.values()) {
+			Stats s = limit.stats();
+			acquired += s.acquired;
+			waited += s.waited;
+			rejected += s.rejected;
+			totalWait += s.totalWaitNanos;
+			maxWait = Math.max(maxWait, s.maxWaitNanos);
+		}
+		return new Stats(acquired, waited, rejected, totalWait, maxWait);
+	}
+
+	private Limit limitFor(final String accountSid, final String host) {
+		String key = accountSid + "@" + host;
+		Limit limit = limits.get(key);
+		if (limit == null) {
+			LimitSpec spec = hostSpecs.get(host);
+			Limit created = new Limit(spec == null ? defaultSpec : spec);
+			limit = limits.putIfAbsent(key, created);
+			if (limit == null) {
+				limit = created;
+			}
+		}
+		return limit;
+	}
+
+	/**
+	 * Retries an async acquisition whenever a token is due or a request completes.
+	 */
+	private class AsyncWaiter implements Runnable {
+
+		private final String accountSid;
+		private final String host;
+		private final Limit limit;
+		private final PermitCallback callback;
+		private final long start = System.nanoTime();
+		private boolean waited;
+
+		AsyncWaiter(final String accountSid, final String host, final Limit limit, final PermitCallback callback) {
+			this.accountSid = accountSid;
+			this.host = host;
+			this.limit = limit;
+			this.callback = callback;
+		}
+
+		public void run() {
+			long wait;
+			synchronized (limit) {
+				wait = limit.reserve();
+				if (wait < 0 && System.nanoTime() - start < maxWaitNanos) {
+					waited = true;
+					limit.asyncWaiters.addLast(this);
+					return;
+				}
+			}
+
+			if (wait == 0) {
+				limit.recordAcquired(waited ? System.nanoTime() - start : 0);
+				callback.acquired(new Permit(limit));
+			} else if (System.nanoTime() - start >= maxWaitNanos) {
+				callback.rejected(limit.reject(accountSid, host));
+			} else {
+				waited = true;
+				SCHEDULER.schedule(this, wait, TimeUnit.NANOSECONDS);
+			}
+		}
+	}
+
+	/**
+	 * The configured limits of a host.
+	 */
+	private static class LimitSpec {
+
+		private final double permitsPerSecond;
+		private final int burst;
+		private final int maxConcurrent;
+
+		LimitSpec(final double permitsPerSecond, final int burst, final int maxConcurrent) {
+			this.permitsPerSecond = permitsPerSecond;
+			this.burst = burst > 0 ? burst : Math.max(1, (int) Math.ceil(permitsPerSecond));
+			this.maxConcurrent = maxConcurrent;
+		}
+	}
+
+	/**
+	 * The token bucket and in-flight count of one account and host, guarded by its own monitor.
+	 */
+	private static class Limit {
+
+		private final double permitsPerNano;
+		private final double burst;
+		private final int maxConcurrent;
+
+		private double tokens;
+		private long lastRefill = System.nanoTime();
+		private int inFlight;
+		private final LinkedList<Runnable> asyncWaiters = new LinkedList<Runnable>();
+
+		private final AtomicLong acquired = new AtomicLong();
+		private final AtomicLong waited = new AtomicLong();
+		private final AtomicLong rejected = new AtomicLong();
+		private final AtomicLong totalWaitNanos = new AtomicLong();
+		private final AtomicLong maxWaitNanos = new AtomicLong();
+
+		Limit(final LimitSpec spec) {
+			this.permitsPerNano = spec.permitsPerSecond / 1e9;
+			this.burst = spec.burst;
+			this.maxConcurrent = spec.maxConcurrent;
+			this.tokens = spec.burst;
+		}
+
+		/**
+		 * Takes a token and an in-flight slot if both are available. Must hold the lock.
+		 *
+		 * @return 0 if acquired, -1 if waiting on an in-flight request, else the nanoseconds until the next token
+		 */
+		long reserve() {
+			if (maxConcurrent > 0 && inFlight >= maxConcurrent) {
+				return -1;
+			}
+
+			if (permitsPerNano > 0) {
+				long now = System.nanoTime();
+				tokens = Math.min(burst, tokens + (now - lastRefill) * permitsPerNano);
+				lastRefill = now;
+				if (tokens < 1) {
+					return Math.max(1, (long) Math.ceil((1 - tokens) / permitsPerNano));
+				}
+				tokens--;
+			}
+
+			inFlight++;
+			return 0;
+		}
+
+		void release() {
+			Runnable waiter;
+			synchronized (this) {
+				inFlight--;
+				notifyAll();
+				waiter = asyncWaiters.poll();
+			}
+
+			if (waiter != null) {
+				waiter.run();
+			}
+		}
+
+		void recordAcquired(final long waitNanos) {
+			acquired.incrementAndGet();
+			if (waitNanos > 0) {
+				waited.incrementAndGet();
+				totalWaitNanos.addAndGet(waitNanos);
+				long max = maxWaitNanos.get();
+				while (waitNanos > max && !maxWaitNanos.compareAndSet(max, waitNanos)) {
+					max = maxWaitNanos.get();
+				}
+			}
+		}
+
+		RateLimitExceededException reject(final String accountSid, final String host) {
+			rejected.incrementAndGet();
+			return new RateLimitExceededException("Client-side rate limit exceeded for " + accountSid + " on "
+			                                      + host);
+		}
+
+		Stats stats() {
+			return new Stats(acquired.get(), waited.get(), rejected.get(), totalWaitNanos.get(), maxWaitNanos.get());
+		}
+	}
+
+	/** Builder used to construct a RateLimiter */
+	public static class Builder {
+		private double permitsPerSecond = 0;
+		private int burst = 0;
+		private int maxConcurrent = 0;
+		private Mode mode = Mode.BLOCK;
+		private long maxWait = 0;
+		private final Map<String, LimitSpec> hostSpecs = new HashMap<String, LimitSpec>();
+
+		/**
+		 * Sets the request rate per account and host; 0, the default, leaves the rate unlimited.
+		 */
+		public Builder permitsPerSecond(double permitsPerSecond) {
+			this.permitsPerSecond = permitsPerSecond;
+			return this;
+		}
+
+		/**
+		 * Sets the number of requests that may start at once after a quiet period; defaults to one second's worth.
+		 */
+		public Builder burst(int burst) {
+			this.burst = burst;
+			return this;
+		}
+
+		/**
+		 * Sets the number of concurrent requests per account and host; 0, the default, leaves it unlimited.
+		 */
+		public Builder maxConcurrent(int maxConcurrent) {
+			this.maxConcurrent = maxConcurrent;
+			return this;
+		}
+
+		/**
+		 * Sets different limits for one host, e.g. "lookups.twilio.com".
+		 */
+		public Builder hostLimit(String host, double permitsPerSecond, int burst, int maxConcurrent) {
+			this.hostSpecs.put(host, new LimitSpec(permitsPerSecond, burst, maxConcurrent));
+			return this;
+		}
+
+		public Builder mode(Mode mode) {
+			if (mode == null) {
+				throw new IllegalArgumentException("mode must not be null");
+			}
+			this.mode = mode;
+			return this;
+		}
+
+		/**
+		 * Sets the longest time in milliseconds a request waits for a permit; 0, the default, waits indefinitely.
+		 */
+		public Builder maxWait(long maxWait) {
+			this.maxWait = maxWait;
+			return this;
+		}
+
+		public RateLimiter build() {
+			return new RateLimiter(this);
+		}
+	}
+}
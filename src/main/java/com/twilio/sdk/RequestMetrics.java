@@ -0,0 +1,225 @@
+package com.twilio.sdk;
+
+/**
+ * The timings of one request attempt, as reported to a {@link TwilioMetricsListener}.
+ *
+ * Connection lease, connect and time to first byte are measured with interceptors of the HttpClient built by
+ * {@link TwilioClient}; they are -1 when the client was replaced with {@link TwilioClient#setHttpClient}.
+ */
+public class RequestMetrics {
+
+	/** Length of Twilio SIDs: two letters followed by 32 hex digits. */
+	private static final int SID_LENGTH = 34;
+
+	private final String method;
+	private final String path;
+	private final int attempt;
+	private final long startNanos;
+
+	long connectedNanos = -1;
+	long firstByteNanos = -1;
+	boolean connectionReused;
+
+	private long bodyReadNanos = -1;
+	private long totalNanos = -1;
+	private int statusCode = -1;
+	private Exception error;
+
+	RequestMetrics(final String method, final String uri, final int attempt) {
+		this.method = method;
+		this.path = normalizePath(uri);
+		this.attempt = attempt;
+		this.startNanos = System.nanoTime();
+	}
+
+	/**
+	 * Normalizes a request uri to a resource path: the host, query string and extension are dropped, SIDs are
+	 * replaced with {sid}, e.g. {@code /2010-04-01/Accounts/{sid}/Messages}, and other identifiers, which have no
+	 * lower case letters, with {id}, e.g. {@code /v1/PhoneNumbers/{id}} or {@code /v1/Voice/Countries/{id}}. The
+	 * first segment is the API version and kept as it is.
+	 *
+	 * @param uri the request uri or path
+	 * @return the normalized path
+	 */
+	public static String normalizePath(final String uri) {
+		String path = uri;
+
+		int schemeEnd = path.indexOf("://");
+		if (schemeEnd >= 0) {
+			int pathStart = path.indexOf('/', schemeEnd + 3);
+			path = pathStart < 0 ? "/" : path.substring(pathStart);
+		}
+
+		int queryStart = path.indexOf('?');
+		if (queryStart >= 0) {
+			path = path.substring(0, queryStart);
+		}
+		if (path.endsWith(".json")) {
+			path = path.substring(0, path.length() - 5);
+		}
+
+		int versionEnd = path.indexOf('/', 1);
+		if (versionEnd < 0) {
+			return path;
+		}
+
+		// Only copied once a segment is replaced, as most segments are names
+		StringBuilder normalized = null;
+		for (int start = versionEnd + 1; start <= path.length(); ) {
+			int end = path.indexOf('/', start);
+			if (end < 0) {
+				end = path.length();
+			}
+			String placeholder = placeholderOf(path, start, end);
+			if (placeholder != null && normalized == null) {
+				normalized = new StringBuilder(path.length()).append(path, 0, start);
+			}
+			if (normalized != null) {
+				if (placeholder != null) {
+					normalized.append(placeholder);
+				} else {
+					normalized.append(path, start, end);
+				}
+				if (end < path.length()) {
+					normalized.append('/');
+				}
+			}
+			start = end + 1;
+		}
+		return normalized == null ? path : normalized.toString();
+	}
+
+	/**
+	 * Gets the placeholder of a path segment that identifies a single resource.
+	 *
+	 * @param path the path
+	 * @param start the start of the segment
+	 * @param end the end of the segment
+	 * @return {sid} for a SID, followed by the extension of the segment if any; {id} for any other segment without
+	 * lower case letters; or null for a name
+	 */
+	private static String placeholderOf(final String path, final int start, final int end) {
+		if (end == start) {
+			return null;
+		}
+
+		boolean sid = end - start >= SID_LENGTH && Character.isUpperCase(path.charAt(start))
+		              && Character.isUpperCase(path.charAt(start + 1))
+		              && (end - start == SID_LENGTH || path.charAt(start + SID_LENGTH) == '.');
+		for (int i = start + 2; sid && i < start + SID_LENGTH; i++) {
+			sid = Character.digit(path.charAt(i), 16) >= 0;
+		}
+		if (sid) {
+			return end - start == SID_LENGTH ? "{sid}" : "{sid}" + path.substring(start + SID_LENGTH, end);
+		}
+
+		for (int i = start; i < end; i++) {
+			if (Character.isLowerCase(path.charAt(i))) {
+				return null;
+			}
+		}
+		return "{id}";
+	}
+
+	void bodyRead(final long nanos) {
+		this.bodyReadNanos = nanos;
+	}
+
+	void complete(final int statusCode, final Exception error) {
+		this.statusCode = statusCode;
+		this.error = error;
+		this.totalNanos = System.nanoTime() - startNanos;
+	}
+
+	/**
+	 * Gets the HTTP method.
+	 *
+	 * @return the method
+	 */
+	public String getMethod() {
+		return method;
+	}
+
+	/**
+	 * Gets the normalized resource path, see {@link #normalizePath(String)}.
+	 *
+	 * @return the path
+	 */
+	public String getPath() {
+		return path;
+	}
+
+	/**
+	 * Gets the attempt number; attempts after the first are retries.
+	 *
+	 * @return the attempt number, starting at 1
+	 */
+	public int getAttempt() {
+		return attempt;
+	}
+
+	/**
+	 * Gets the HTTP status code.
+	 *
+	 * @return the status code, or -1 if the attempt failed with an I/O error
+	 */
+	public int getStatusCode() {
+		return statusCode;
+	}
+
+	/**
+	 * Gets the I/O error that ended the attempt.
+	 *
+	 * @return the error, or null if a response was received
+	 */
+	public Exception getError() {
+		return error;
+	}
+
+	/**
+	 * Gets the time spent leasing a pooled connection, including connecting and the TLS handshake if no idle
+	 * connection was available.
+	 *
+	 * @return the time in nanoseconds, or -1 if not measured
+	 */
+	public long getConnectNanos() {
+		return connectedNanos < 0 ? -1 : connectedNanos - startNanos;
+	}
+
+	/**
+	 * Whether an idle pooled connection was reused, i.e. the connect time is pool wait only.
+	 *
+	 * @return true if the connection was reused
+	 */
+	public boolean isConnectionReused() {
+		return connectionReused;
+	}
+
+	/**
+	 * Gets the time from sending the request to receiving the response headers, i.e. the server time plus the
+	 * network round trip.
+	 *
+	 * @return the time in nanoseconds, or -1 if not measured
+	 */
+	public long getTimeToFirstByteNanos() {
+		return connectedNanos < 0 || firstByteNanos < 0 ? -1 : firstByteNanos - connectedNanos;
+	}
+
+	/**
+	 * Gets the time spent reading the response body.
+	 *
+	 * @return the time in nanoseconds, or -1 if the body was handed out as a stream
+	 */
+	public long getBodyReadNanos() {
+		return bodyReadNanos;
+	}
+
+	/**
+	 * Gets the total time of the attempt.
+	 *
+	 * @return the time in nanoseconds
+	 */
+	public long getTotalNanos() {
+		return totalNanos;
+	}
+}
@@ -0,0 +1,655 @@
+package com.twilio.sdk;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches successful GET responses of read-mostly resources, such as applications, phone numbers, queues and
+ * TaskRouter activities and workflows, so that loading them again within their time to live makes no request.
+ * <p/>
+ * Responses are cached per resource type, the last collection name in the path of the request, e.g.
+ * {@code IncomingPhoneNumbers} for both {@code /Accounts/AC.../IncomingPhoneNumbers.json} and
+ * {@code /Accounts/AC.../IncomingPhoneNumbers/PN....json}. Only types given a time to live are cached. POST, PUT
+ * and DELETE requests made through a client using the cache invalidate the responses of the modified resource and
+ * of the lists containing it.
+ * <p/>
+ * Each resource type is cached in a segment of its own, which may be bounded by a number of entries and an estimate
+ * of the memory held by its response bodies, and evicts its least recently or least frequently used entries beyond
+ * that. The whole cache is bounded the same way; once full, entries are evicted from the largest segment, so a
+ * frequently loaded type does not push out the responses of the others.
+ * <p/>
+ * Expired responses carrying an ETag or Last-Modified header are kept, and the next request for them is sent with
+ * If-None-Match or If-Modified-Since. If the resource has not changed the server answers 304 Not Modified without
+ * a body, and the cached response is used for another time to live.
+ * <p/>
+ * Every caller is given its own copy of a cached response, so changing it or the Map it parses to does not affect
+ * other callers; each copy parses its body again on the first call to {@link TwilioRestResponse#toMap()}.
+ *
+ * <pre>
+ * ResponseCache cache = new ResponseCache.Builder()
+ *     .ttl("IncomingPhoneNumbers", 60000)
+ *     .ttl("Applications", 300000)
+ *     .maxEntries(5000)
+ *     .maxEntries("IncomingPhoneNumbers", 4000)
+ *     .build();
+ * TwilioRestClient client = new TwilioRestClient(accountSid, authToken, null,
+ *     new TwilioClientConfig.Builder().responseCache(cache).build());
+ * </pre>
+ */
+public class ResponseCache {
+
+	/** The default maximum number of cached responses */
+	public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+	/** The default maximum number of bytes held by cached responses */
+	public static final long DEFAULT_MAX_BYTES = 16 * 1024 * 1024;
+
+	/** Estimated bytes held by a cache entry besides its uri and body */
+	private static final int ENTRY_OVERHEAD = 200;
+
+	/**
+	 * The entries evicted when the cache is full.
+	 */
+	public enum Eviction {
+		/** Evicts the least recently used entry */
+		LRU,
+		/** Evicts the least frequently used entry, the least recently used one among equals */
+		LFU
+	}
+
+	private final Map<String, Long> ttls;
+
+	private final long defaultTtl;
+
+	private final int maxEntries;
+
+	private final long maxBytes;
+
+	private final Eviction eviction;
+
+	private final Map<String, Integer> typeMaxEntries;
+
+	private final Map<String, Long> typeMaxBytes;
+
+	private final Map<String, Eviction> typeEvictions;
+
+	private final Map<String, Segment> segments = new HashMap<String, Segment>();
+
+	private final Map<String, Stats> stats = new HashMap<String, Stats>();
+
+	private final Stats totals = new Stats();
+
+	private int size;
+
+	private long bytes;
+
+	/**
+	 * The cached responses of one resource type and the bounds applying to them.
+	 */
+	private static class Segment {
+
+		private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+
+		private final int maxEntries;
+
+		private final long maxBytes;
+
+		private final Eviction eviction;
+
+		private long bytes;
+
+		Segment(final int maxEntries, final long maxBytes, final Eviction eviction) {
+			this.maxEntries = maxEntries;
+			this.maxBytes = maxBytes;
+			this.eviction = eviction;
+		}
+
+		boolean isFull() {
+			return entries.size() > maxEntries || bytes > maxBytes;
+		}
+	}
+
+	/**
+	 * A cached response.
+	 */
+	private static class Entry {
+
+		private final String type;
+
+		private final String path;
+
+		private final TwilioRestResponse response;
+
+		private final long size;
+
+		private final long expires;
+
+		private long uses;
+
+		Entry(final String type, final String path, final TwilioRestResponse response, final long size,
+		      final long expires) {
+			this.type = type;
+			this.path = path;
+			this.response = response;
+			this.size = size;
+			this.expires = expires;
+		}
+	}
+
+	/**
+	 * Hit, miss and eviction counts of a resource type, or of the whole cache.
+	 */
+	public static class Stats {
+
+		private final AtomicLong hits = new AtomicLong();
+
+		private final AtomicLong misses = new AtomicLong();
+
+		private final AtomicLong evictions = new AtomicLong();
+
+		private final AtomicLong invalidations = new AtomicLong();
+
+		private final AtomicLong revalidations = new AtomicLong();
+
+		/**
+		 * Gets the number of requests answered from the cache.
+		 *
+		 * @return the hit count
+		 */
+		public long getHits() {
+			return hits.get();
+		}
+
+		/**
+		 * Gets the number of cacheable requests that were sent.
+		 *
+		 * @return the miss count
+		 */
+		public long getMisses() {
+			return misses.get();
+		}
+
+		/**
+		 * Gets the fraction of cacheable requests answered from the cache.
+		 *
+		 * @return the hit ratio between 0 and 1
+		 */
+		public double getHitRatio() {
+			long hits = getHits();
+			long total = hits + getMisses();
+			return total == 0 ? 0 : (double) hits / total;
+		}
+
+		/**
+		 * Gets the number of entries dropped because the cache was full.
+		 *
+		 * @return the eviction count
+		 */
+		public long getEvictions() {
+			return evictions.get();
+		}
+
+		/**
+		 * Gets the number of entries dropped because their resource was modified or invalidated explicitly.
+		 *
+		 * @return the invalidation count
+		 */
+		public long getInvalidations() {
+			return invalidations.get();
+		}
+
+		/**
+		 * Gets the number of expired responses confirmed unchanged by a conditional request.
+		 *
+		 * @return the revalidation count
+		 */
+		public long getRevalidations() {
+			return revalidations.get();
+		}
+	}
+
+	private ResponseCache(final Builder b) {
+		this.ttls = new HashMap<String, Long>(b.ttls);
+		this.defaultTtl = b.defaultTtl;
+		this.maxEntries = b.maxEntries;
+		this.maxBytes = b.maxBytes;
+		this.eviction = b.eviction;
+		this.typeMaxEntries = new HashMap<String, Integer>(b.typeMaxEntries);
+		this.typeMaxBytes = new HashMap<String, Long>(b.typeMaxBytes);
+		this.typeEvictions = new HashMap<String, Eviction>(b.typeEvictions);
+	}
+
+	/**
+	 * Gets the resource type of a request uri, the last path segment naming a collection rather than an instance,
+	 * i.e. neither a sid nor an identifier without lower case letters such as a country code or phone number.
+	 *
+	 * @param uri the request uri or path
+	 * @return the resource type
+	 */
+	public static String resourceTypeOf(final String uri) {
+		String path = RequestMetrics.normalizePath(uri);
+		int end = path.length();
+		while (end > 0) {
+			int start = path.lastIndexOf('/', end - 1);
+			String segment = path.substring(start + 1, end);
+			if (!segment.startsWith("{") && !segment.equals(segment.toUpperCase())) {
+				return segment;
+			}
+			end = Math.max(start, 0);
+		}
+		return "";
+	}
+
+	/**
+	 * Whether responses to the given uri are cached.
+	 *
+	 * @param uri the request uri
+	 * @return true if a time to live applies to the resource type of the uri
+	 */
+	public boolean isCacheable(final String uri) {
+		return ttlOf(resourceTypeOf(uri)) > 0;
+	}
+
+	/**
+	 * Gets a cached response.
+	 *
+	 * @param accountSid the account sid the request is authenticated as
+	 * @param uri the fully qualified request uri
+	 * @return a copy of the cached response, or null if there is none or it expired
+	 */
+	public TwilioRestResponse get(final String accountSid, final String uri) {
+		String type = resourceTypeOf(uri);
+		if (ttlOf(type) <= 0) {
+			return null;
+		}
+
+		Entry entry;
+		synchronized (this) {
+			String key = key(accountSid, uri);
+			Segment segment = segments.get(type);
+			entry = segment != null ? segment.entries.get(key) : null;
+			if (entry != null && entry.expires - System.nanoTime() <= 0) {
+				if (!hasValidator(entry.response)) {
+					remove(segment, key);
+				}
+				entry = null;
+			}
+			if (entry != null) {
+				entry.uses++;
+			}
+		}
+
+		if (entry == null) {
+			record(type).misses.incrementAndGet();
+			totals.misses.incrementAndGet();
+			return null;
+		}
+		record(type).hits.incrementAndGet();
+		totals.hits.incrementAndGet();
+		return entry.response.copy();
+	}
+
+	/**
+	 * Gets an expired response that can be revalidated with a conditional request.
+	 *
+	 * @param accountSid the account sid the request is authenticated as
+	 * @param uri the fully qualified request uri
+	 * @return a copy of the expired response carrying an ETag or Last-Modified header, or null
+	 */
+	public synchronized TwilioRestResponse getStale(final String accountSid, final String uri) {
+		Segment segment = segments.get(resourceTypeOf(uri));
+		Entry entry = segment != null ? segment.entries.get(key(accountSid, uri)) : null;
+		return entry != null && entry.expires - System.nanoTime() <= 0 ? entry.response.copy() : null;
+	}
+
+	/**
+	 * Caches an expired response again for another time to live, after the server confirmed it is unchanged.
+	 *
+	 * @param accountSid the account sid the request is authenticated as
+	 * @param uri the fully qualified request uri
+	 * @param response the revalidated response
+	 */
+	public void revalidated(final String accountSid, final String uri, final TwilioRestResponse response) {
+		put(accountSid, uri, response);
+		record(resourceTypeOf(uri)).revalidations.incrementAndGet();
+		totals.revalidations.incrementAndGet();
+	}
+
+	/**
+	 * Caches a response if it is successful and of a cached resource type.
+	 *
+	 * @param accountSid the account sid the request is authenticated as
+	 * @param uri the fully qualified request uri
+	 * @param response the response, of which a copy is kept
+	 */
+	public void put(final String accountSid, final String uri, final TwilioRestResponse response) {
+		String type = resourceTypeOf(uri);
+		long ttl = ttlOf(type);
+		if (ttl <= 0 || response == null || response.getHttpStatus() != 200 || response.getResponseText() == null) {
+			return;
+		}
+
+		String key = key(accountSid, uri);
+		long entrySize = ENTRY_OVERHEAD + 2L * (key.length() + response.getResponseText().length());
+		if (entrySize > maxBytes) {
+			return;
+		}
+
+		synchronized (this) {
+			Segment segment = segment(type);
+			if (entrySize > segment.maxBytes) {
+				return;
+			}
+
+			remove(segment, key);
+			Entry entry = new Entry(type, pathOf(uri), response.copy(), entrySize,
+			                        System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttl));
+			segment.entries.put(key, entry);
+			segment.bytes += entrySize;
+			size++;
+			bytes += entrySize;
+			while (segment.isFull()) {
+				evict(segment);
+			}
+			while (size > maxEntries) {
+				evict(largest(segment, false));
+			}
+			while (bytes > maxBytes) {
+				evict(largest(segment, true));
+			}
+		}
+	}
+
+	/**
+	 * Drops the cached responses of a resource and of the lists containing it, e.g. after it was updated or
+	 * deleted by another process.
+	 *
+	 * @param uri the uri or path of the resource
+	 */
+	public synchronized void invalidate(final String uri) {
+		String path = pathOf(uri);
+		for (Segment segment : segments.values()) {
+			Iterator<Entry> it = segment.entries.values().iterator();
+			while (it.hasNext()) {
+				Entry entry = it.next();
+				if (entry.path.equals(path) || entry.path.startsWith(path + "/")
+				    || path.startsWith(entry.path + "/")) {
+					it.remove();
+					segment.bytes -= entry.size;
+					size--;
+					bytes -= entry.size;
+					record(entry.type).invalidations.incrementAndGet();
+					totals.invalidations.incrementAndGet();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Drops all cached responses.
+	 */
+	public synchronized void clear() {
+		segments.clear();
+		size = 0;
+		bytes = 0;
+	}
+
+	/**
+	 * Gets the number of cached responses.
+	 *
+	 * @return the number of entries
+	 */
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the estimated number of bytes held by cached responses.
+	 *
+	 * @return the cached bytes
+	 */
+	public synchronized long getBytes() {
+		return bytes;
+	}
+
+	/**
+	 * Gets the counts of a resource type.
+	 *
+	 * @param resourceType the resource type, e.g. IncomingPhoneNumbers
+	 * @return the stats of the type
+	 */
+	public Stats getStats(final String resourceType) {
+		return record(resourceType);
+	}
+
+	/**
+	 * Gets the counts of all resource types together.
+	 *
+	 * @return the stats of the cache
+	 */
+	public Stats getStats() {
+		return totals;
+	}
+
+	private long ttlOf(final String type) {
+		Long ttl = ttls.get(type);
+		return ttl != null ? ttl : defaultTtl;
+	}
+
+	private synchronized Stats record(final String type) {
+		Stats s = stats.get(type);
+		if (s == null) {
+			s = new Stats();
+			stats.put(type, s);
+		}
+		return s;
+	}
+
+	private Segment segment(final String type) {
+		Segment segment = segments.get(type);
+		if (segment == null) {
+			Integer typeEntries = typeMaxEntries.get(type);
+			Long typeBytes = typeMaxBytes.get(type);
+			Eviction typeEviction = typeEvictions.get(type);
+			segment = new Segment(typeEntries != null ? typeEntries : maxEntries,
+			                      typeBytes != null ? typeBytes : maxBytes,
+			                      typeEviction != null ? typeEviction : eviction);
+			segments.put(type, segment);
+		}
+		return segment;
+	}
+
+	/**
+	 * Picks the segment to evict from when the whole cache is full: the one holding the most entries or bytes,
+	 * preferring other segments to the one just added to when they hold as many.
+	 */
+	private Segment largest(final Segment added, final boolean byBytes) {
+		Segment largest = added;
+		for (Segment segment : segments.values()) {
+			if (segment != added && (byBytes ? segment.bytes >= largest.bytes
+			                                 : segment.entries.size() >= largest.entries.size())) {
+				largest = segment;
+			}
+		}
+		return largest;
+	}
+
+	private void remove(final Segment segment, final String key) {
+		Entry entry = segment.entries.remove(key);
+		if (entry != null) {
+			segment.bytes -= entry.size;
+			size--;
+			bytes -= entry.size;
+		}
+	}
+
+	/**
+	 * Evicts one entry of a segment. Entries are kept in access order, so the least recently used one comes first
+	 * and the most recently used one comes last; the latter is never evicted by LFU, as it may be the entry just
+	 * added, which has not had the chance to be used yet.
+	 */
+	private void evict(final Segment segment) {
+		Iterator<Map.Entry<String, Entry>> it = segment.entries.entrySet().iterator();
+		Map.Entry<String, Entry> victim = it.next();
+		if (segment.eviction == Eviction.LFU) {
+			for (int i = segment.entries.size() - 2; i > 0; i--) {
+				Map.Entry<String, Entry> candidate = it.next();
+				if (candidate.getValue().uses < victim.getValue().uses) {
+					victim = candidate;
+				}
+			}
+		}
+
+		remove(segment, victim.getKey());
+		record(victim.getValue().type).evictions.incrementAndGet();
+		totals.evictions.incrementAndGet();
+	}
+
+	private static boolean hasValidator(final TwilioRestResponse response) {
+		return response.getHeader("ETag") != null || response.getHeader("Last-Modified") != null;
+	}
+
+	private static String key(final String accountSid, final String uri) {
+		return accountSid + " " + uri;
+	}
+
+	/**
+	 * Gets the path of a uri without host, query string and extension, against which invalidations are matched.
+	 */
+	private static String pathOf(final String uri) {
+		String path = uri;
+		int schemeEnd = path.indexOf("://");
+		if (schemeEnd >= 0) {
+			int pathStart = path.indexOf('/', schemeEnd + 3);
+			path = pathStart < 0 ? "/" : path.substring(pathStart);
+		}
+
+		int queryStart = path.indexOf('?');
+		if (queryStart >= 0) {
+			path = path.substring(0, queryStart);
+		}
+		if (path.endsWith(".json")) {
+			path = path.substring(0, path.length() - 5);
+		}
+		return path;
+	}
+
+	/** Builder used to construct a ResponseCache */
+	public static class Builder {
+		private final Map<String, Long> ttls = new HashMap<String, Long>();
+		private long defaultTtl = 0;
+		private int maxEntries = DEFAULT_MAX_ENTRIES;
+		private long maxBytes = DEFAULT_MAX_BYTES;
+		private Eviction eviction = Eviction.LRU;
+		private final Map<String, Integer> typeMaxEntries = new HashMap<String, Integer>();
+		private final Map<String, Long> typeMaxBytes = new HashMap<String, Long>();
+		private final Map<String, Eviction> typeEvictions = new HashMap<String, Eviction>();
+
+		/**
+		 * Caches responses of a resource type for the given time in milliseconds, or not at all if 0.
+		 *
+		 * @param resourceType the resource type, the collection name in the uri, e.g. IncomingPhoneNumbers
+		 * @param ttl the time to live in milliseconds
+		 */
+		public Builder ttl(String resourceType, long ttl) {
+			if (resourceType == null) {
+				throw new IllegalArgumentException("resourceType must not be null");
+			}
+			this.ttls.put(resourceType, ttl);
+			return this;
+		}
+
+		/**
+		 * Sets the time to live in milliseconds of resource types without one of their own; 0 by default, so
+		 * only the types given a time to live are cached.
+		 */
+		public Builder defaultTtl(long defaultTtl) {
+			this.defaultTtl = defaultTtl;
+			return this;
+		}
+
+		public Builder maxEntries(int maxEntries) {
+			if (maxEntries < 1) {
+				throw new IllegalArgumentException("maxEntries must be at least 1");
+			}
+			this.maxEntries = maxEntries;
+			return this;
+		}
+
+		public Builder maxBytes(long maxBytes) {
+			if (maxBytes < 1) {
+				throw new IllegalArgumentException("maxBytes must be at least 1");
+			}
+			this.maxBytes = maxBytes;
+			return this;
+		}
+
+		public Builder eviction(Eviction eviction) {
+			if (eviction == null) {
+				throw new IllegalArgumentException("eviction must not be null");
+			}
+			this.eviction = eviction;
+			return this;
+		}
+
+		/**
+		 * Bounds the number of cached responses of a resource type, which otherwise share the bound of the cache.
+		 *
+		 * @param resourceType the resource type, e.g. IncomingPhoneNumbers
+		 * @param maxEntries the maximum number of responses of the type
+		 */
+		public Builder maxEntries(String resourceType, int maxEntries) {
+			if (resourceType == null) {
+				throw new IllegalArgumentException("resourceType must not be null");
+			}
+			if (maxEntries < 1) {
+				throw new IllegalArgumentException("maxEntries must be at least 1");
+			}
+			this.typeMaxEntries.put(resourceType, maxEntries);
+			return this;
+		}
+
+		/**
+		 * Bounds the bytes held by cached responses of a resource type, which otherwise share the bound of the
+		 * cache.
+		 *
+		 * @param resourceType the resource type, e.g. IncomingPhoneNumbers
+		 * @param maxBytes the maximum number of bytes held by responses of the type
+		 */
+		public Builder maxBytes(String resourceType, long maxBytes) {
+			if (resourceType == null) {
+				throw new IllegalArgumentException("resourceType must not be null");
+			}
+			if (maxBytes < 1) {
+				throw new IllegalArgumentException("maxBytes must be at least 1");
+			}
+			this.typeMaxBytes.put(resourceType, maxBytes);
+			return this;
+		}
+
+		/**
+		 * Sets which responses of a resource type are evicted, instead of following the eviction of the cache.
+		 *
+		 * @param resourceType the resource type, e.g. IncomingPhoneNumbers
+		 * @param eviction the eviction of the type
+		 */
+		public Builder eviction(String resourceType, Eviction eviction) {
+			if (resourceType == null) {
+				throw new IllegalArgumentException("resourceType must not be null");
+			}
+			if (eviction == null) {
+				throw new IllegalArgumentException("eviction must not be null");
+			}
+			this.typeEvictions.put(resourceType, eviction);
+			return this;
+		}
+
+		public ResponseCache build() {
+			return new ResponseCache(this);
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package com.twilio.sdk;
+
+import java.io.IOException;
+
+/**
+ * Decides whether a failed request is retried, and after how long.
+ *
+ * A request fails when it returns 429 Too Many Requests, a 5xx server error, or cannot be completed because
+ * of an I/O error. Other client errors are never retried. The number of attempts is additionally capped by
+ * {@link TwilioClient#getNumRetries()}.
+ */
+public interface RetryPolicy {
+
+	/**
+	 * Returns the delay before retrying a failed attempt.
+	 *
+	 * @param method the HTTP method of the request
+	 * @param attempt the number of attempts made so far, starting at 1
+	 * @param elapsedMillis the time since the first attempt started
+	 * @param response the failed response, or null if the attempt ended with an I/O error
+	 * @param error the I/O error, or null if a response was received
+	 * @return the delay in milliseconds before the next attempt, or a negative value to give up
+	 */
+	long getRetryDelay(String method, int attempt, long elapsedMillis, TwilioRestResponse response,
+	                   IOException error);
+}
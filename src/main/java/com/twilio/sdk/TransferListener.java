@@ -0,0 +1,18 @@
+package com.twilio.sdk;
+
+/**
+ * Follows the progress of a download made with
+ * {@link TwilioClient#download(String, java.io.File, boolean, boolean, TransferListener)}.
+ *
+ * Listeners are called on the thread making the download, after every chunk written to the file, and may block it
+ * to pace the transfer; they must not throw.
+ */
+public interface TransferListener {
+
+	/**
+	 * Called once a chunk of the body was written to the file.
+	 *
+	 * @param bytes the number of bytes written
+	 */
+	void transferred(long bytes);
+}
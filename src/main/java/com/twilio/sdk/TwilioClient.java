@@ -1,13 +1,11 @@
 package com.twilio.sdk;
 
+import org.apache.commons.codec.binary.Base64;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
-import org.apache.http.HttpVersion;
 import org.apache.http.NameValuePair;
 import org.apache.http.StatusLine;
-import org.apache.http.auth.AuthScope;
-import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.ClientProtocolException;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.entity.UrlEncodedFormEntity;
@@ -16,22 +14,42 @@ import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.params.ClientPNames;
 import org.apache.http.client.utils.URLEncodedUtils;
-import org.apache.http.conn.ClientConnectionManager;
-import org.apache.http.impl.client.DefaultHttpClient;
-import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.conn.ConnectionReleaseTrigger;
+import org.apache.http.entity.ContentType;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.params.BasicHttpParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HTTP;
 import org.apache.http.util.EntityUtils;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The abstract class TwilioClient.
@@ -58,22 +76,92 @@ public abstract class TwilioClient {
 	/** The password for auth. */
 	private final String password;
 
+	/** The preemptive Basic authorization header, computed once from the credentials. */
+	private final Header authorizationHeader;
+
+	/** The endpoint, the only scheme, host and port the authorization header is sent to. */
+	private final URI endpointUri;
+
 	/** The num retries. */
 	private int numRetries = 3;
 
-	/**
-	 * The default HTTP Connection timeout
-	 */
-	private static final int CONNECTION_TIMEOUT = 10000;
+	/** Decides which failed requests are retried, and when. */
+	private volatile RetryPolicy retryPolicy;
 
-	/**
-	 * The default timeout to use for requests to Twilio
-	 */
-	private static final int READ_TIMEOUT = 30500;
+	/** Limits the request rate and concurrency per account and host, or null if unlimited. */
+	private volatile RateLimiter rateLimiter;
+
+	/** Whether responses are requested with gzip or deflate compression. */
+	private volatile boolean compression;
+
+	/** Compressed bytes received, summed over all compressed responses. */
+	private final AtomicLong compressedBytes = new AtomicLong();
+
+	/** Bytes decompressed from all compressed responses. */
+	private final AtomicLong decompressedBytes = new AtomicLong();
+
+	/** Whether concurrent identical GET requests share one HTTP exchange. */
+	private volatile boolean coalescing;
+
+	/** The GET requests in flight when coalescing, by uri. */
+	private final ConcurrentHashMap<String, FutureTask<TwilioRestResponse>> inFlightGets =
+			new ConcurrentHashMap<String, FutureTask<TwilioRestResponse>>();
+
+	/** GET requests answered with the response of an identical request already in flight. */
+	private final AtomicLong coalescedRequests = new AtomicLong();
+
+	/** Answers GET requests of read-mostly resources without a round trip, or null. */
+	private volatile ResponseCache responseCache;
+
+	/** Fails requests fast while their host is unhealthy, or null. */
+	private volatile CircuitBreaker circuitBreaker;
+
+	/** Receives request timings, or null. */
+	private volatile TwilioMetricsListener metricsListener;
+
+	/** Accept-Encoding header sent when compression is enabled */
+	private static final Header ACCEPT_ENCODING = new BasicHeader("Accept-Encoding", "gzip, deflate");
+
+	/** Headers sent with every request, shared since they never change */
+	private static final Header X_TWILIO_CLIENT = new BasicHeader("X-Twilio-Client", "java-" + VERSION);
+	private static final Header USER_AGENT = new BasicHeader("User-Agent", "twilio-java/" + VERSION);
+	private static final Header ACCEPT = new BasicHeader("Accept", "application/json");
+	private static final Header ACCEPT_CHARSET = new BasicHeader("Accept-Charset", "utf-8");
+
+	/** Status code of responses to conditional requests whose resource has not changed */
+	private static final int NOT_MODIFIED = 304;
+
+	/** Status code of responses to range requests */
+	private static final int PARTIAL_CONTENT = 206;
+
+	/** Status code of responses to range requests starting at or beyond the end of the resource */
+	private static final int RANGE_NOT_SATISFIABLE = 416;
+
+	/** Accept-Encoding header of downloads, whose ranges must refer to the stored bytes */
+	private static final Header IDENTITY_ENCODING = new BasicHeader("Accept-Encoding", "identity");
+
+	/** Number of bytes of a download written per transfer, after which its progress is recorded */
+	private static final int DOWNLOAD_CHUNK_SIZE = 256 * 1024;
+
+	/** Status code of responses asking the client to slow down */
+	private static final int TOO_MANY_REQUESTS = 429;
+
+	/** Maximum number of redirects followed for one request */
+	private static final int MAX_REDIRECTS = 10;
+
+	/** Request parameters leaving redirects to this client, which decides where the credentials may go */
+	private static final HttpParams NO_REDIRECTS = new BasicHttpParams()
+			.setBooleanParameter(ClientPNames.HANDLE_REDIRECTS, false);
+
+	/** The connection pool and HTTP client this client sends its requests through. */
+	private final TwilioTransport transport;
 
 	/** The httpclient. */
 	private HttpClient httpclient;
 
+	/** The executor used to run asynchronous requests, created on first use. */
+	private ExecutorService asyncExecutor;
+
 	/**
 	 * Gets the num retries.
 	 *
@@ -92,6 +180,172 @@ public abstract class TwilioClient {
 		this.numRetries = numRetries;
 	}
 
+	/**
+	 * Gets the policy deciding which failed requests are retried, and when.
+	 *
+	 * @return the retry policy
+	 */
+	public RetryPolicy getRetryPolicy() {
+		return retryPolicy;
+	}
+
+	/**
+	 * Sets the policy deciding which failed requests are retried, and when. The number of attempts remains
+	 * capped by {@link #setNumRetries(int)}.
+	 *
+	 * @param retryPolicy the retry policy
+	 */
+	public void setRetryPolicy(final RetryPolicy retryPolicy) {
+		if (retryPolicy == null) {
+			throw new IllegalArgumentException("retryPolicy must not be null");
+		}
+		this.retryPolicy = retryPolicy;
+	}
+
+	/**
+	 * Gets the client-side rate limiter.
+	 *
+	 * @return the rate limiter, or null if requests are not limited
+	 */
+	public RateLimiter getRateLimiter() {
+		return rateLimiter;
+	}
+
+	/**
+	 * Sets the client-side rate limiter, which may be shared with other clients.
+	 *
+	 * @param rateLimiter the rate limiter, or null to stop limiting requests
+	 */
+	public void setRateLimiter(final RateLimiter rateLimiter) {
+		this.rateLimiter = rateLimiter;
+	}
+
+	/**
+	 * Whether responses are requested with gzip or deflate compression.
+	 *
+	 * @return true if compression is enabled
+	 */
+	public boolean isCompression() {
+		return compression;
+	}
+
+	/**
+	 * Sets whether responses are requested with gzip or deflate compression. Compressed bodies are decompressed
+	 * while they are read, so parsers and streams see the plain body either way.
+	 *
+	 * @param compression true to send Accept-Encoding: gzip, deflate
+	 */
+	public void setCompression(final boolean compression) {
+		this.compression = compression;
+	}
+
+	/**
+	 * Whether concurrent identical GET requests share one HTTP exchange and response.
+	 *
+	 * @return true if GET requests are coalesced
+	 */
+	public boolean isCoalescing() {
+		return coalescing;
+	}
+
+	/**
+	 * Sets whether concurrent identical GET requests made through {@link #safeRequest(String, String, List)} or
+	 * {@link #safeRequestAsync(String, String, List)} share one HTTP exchange: a GET for a uri already being fetched waits for that request and returns its
+	 * response, or throws its exception. The shared response parses its body once; callers copy the map from
+	 * {@link TwilioRestResponse#toMap()} before modifying it.
+	 *
+	 * @param coalescing true to coalesce identical GET requests
+	 */
+	public void setCoalescing(final boolean coalescing) {
+		this.coalescing = coalescing;
+	}
+
+	/**
+	 * Gets the number of GET requests answered with the response of an identical request already in flight.
+	 *
+	 * @return the coalesced request count
+	 */
+	public long getCoalescedRequests() {
+		return coalescedRequests.get();
+	}
+
+	/**
+	 * Gets the cache of GET responses.
+	 *
+	 * @return the response cache, or null if responses are not cached
+	 */
+	public ResponseCache getResponseCache() {
+		return responseCache;
+	}
+
+	/**
+	 * Sets the cache of GET responses, which may be shared with other clients. GET requests made through
+	 * {@link #safeRequest(String, String, List)}, {@link #safeRequestAsync(String, String, List)} and
+	 * {@link #safeRequestStream(String, String, List)} are answered from the cache while their response is fresh; other requests invalidate the responses of the resource they
+	 * modify.
+	 *
+	 * @param responseCache the response cache, or null to stop caching responses
+	 */
+	public void setResponseCache(final ResponseCache responseCache) {
+		this.responseCache = responseCache;
+	}
+
+	/**
+	 * Gets the number of compressed bytes read from compressed responses so far.
+	 *
+	 * @return the compressed bytes received
+	 */
+	public long getCompressedBytes() {
+		return compressedBytes.get();
+	}
+
+	/**
+	 * Gets the number of bytes decompressed from compressed responses so far; compared with
+	 * {@link #getCompressedBytes()} this gives the transfer saved by compression.
+	 *
+	 * @return the decompressed bytes
+	 */
+	public long getDecompressedBytes() {
+		return decompressedBytes.get();
+	}
+
+	/**
+	 * Gets the listener receiving request timings.
+	 *
+	 * @return the metrics listener, or null
+	 */
+	public TwilioMetricsListener getMetricsListener() {
+		return metricsListener;
+	}
+
+	/**
+	 * Sets the listener receiving request timings, e.g. a {@link HistogramMetricsListener}.
+	 *
+	 * @param metricsListener the metrics listener, or null to stop timing requests
+	 */
+	public void setMetricsListener(final TwilioMetricsListener metricsListener) {
+		this.metricsListener = metricsListener;
+	}
+
+	/**
+	 * Gets the circuit breaker.
+	 *
+	 * @return the circuit breaker, or null
+	 */
+	public CircuitBreaker getCircuitBreaker() {
+		return circuitBreaker;
+	}
+
+	/**
+	 * Sets the circuit breaker, which fails requests to an unhealthy host without sending them. It may be shared
+	 * with other clients.
+	 *
+	 * @param circuitBreaker the circuit breaker, or null to always send requests
+	 */
+	public void setCircuitBreaker(final CircuitBreaker circuitBreaker) {
+		this.circuitBreaker = circuitBreaker;
+	}
+
 	public void setHttpClient(final HttpClient httpclient) {
 		this.httpclient = httpclient;
 	}
@@ -100,6 +354,29 @@ public abstract class TwilioClient {
 		return httpclient;
 	}
 
+	/**
+	 * Sets the executor used to run asynchronous requests.
+	 *
+	 * @param asyncExecutor the executor, or null to fall back to the default executor
+	 */
+	public synchronized void setAsyncExecutor(final ExecutorService asyncExecutor) {
+		this.asyncExecutor = asyncExecutor;
+	}
+
+	/**
+	 * Gets the executor used to run asynchronous requests. Unless one has been set, the executor of the transport
+	 * is used, a pool of daemon threads sized by {@link TwilioClientConfig#getAsyncThreads()}; by default this is
+	 * the per-route connection limit, so that every worker can hold a pooled connection.
+	 * <p/>
+	 * The *Async methods are not non-blocking I/O: each request still blocks one thread of this executor while it
+	 * is in flight, so at most that many requests run at once and the rest wait in its queue.
+	 *
+	 * @return the async executor
+	 */
+	public synchronized ExecutorService getAsyncExecutor() {
+		return asyncExecutor != null ? asyncExecutor : transport.getAsyncExecutor();
+	}
+
 	/**
 	 * Explicitly construct a TwilioClient with the given API credentials.
 	 *
@@ -122,37 +399,102 @@ public abstract class TwilioClient {
 	 * @param endpoint the url of API endpoint you wish to use. (e.g. - 'https://api.twilio.com')
 	 */
 	public TwilioClient(final String username, final String password, final String endpoint) {
+		this(username, password, endpoint, new TwilioClientConfig.Builder().build());
+	}
+
+	/**
+	 * Explicitly construct a TwilioClient with the given API credentials, endpoint and HTTP tuning.
+	 *
+	 * @param username Username for authentication. For most cases, it is the 34 character Account identifier (starting with 'AC').
+	 *                 This can be found on your Twilio dashboard page.
+	 * @param password Password for authentication. For most cases, it is the 32 character AuthToken.
+	 *                 This can be found on your Twilio dashboard page.
+	 * @param endpoint the url of API endpoint you wish to use. (e.g. - 'https://api.twilio.com')
+	 * @param config the connection pool and HTTP settings
+	 */
+	public TwilioClient(final String username, final String password, final String endpoint,
+	                    final TwilioClientConfig config) {
+		this(username, password, endpoint, new TwilioTransport(config));
+	}
+
+	/**
+	 * Explicitly construct a TwilioClient with the given API credentials and endpoint, sending its requests through
+	 * a transport shared with other clients. The retry policy, rate limiter, circuit breaker and metrics listener
+	 * of the transport config are shared as well; rate limits are still kept per account.
+	 *
+	 * @param username Username for authentication. For most cases, it is the 34 character Account identifier (starting with 'AC').
+	 *                 This can be found on your Twilio dashboard page.
+	 * @param password Password for authentication. For most cases, it is the 32 character AuthToken.
+	 *                 This can be found on your Twilio dashboard page.
+	 * @param endpoint the url of API endpoint you wish to use. (e.g. - 'https://api.twilio.com')
+	 * @param transport the shared connection pool and HTTP client
+	 */
+	public TwilioClient(final String username, final String password, final String endpoint,
+	                    final TwilioTransport transport) {
 		if (username == null) {
 			throw new IllegalArgumentException("username is required. Please provide username or signing key.");
 		}
 		if (password == null) {
 			throw new IllegalArgumentException("password is required. Please provide authToken or signing key secret.");
 		}
+		if (transport == null) {
+			throw new IllegalArgumentException("transport is required.");
+		}
 
+		TwilioClientConfig config = transport.getConfig();
 		this.username = username;
 		this.accountSid = username;
 		this.password = password;
+		this.transport = transport;
+		this.authorizationHeader = buildAuthorizationHeader(username, password);
+		this.retryPolicy = config.getRetryPolicy();
+		this.rateLimiter = config.getRateLimiter();
+		this.compression = config.isCompression();
+		this.coalescing = config.isCoalesceRequests();
+		this.responseCache = config.getResponseCache();
+		this.metricsListener = config.getMetricsListener();
+		this.circuitBreaker = config.getCircuitBreaker();
 
 		if ((endpoint != null) && (!endpoint.equals(""))) {
 			this.endpoint = endpoint;
 		}
 
-		//Grab the proper connection manager, based on runtime environment
-		ClientConnectionManager mgr;
+		this.endpointUri = URI.create(this.endpoint);
+		setHttpClient(transport.getHttpClient());
+	}
+
+	/**
+	 * Gets the HTTP tuning of this client.
+	 *
+	 * @return the client config
+	 */
+	public TwilioClientConfig getConfig() {
+		return transport.getConfig();
+	}
+
+	/**
+	 * Gets the transport this client sends its requests through.
+	 *
+	 * @return the transport
+	 */
+	public TwilioTransport getTransport() {
+		return transport;
+	}
+
+	/**
+	 * Builds the Basic authorization header for the given credentials.
+	 *
+	 * @param username the username
+	 * @param password the password
+	 * @return the authorization header
+	 */
+	private static Header buildAuthorizationHeader(final String username, final String password) {
 		try {
-			Class.forName("com.google.appengine.api.urlfetch.HTTPRequest");
-			mgr = new AppEngineClientConnectionManager();
-		} catch (final ClassNotFoundException e) {
-			//Not GAE
-			mgr = new PoolingClientConnectionManager();
-			((PoolingClientConnectionManager) mgr).setDefaultMaxPerRoute(10);
+			byte[] credentials = (username + ":" + password).getBytes("UTF-8");
+			return new BasicHeader("Authorization", "Basic " + new String(Base64.encodeBase64(credentials), "US-ASCII"));
+		} catch (final UnsupportedEncodingException e) {
+			throw new RuntimeException(e);
 		}
-
-		setHttpClient(new DefaultHttpClient(mgr));
-		httpclient.getParams().setParameter("http.protocol.version", HttpVersion.HTTP_1_1);
-		httpclient.getParams().setParameter("http.socket.timeout", new Integer(READ_TIMEOUT));
-		httpclient.getParams().setParameter("http.connection.timeout", new Integer(CONNECTION_TIMEOUT));
-		httpclient.getParams().setParameter("http.protocol.content-charset", "UTF-8");
 	}
 
 	/**
@@ -162,12 +504,13 @@ public abstract class TwilioClient {
 	 * @return the list
 	 */
 	private static List<NameValuePair> generateParameters(final Map<String, String> vars) {
-		List<NameValuePair> qparams = new ArrayList<NameValuePair>();
+		if (vars == null || vars.isEmpty()) {
+			return Collections.emptyList();
+		}
 
-		if (vars != null) {
-			for (final String var : vars.keySet()) {
-				qparams.add(new BasicNameValuePair(var, vars.get(var)));
-			}
+		List<NameValuePair> qparams = new ArrayList<NameValuePair>(vars.size());
+		for (final Map.Entry<String, String> var : vars.entrySet()) {
+			qparams.add(new BasicNameValuePair(var.getKey(), var.getValue()));
 		}
 
 		return qparams;
@@ -301,22 +644,18 @@ public abstract class TwilioClient {
 	 * @return the uRI
 	 */
 	private URI buildUri(final String path, final List<NameValuePair> queryStringParams) {
-		StringBuilder sb = new StringBuilder();
-		sb.append(path);
-
-		if (queryStringParams != null && queryStringParams.size() > 0) {
-			sb.append("?");
-			sb.append(URLEncodedUtils.format(queryStringParams, "UTF-8"));
+		String uri = path;
+		if (queryStringParams != null && !queryStringParams.isEmpty()) {
+			String query = URLEncodedUtils.format(queryStringParams, "UTF-8");
+			uri = new StringBuilder(path.length() + 1 + query.length()).append(path).append('?').append(query)
+			                                                            .toString();
 		}
 
-		URI uri;
 		try {
-			uri = new URI(sb.toString());
+			return new URI(uri);
 		} catch (final URISyntaxException e) {
 			throw new IllegalStateException("Invalid uri", e);
 		}
-
-		return uri;
 	}
 
 	/**
@@ -339,39 +678,247 @@ public abstract class TwilioClient {
 
 	public TwilioRestResponse request(final String path, final String method,
 	                                  final List<NameValuePair> paramList) throws TwilioRestException {
+		return request(path, method, paramList, null);
+	}
+
+	/**
+	 * Sends a single request.
+	 *
+	 * @param path the path
+	 * @param method the method
+	 * @param paramList the request parameters
+	 * @param heldPermit a rate limiter permit acquired beforehand, or null to acquire one now
+	 * @return the twilio rest response
+	 * @throws TwilioRestException if the circuit breaker or the rate limiter refuses the request
+	 */
+	private TwilioRestResponse request(final String path, final String method, final List<NameValuePair> paramList,
+	                                   final RateLimiter.Permit heldPermit) throws TwilioRestException {
 
 		HttpUriRequest request = setupRequest(path, method, paramList);
+		RateLimiter.Permit permit = admit(request, heldPermit);
+
+		RequestMetrics metrics = newMetrics(request, 1);
+		long started = System.nanoTime();
+		long responseTime = -1;
+		boolean failed = true;
+		try {
+			HttpResponse response = execute(request, metrics);
+			responseTime = System.nanoTime() - started;
+			TwilioRestResponse restResponse = buildRestResponse(request, response, metrics);
+			failed = restResponse.isServerError();
+			invalidateCache(path, method);
+			return restResponse;
+		} catch (final ClientProtocolException e1) {
+			throw new RuntimeException(e1);
+		} catch (final IOException e1) {
+			throw new RuntimeException(e1);
+		} finally {
+			permit.release();
+			recordOutcome(request, failed, started, responseTime);
+		}
+	}
 
+	/**
+	 * Sends a request, decompressing the response body if it is encoded. A failure is reported to the metrics
+	 * listener.
+	 *
+	 * @param request the request
+	 * @param metrics the timings of the attempt, or null without a metrics listener
+	 * @return the http response
+	 * @throws IOException if the request fails
+	 */
+	private HttpResponse execute(final HttpUriRequest request, final RequestMetrics metrics) throws IOException {
 		HttpResponse response;
+		TwilioTransport.CURRENT_METRICS.set(metrics);
 		try {
-			response = httpclient.execute(request);
-			HttpEntity entity = response.getEntity();
+			response = followRedirects(request);
+		} catch (final IOException e) {
+			publish(metrics, -1, e);
+			throw e;
+		} finally {
+			TwilioTransport.CURRENT_METRICS.remove();
+		}
+
+		HttpEntity entity = response.getEntity();
+		HttpEntity decoded = DecompressingEntity.wrap(entity, compressedBytes, decompressedBytes);
+		if (decoded != entity) {
+			response.setEntity(decoded);
+		}
+		return response;
+	}
 
-			Header[] contentTypeHeaders = response.getHeaders("Content-Type");
-			String responseBody = "";
+	/**
+	 * Sends a request, following the redirects of a GET request. The HTTP client would copy all headers onto the
+	 * redirect, including the preemptive Authorization header; here it is dropped unless the redirect keeps the
+	 * scheme, host and port of the endpoint, e.g. for recording media redirected to storage, or to plain http. This holds for any client given to
+	 * {@link #setHttpClient(HttpClient)}, as each request asks the HTTP client not to follow redirects itself.
+	 *
+	 * @param request the request
+	 * @return the response to the request or its last redirect
+	 * @throws IOException if a request fails, or there are too many redirects
+	 */
+	private HttpResponse followRedirects(final HttpUriRequest request) throws IOException {
+		HttpUriRequest current = request;
+		HttpResponse response = httpclient.execute(current);
+		for (int redirects = 0; isRedirect(request, response); redirects++) {
+			if (redirects == MAX_REDIRECTS) {
+				throw new ClientProtocolException("Too many redirects for " + request.getURI());
+			}
 
-			if (entity != null) {
-				responseBody = EntityUtils.toString(entity);
+			URI location;
+			try {
+				location = current.getURI().resolve(response.getFirstHeader("Location").getValue().trim());
+			} catch (final IllegalArgumentException e) {
+				throw new ClientProtocolException("Invalid redirect for " + request.getURI(), e);
 			}
+			EntityUtils.consume(response.getEntity());
+
+			current = new HttpGet(location);
+			current.setHeaders(request.getAllHeaders());
+			if (!sameOrigin(endpointUri, location)) {
+				current.removeHeaders("Authorization");
+			}
+			current.setParams(NO_REDIRECTS);
+			response = httpclient.execute(current);
+		}
+		return response;
+	}
 
-			StatusLine status = response.getStatusLine();
-			int statusCode = status.getStatusCode();
+	/**
+	 * Checks whether two uris have the same scheme, host and port.
+	 *
+	 * @param a the first uri
+	 * @param b the second uri
+	 * @return true if a request to either uri goes to the same origin
+	 */
+	static boolean sameOrigin(final URI a, final URI b) {
+		return a.getScheme() != null && a.getScheme().equalsIgnoreCase(b.getScheme())
+		       && a.getHost() != null && a.getHost().equalsIgnoreCase(b.getHost())
+		       && portOf(a) == portOf(b);
+	}
+
+	/**
+	 * Gets the port of a uri, or the default port of its scheme if it names none.
+	 *
+	 * @param uri the uri
+	 * @return the port
+	 */
+	private static int portOf(final URI uri) {
+		if (uri.getPort() >= 0) {
+			return uri.getPort();
+		}
+		return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+	}
 
-			TwilioRestResponse restResponse = new TwilioRestResponse(request.getURI().toString(), responseBody,
-			                                                         statusCode);
+	/**
+	 * Checks whether a response redirects a GET request.
+	 *
+	 * @param request the request
+	 * @param response the response
+	 * @return true if the request should be sent again to the Location of the response
+	 */
+	private static boolean isRedirect(final HttpUriRequest request, final HttpResponse response) {
+		if (!"GET".equals(request.getMethod()) || response.getFirstHeader("Location") == null) {
+			return false;
+		}
+		int statusCode = response.getStatusLine().getStatusCode();
+		return statusCode == 301 || statusCode == 302 || statusCode == 303 || statusCode == 307 || statusCode == 308;
+	}
 
-			// For now we only set the first content type seen
-			for (final Header h : contentTypeHeaders) {
-				restResponse.setContentType(h.getValue());
-				break;
+	/**
+	 * Reads an http response into a TwilioRestResponse, reporting the attempt to the metrics listener.
+	 *
+	 * @param request the request
+	 * @param response the http response
+	 * @param metrics the timings of the attempt, or null without a metrics listener
+	 * @return the twilio rest response
+	 * @throws IOException if the body cannot be read
+	 */
+	private TwilioRestResponse buildRestResponse(final HttpUriRequest request, final HttpResponse response,
+	                                             final RequestMetrics metrics) throws IOException {
+		HttpEntity entity = response.getEntity();
+
+		Header[] contentTypeHeaders = response.getHeaders("Content-Type");
+		String responseBody = "";
+
+		StatusLine status = response.getStatusLine();
+		int statusCode = status.getStatusCode();
+
+		if (entity != null) {
+			long readStart = System.nanoTime();
+			try {
+				responseBody = readBody(entity);
+			} catch (final IOException e) {
+				publish(metrics, statusCode, e);
+				throw e;
+			}
+			if (metrics != null) {
+				metrics.bodyRead(System.nanoTime() - readStart);
 			}
+		}
 
-			return restResponse;
+		TwilioRestResponse restResponse = new TwilioRestResponse(request.getURI().toString(), responseBody,
+		                                                         statusCode);
 
-		} catch (final ClientProtocolException e1) {
-			throw new RuntimeException(e1);
-		} catch (final IOException e1) {
-			throw new RuntimeException(e1);
+		// For now we only set the first content type seen
+		for (final Header h : contentTypeHeaders) {
+			restResponse.setContentType(h.getValue());
+			break;
+		}
+		restResponse.setHeaders(response.getAllHeaders());
+
+		if (entity instanceof DecompressingEntity) {
+			restResponse.setCompressedLength(((DecompressingEntity) entity).getCompressedBytes());
+			restResponse.setDecompressedLength(((DecompressingEntity) entity).getDecompressedBytes());
+		}
+
+		if (metrics != null) {
+			restResponse.setMetricsListener(metricsListener, metrics.getMethod(), metrics.getPath());
+			publish(metrics, statusCode, null);
+		}
+
+		return restResponse;
+	}
+
+	/**
+	 * Reads a response body into a String like {@link EntityUtils#toString(HttpEntity)}, but decodes the bytes in
+	 * one go instead of through a Reader, whose decoder buffer is larger than most bodies. The content length only
+	 * sizes the array; the body is read to the end of the stream.
+	 *
+	 * @param entity the response entity
+	 * @return the body, decoded with the charset of the entity or ISO-8859-1
+	 * @throws IOException if the body cannot be read
+	 */
+	private static String readBody(final HttpEntity entity) throws IOException {
+		InputStream in = entity.getContent();
+		if (in == null) {
+			return null;
+		}
+		try {
+			long length = entity.getContentLength();
+			if (length > Integer.MAX_VALUE) {
+				throw new IllegalArgumentException("HTTP entity too large to be buffered in memory");
+			}
+
+			byte[] body = new byte[length > 0 ? (int) length : 4096];
+			int read = 0;
+			int n;
+			while ((n = in.read(body, read, body.length - read)) >= 0) {
+				read += n;
+				if (read == body.length) {
+					int next = in.read();
+					if (next < 0) {
+						break;
+					}
+					body = Arrays.copyOf(body, body.length * 2);
+					body[read++] = (byte) next;
+				}
+			}
+
+			Charset charset = ContentType.getOrDefault(entity).getCharset();
+			return new String(body, 0, read, charset != null ? charset : HTTP.DEF_CONTENT_CHARSET);
+		} finally {
+			in.close();
 		}
 	}
 
@@ -401,59 +948,101 @@ public abstract class TwilioClient {
 
 		HttpUriRequest request = setupRequest(path, method, paramList);
 
+		RateLimiter.Permit permit;
+		try {
+			permit = admit(request, null);
+		} catch (final TwilioRestException e) {
+			throw new RuntimeException(e);
+		}
+
+		RequestMetrics metrics = newMetrics(request, 1);
+		long started = System.nanoTime();
 		HttpResponse response;
 		try {
-			response = httpclient.execute(request);
+			response = execute(request, metrics);
 			HttpEntity entity = response.getEntity();
+			int statusCode = response.getStatusLine().getStatusCode();
+			publish(metrics, statusCode, null);
+			recordOutcome(request, statusCode >= 500, started, -1);
 
-			return entity.getContent();
+			return new PermitReleasingInputStream(entity.getContent(), permit);
 
 		} catch (final ClientProtocolException e1) {
+			permit.release();
+			recordOutcome(request, true, started, -1);
 			throw new RuntimeException(e1);
 		} catch (final IOException e1) {
+			permit.release();
+			recordOutcome(request, true, started, -1);
 			throw new RuntimeException(e1);
 		}
 	}
 
 	/**
-	 * Setup request.
+	 * Make a request and return the successful response body as a stream, handling retries + back-off for
+	 * server errors. Error responses are read and reported as with {@link #safeRequest(String, String, Map)}.
+	 * The caller must close the returned stream, which releases the connection.
 	 *
-	 * @param path the path
-	 * @param method the method
-	 * @param params the vars
-	 * @return the http uri request
+	 * @param path the URL (absolute w.r.t. the endpoint URL - i.e. /2010-04-01/Accounts) or a fully qualified uri
+	 * @param method the HTTP method to use
+	 * @param vars for POST or PUT, a map of data to send, for GET will be appended to the URL as querystring params
+	 * @return the response body
+	 * @throws TwilioRestException if there's an client exception returned by the TwilioApi
 	 */
-	private HttpUriRequest setupRequest(String path, final String method, final List<NameValuePair> params) {
-
-		String normalizedPath = path.toLowerCase();
-		StringBuilder sb = new StringBuilder();
+	public InputStream safeRequestStream(final String path, final String method, final Map<String, String> vars)
+			throws TwilioRestException {
 
-		// If we've given a fully qualified uri then skip building the endpoint
-		if (normalizedPath.startsWith("http://") || normalizedPath.startsWith("https://")) {
-			sb.append(path);
-		} else {
-			sb.append(getEndpoint());
+		List<NameValuePair> paramList = generateParameters(vars);
+		return safeRequestStream(path, method, paramList);
+	}
 
-			if (!normalizedPath.startsWith("/")) {
-				sb.append("/");
-			}
-			sb.append(path);
+	/**
+	 * Make a request and return the successful response body as a stream. See
+	 * {@link #safeRequestStream(String, String, Map)}.
+	 *
+	 * @param path the URL (absolute w.r.t. the endpoint URL - i.e. /2010-04-01/Accounts) or a fully qualified uri
+	 * @param method the HTTP method to use
+	 * @param paramList for POST or PUT, a list of data to send, for GET will be appended to the URL as querystring
+	 * params
+	 * @return the response body
+	 * @throws TwilioRestException if there's an client exception returned by the TwilioApi
+	 */
+	public InputStream safeRequestStream(final String path, final String method,
+	                                     final List<NameValuePair> paramList) throws TwilioRestException {
+
+		ResponseCache cache = responseCache;
+		if (cache != null && "GET".equalsIgnoreCase(method) && cache.isCacheable(path)) {
+			return safeRequest(path, method, paramList).getResponseStream();
 		}
 
-		path = sb.toString();
+		InputStream stream = executeWithRetries(path, method, paramList, streamHandler, null, null);
+		invalidateCache(path, method);
+		return stream;
+	}
 
-		HttpUriRequest request = buildMethod(method, path, params);
+	/**
+	 * Setup request.
+	 *
+	 * @param path the path
+	 * @param method the method
+	 * @param params the vars
+	 * @return the http uri request
+	 */
+	private HttpUriRequest setupRequest(final String path, final String method, final List<NameValuePair> params) {
 
-		request.addHeader(new BasicHeader("X-Twilio-Client", "java-" + VERSION));
-		request.addHeader(new BasicHeader("User-Agent", "twilio-java/" + VERSION));
-		request.addHeader(new BasicHeader("Accept", "application/json"));
-		request.addHeader(new BasicHeader("Accept-Charset", "utf-8"));
+		HttpUriRequest request = buildMethod(method, qualify(path), params);
 
-		if (httpclient instanceof DefaultHttpClient) { // as DefaultHttpClient class has final method, I need httpClient to be a plain interface to be able to mock it
-			((DefaultHttpClient) httpclient).getCredentialsProvider()
-					.setCredentials(new AuthScope(AuthScope.ANY_HOST, AuthScope.ANY_PORT),
-							new UsernamePasswordCredentials(username, password));
+		request.addHeader(X_TWILIO_CLIENT);
+		request.addHeader(USER_AGENT);
+		request.addHeader(ACCEPT);
+		request.addHeader(ACCEPT_CHARSET);
+		if (compression) {
+			request.addHeader(ACCEPT_ENCODING);
 		}
+
+		// Authenticate preemptively, saving the 401 challenge round trip on every fresh connection
+		request.addHeader(authorizationHeader);
+		request.setParams(NO_REDIRECTS);
 		return request;
 	}
 
@@ -485,24 +1074,531 @@ public abstract class TwilioClient {
 	 */
 	public TwilioRestResponse safeRequest(final String path, final String method,
 	                                      final List<NameValuePair> paramList) throws TwilioRestException {
+		return cachedRequest(path, method, paramList, null);
+	}
+
+	/**
+	 * Makes a request through the response cache: a GET is answered from the cache while fresh, revalidated once
+	 * stale and coalesced with identical GETs in flight, and any other method invalidates the cached responses of
+	 * its resource.
+	 *
+	 * @param path the URL (absolute w.r.t. the endpoint URL - i.e. /2010-04-01/Accounts)
+	 * @param method the HTTP method to use
+	 * @param paramList the request parameters
+	 * @param firstPermit a rate limiter permit acquired beforehand, released if no request is sent, or null
+	 * @return the response
+	 * @throws TwilioRestException if there's an client exception returned by the TwilioApi
+	 */
+	private TwilioRestResponse cachedRequest(final String path, final String method,
+	                                         final List<NameValuePair> paramList,
+	                                         final RateLimiter.Permit firstPermit) throws TwilioRestException {
+		boolean get = "GET".equalsIgnoreCase(method);
+		ResponseCache cache = responseCache;
+		String uri = null;
+		TwilioRestResponse stale = null;
+		List<Header> conditions = null;
+		if (cache != null && get) {
+			uri = buildUri(qualify(path), paramList).toString();
+			TwilioRestResponse cached = cache.get(username, uri);
+			if (cached != null) {
+				if (firstPermit != null) {
+					firstPermit.release();
+				}
+				return cached;
+			}
+
+			stale = cache.getStale(username, uri);
+			if (stale != null) {
+				conditions = conditionsFor(stale);
+			}
+		}
+
+		TwilioRestResponse response = coalescing && get ? coalesce(path, method, paramList, firstPermit, conditions)
+		                                                : executeWithRetries(path, method, paramList,
+		                                                                     restResponseHandler, firstPermit,
+		                                                                     conditions);
+		if (uri != null) {
+			if (stale != null && response.getHttpStatus() == NOT_MODIFIED) {
+				cache.revalidated(username, uri, stale);
+				return stale;
+			}
+			cache.put(username, uri, response);
+		} else {
+			invalidateCache(path, method);
+		}
+		return response;
+	}
+
+	/**
+	 * Builds the headers making a GET conditional on a cached response having changed, from its validators.
+	 *
+	 * @param cached the expired cached response
+	 * @return the If-None-Match and If-Modified-Since headers
+	 */
+	private static List<Header> conditionsFor(final TwilioRestResponse cached) {
+		List<Header> conditions = new ArrayList<Header>(2);
+		String etag = cached.getHeader("ETag");
+		if (etag != null) {
+			conditions.add(new BasicHeader("If-None-Match", etag));
+		}
+		String lastModified = cached.getHeader("Last-Modified");
+		if (lastModified != null) {
+			conditions.add(new BasicHeader("If-Modified-Since", lastModified));
+		}
+		return conditions;
+	}
+
+	/**
+	 * Drops cached responses of the resource modified by a request.
+	 *
+	 * @param path the path or uri of the request
+	 * @param method the HTTP method
+	 */
+	private void invalidateCache(final String path, final String method) {
+		ResponseCache cache = responseCache;
+		if (cache != null && !"GET".equalsIgnoreCase(method)) {
+			cache.invalidate(qualify(path));
+		}
+	}
+
+	/**
+	 * Sends a GET request unless an identical one is in flight already, in which case its outcome is shared.
+	 *
+	 * @param path the URL (absolute w.r.t. the endpoint URL - i.e. /2010-04-01/Accounts) or a fully qualified uri
+	 * @param method the HTTP method to use
+	 * @param paramList the query string parameters
+	 * @param firstPermit a rate limiter permit acquired beforehand, released if the request is coalesced, or null
+	 * @param conditions headers making the request conditional, or null
+	 * @return the twilio rest response
+	 * @throws TwilioRestException if the request, or the request it was coalesced with, failed
+	 */
+	private TwilioRestResponse coalesce(final String path, final String method, final List<NameValuePair> paramList,
+	                                    final RateLimiter.Permit firstPermit, final List<Header> conditions)
+			throws TwilioRestException {
+		String key = conditions == null ? buildUri(path, paramList).toString()
+		                                : buildUri(path, paramList).toString() + " " + conditions;
+		FutureTask<TwilioRestResponse> task = new FutureTask<TwilioRestResponse>(new Callable<TwilioRestResponse>() {
+			public TwilioRestResponse call() throws TwilioRestException {
+				return executeWithRetries(path, method, paramList, restResponseHandler, firstPermit, conditions);
+			}
+		});
+
+		FutureTask<TwilioRestResponse> inFlight = inFlightGets.putIfAbsent(key, task);
+		if (inFlight == null) {
+			try {
+				task.run();
+			} finally {
+				inFlightGets.remove(key, task);
+			}
+			inFlight = task;
+		} else {
+			if (firstPermit != null) {
+				firstPermit.release();
+			}
+			coalescedRequests.incrementAndGet();
+		}
+
+		try {
+			return inFlight.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (final ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof TwilioRestException) {
+				throw (TwilioRestException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new RuntimeException(cause);
+		}
+	}
+
+	/**
+	 * Sends a request, retrying failures as the retry policy allows, up to {@link #getNumRetries()} attempts in
+	 * total. Client errors other than 429 Too Many Requests are thrown at once.
+	 *
+	 * @param path the URL (absolute w.r.t. the endpoint URL - i.e. /2010-04-01/Accounts) or a fully qualified uri
+	 * @param method the HTTP method to use
+	 * @param paramList the request parameters
+	 * @param handler reads a successful response, taking over the rate limiter permit
+	 * @param firstPermit a rate limiter permit acquired beforehand for the first attempt, or null
+	 * @param conditions headers added to every attempt, such as conditions or a range, read anew for each attempt;
+	 *                   or null
+	 * @return the result of the handler
+	 * @throws TwilioRestException if the request fails with a client error, or still fails after the last attempt
+	 */
+	private <T> T executeWithRetries(final String path, final String method, final List<NameValuePair> paramList,
+	                                 final SuccessHandler<T> handler, final RateLimiter.Permit firstPermit,
+	                                 final List<Header> conditions) throws TwilioRestException {
+		long start = System.currentTimeMillis();
+
+		for (int attempt = 1; ; attempt++) {
+			HttpUriRequest request = setupRequest(path, method, paramList);
+			if (conditions != null) {
+				for (final Header condition : conditions) {
+					request.setHeader(condition);
+				}
+			}
+			RateLimiter.Permit permit = admit(request, attempt == 1 ? firstPermit : null);
+			RequestMetrics metrics = newMetrics(request, attempt);
+			long started = System.nanoTime();
+			long responseTime = -1;
+			boolean failed = true;
+			TwilioRestResponse restResponse = null;
+			IOException error = null;
+
+			try {
+				HttpResponse response = execute(request, metrics);
+				responseTime = System.nanoTime() - started;
+				if (handler.handles(response.getStatusLine().getStatusCode())) {
+					RateLimiter.Permit handedOver = permit;
+					permit = null;
+					T result = handler.handle(request, response, handedOver, metrics);
+					failed = false;
+					return result;
+				}
+				restResponse = buildRestResponse(request, response, metrics);
+				failed = restResponse.isServerError();
+			} catch (final IOException e) {
+				error = e;
+			} finally {
+				if (permit != null) {
+					permit.release();
+				}
+				recordOutcome(request, failed, started, responseTime);
+			}
+
+			if (restResponse != null && restResponse.isClientError()
+			    && restResponse.getHttpStatus() != TOO_MANY_REQUESTS) {
+				throw TwilioRestException.parseResponse(restResponse);
+			}
+
+			long delay = -1;
+			if (attempt < numRetries) {
+				delay = retryPolicy.getRetryDelay(method, attempt, System.currentTimeMillis() - start,
+				                                  restResponse, error);
+			}
+
+			if (delay < 0) {
+				if (error != null) {
+					throw new RuntimeException(error);
+				} else if (restResponse.isClientError()) {
+					throw TwilioRestException.parseResponse(restResponse);
+				}
+				throw new TwilioRestException("Cannot fetch: " + method + " " + path, restResponse.getHttpStatus());
+			}
+
+			try {
+				Thread.sleep(delay);
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+	/**
+	 * Downloads a resource, such as recording or message media, into a file. The body is transferred into the file
+	 * channel, which reuses its own per-thread buffer, rather than copied through a stream. If the transfer
+	 * fails, it is resumed with a Range request from the bytes already written, as far as the retry policy allows.
+	 * The length of the file is checked against the length the server announces, in Content-Length or in the
+	 * Content-Range of a resumed download, and the connection is returned to the pool, or closed if the body was not
+	 * read to the end, whatever the outcome. A resumed file that is complete already is answered with 416 Range Not
+	 * Satisfiable, which counts as success if its Content-Range gives the length of the file.
+	 *
+	 * @param path the URL (absolute w.r.t. the endpoint URL - i.e. /2010-04-01/Accounts) or a fully qualified uri
+	 * @param file the file to write
+	 * @param resume true to continue a partial file left by an earlier download, false to overwrite the file
+	 * @return the length of the downloaded file
+	 * @throws TwilioRestException if the server answers with a client error, or the download still fails after the
+	 * last attempt
+	 */
+	public long download(final String path, final File file, final boolean resume) throws TwilioRestException {
+		return download(path, file, resume, false);
+	}
+
+	/**
+	 * Downloads a resource into a file, see {@link #download(String, File, boolean)}.
+	 *
+	 * @param path the URL (absolute w.r.t. the endpoint URL - i.e. /2010-04-01/Accounts) or a fully qualified uri
+	 * @param file the file to write
+	 * @param resume true to continue a partial file left by an earlier download, false to overwrite the file
+	 * @param requireLength true to fail a download whose length the server does not announce, such as a chunked
+	 *                      response, rather than accept it unverified
+	 * @return the length of the downloaded file
+	 * @throws TwilioRestException if the server answers with a client error, or the download still fails after the
+	 * last attempt
+	 */
+	public long download(final String path, final File file, final boolean resume, final boolean requireLength)
+			throws TwilioRestException {
+		return download(path, file, resume, requireLength, null);
+	}
+
+	/**
+	 * Downloads a resource into a file, see {@link #download(String, File, boolean)}, reporting every chunk written
+	 * to a listener, which may pace the download.
+	 *
+	 * @param path the URL (absolute w.r.t. the endpoint URL - i.e. /2010-04-01/Accounts) or a fully qualified uri
+	 * @param file the file to write
+	 * @param resume true to continue a partial file left by an earlier download, false to overwrite the file
+	 * @param requireLength true to fail a download whose length the server does not announce, such as a chunked
+	 *                      response, rather than accept it unverified
+	 * @param listener the listener called after every chunk written, or null
+	 * @return the length of the downloaded file
+	 * @throws TwilioRestException if the server answers with a client error, or the download still fails after the
+	 * last attempt
+	 */
+	public long download(final String path, final File file, final boolean resume, final boolean requireLength,
+	                     final TransferListener listener) throws TwilioRestException {
+		if (file == null) {
+			throw new IllegalArgumentException("file is required.");
+		}
+
+		FileDownloadHandler handler = new FileDownloadHandler(file, resume ? file.length() : 0, requireLength,
+		                                                      listener);
+		return executeWithRetries(path, "GET", null, handler, null, handler.rangeHeaders);
+	}
+
+	/**
+	 * Asynchronously sends a REST Request to the Twilio REST API. See {@link #request(String, String, Map)}.
+	 *
+	 * @param path the URL (absolute w.r.t. the endpoint URL - i.e. /2010-04-01/Accounts)
+	 * @param method the HTTP method to use, defaults to GET
+	 * @param paramMap for POST or PUT, a map of data to send, for GET will be appended to the URL as querystring
+	 * params
+	 * @return a future completing with the twilio rest response
+	 */
+	public Future<TwilioRestResponse> requestAsync(final String path, final String method,
+	                                               final Map<String, String> paramMap) {
+		return requestAsync(path, method, generateParameters(paramMap));
+	}
+
+	/**
+	 * Asynchronously sends a REST Request to the Twilio REST API. See {@link #request(String, String, List)}.
+	 *
+	 * @param path the URL (absolute w.r.t. the endpoint URL - i.e. /2010-04-01/Accounts)
+	 * @param method the HTTP method to use, defaults to GET
+	 * @param paramList for POST or PUT, a list of data to send, for GET will be appended to the URL as querystring
+	 * params
+	 * @return a future completing with the twilio rest response
+	 */
+	public Future<TwilioRestResponse> requestAsync(final String path, final String method,
+	                                               final List<NameValuePair> paramList) {
+		return submitAsync(path, new PermitCallable() {
+			public TwilioRestResponse call(final RateLimiter.Permit permit) throws TwilioRestException {
+				return request(path, method, paramList, permit);
+			}
+		});
+	}
+
+	/**
+	 * Asynchronously makes a request, handling retries + back-off for server/network errors. See
+	 * {@link #safeRequest(String, String, Map)}.
+	 *
+	 * @param path the URL (absolute w.r.t. the endpoint URL - i.e. /2010-04-01/Accounts)
+	 * @param method the HTTP method to use, defaults to GET
+	 * @param vars for POST or PUT, a map of data to send, for GET will be appended to the URL as querystring params
+	 * @return a future completing with the response, or failing with the {@link TwilioRestException}
+	 */
+	public Future<TwilioRestResponse> safeRequestAsync(final String path, final String method,
+	                                                   final Map<String, String> vars) {
+		return safeRequestAsync(path, method, generateParameters(vars));
+	}
+
+	/**
+	 * Asynchronously makes a request, handling retries + back-off for server/network errors. See
+	 * {@link #safeRequest(String, String, List)}.
+	 *
+	 * @param path the URL (absolute w.r.t. the endpoint URL - i.e. /2010-04-01/Accounts)
+	 * @param method the HTTP method to use, defaults to GET
+	 * @param paramList for POST or PUT, a list of data to send, for GET will be appended to the URL as querystring
+	 * params
+	 * @return a future completing with the response, or failing with the {@link TwilioRestException}
+	 */
+	public Future<TwilioRestResponse> safeRequestAsync(final String path, final String method,
+	                                                   final List<NameValuePair> paramList) {
+		return submitAsync(path, new PermitCallable() {
+			public TwilioRestResponse call(final RateLimiter.Permit permit) throws TwilioRestException {
+				return cachedRequest(path, method, paramList, permit);
+			}
+		});
+	}
+
+	/**
+	 * Runs a request on the async executor. With an {@link RateLimiter.Mode#ASYNC_WAIT} rate limiter the task is
+	 * only submitted once its permit is available, so waiting requests do not hold an executor thread.
+	 *
+	 * @param path the path of the request, used to pick the rate limit
+	 * @param callable sends the request
+	 * @return a future completing with the response
+	 */
+	private Future<TwilioRestResponse> submitAsync(final String path, final PermitCallable callable) {
+		final ExecutorService executor = getAsyncExecutor();
+		final RateLimiter limiter = rateLimiter;
+
+		if (limiter == null || limiter.getMode() != RateLimiter.Mode.ASYNC_WAIT) {
+			return executor.submit(new Callable<TwilioRestResponse>() {
+				public TwilioRestResponse call() throws TwilioRestException {
+					return callable.call(null);
+				}
+			});
+		}
 
-		TwilioRestResponse response = null;
-		for (int retry = 0; retry < numRetries; retry++) {
-			response = request(path, method, paramList);
-			if (response.isClientError()) {
-				throw TwilioRestException.parseResponse(response);
-			} else if (response.isServerError()) {
+		final RateLimiter.Permit[] permit = new RateLimiter.Permit[1];
+		final RateLimitExceededException[] rejection = new RateLimitExceededException[1];
+		final FutureTask<TwilioRestResponse> task = new FutureTask<TwilioRestResponse>(
+				new Callable<TwilioRestResponse>() {
+					public TwilioRestResponse call() throws TwilioRestException {
+						synchronized (permit) {
+							if (rejection[0] != null) {
+								throw rejection[0];
+							}
+						}
+						return callable.call(permit[0]);
+					}
+				}) {
+			@Override
+			protected void done() {
+				// A task cancelled before it ran would otherwise keep its permit
+				synchronized (permit) {
+					if (isCancelled() && permit[0] != null) {
+						permit[0].release();
+					}
+				}
+			}
+		};
+
+		String host = hostOf(path);
+		limiter.acquireAsync(getAccountSid(), host, new RateLimiter.PermitCallback() {
+			public void acquired(final RateLimiter.Permit acquired) {
+				synchronized (permit) {
+					if (task.isCancelled()) {
+						acquired.release();
+						return;
+					}
+					permit[0] = acquired;
+				}
+				execute(acquired);
+			}
+
+			public void rejected(final RateLimitExceededException e) {
+				synchronized (permit) {
+					rejection[0] = e;
+				}
+				execute(null);
+			}
+
+			private void execute(final RateLimiter.Permit acquired) {
 				try {
-					Thread.sleep(100 * retry); // Backoff on our sleep
-				} catch (final InterruptedException e) {
+					executor.execute(task);
+				} catch (final RuntimeException e) {
+					if (acquired != null) {
+						acquired.release();
+					}
+					throw e;
+				}
+			}
+		});
+		return task;
+	}
+
+	/**
+	 * Sends a request with a rate limiter permit acquired beforehand.
+	 */
+	private interface PermitCallable {
+
+		/**
+		 * Sends the request.
+		 *
+		 * @param permit the permit for the first attempt, or null to acquire one
+		 * @return the response
+		 * @throws TwilioRestException the twilio rest exception
+		 */
+		TwilioRestResponse call(RateLimiter.Permit permit) throws TwilioRestException;
+	}
+
+	/**
+	 * Checks the circuit breaker of the request host, then acquires a rate limiter permit.
+	 *
+	 * @param request the request
+	 * @param heldPermit a permit acquired beforehand, or null to acquire one
+	 * @return the permit
+	 * @throws TwilioRestException if the circuit breaker or the rate limiter refuses the request
+	 */
+	private RateLimiter.Permit admit(final HttpUriRequest request, final RateLimiter.Permit heldPermit) throws
+	                                                                                                    TwilioRestException {
+		CircuitBreaker breaker = circuitBreaker;
+		if (breaker != null) {
+			try {
+				breaker.acquirePermission(request.getURI().getHost());
+			} catch (final CircuitBreakerOpenException e) {
+				if (heldPermit != null) {
+					heldPermit.release();
 				}
-				continue;
+				throw e;
 			}
+		}
+
+		if (heldPermit != null) {
+			return heldPermit;
+		}
+		try {
+			return acquirePermit(request);
+		} catch (final RateLimitExceededException e) {
+			if (breaker != null) {
+				breaker.onCancelled(request.getURI().getHost());
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Records the outcome of a request with the circuit breaker. Its duration runs until the response headers
+	 * arrived, so that reading a long body, such as a recording download, does not make the request slow.
+	 *
+	 * @param request the request
+	 * @param failed true if the request failed with an I/O error or a server error
+	 * @param started the System.nanoTime() the request was sent at
+	 * @param responseTime the nanoseconds until the response headers arrived, or -1 to count until now
+	 */
+	private void recordOutcome(final HttpUriRequest request, final boolean failed, final long started,
+	                           final long responseTime) {
+		CircuitBreaker breaker = circuitBreaker;
+		if (breaker != null) {
+			breaker.onResult(request.getURI().getHost(), failed,
+			                 responseTime >= 0 ? responseTime : System.nanoTime() - started);
+		}
+	}
+
+	/**
+	 * Acquires a rate limiter permit for a request.
+	 *
+	 * @param request the request
+	 * @return the permit, or {@link RateLimiter.Permit#NONE} without a rate limiter
+	 * @throws RateLimitExceededException if the rate limiter refuses the request
+	 */
+	private RateLimiter.Permit acquirePermit(final HttpUriRequest request) throws RateLimitExceededException {
+		RateLimiter limiter = rateLimiter;
+		if (limiter == null) {
+			return RateLimiter.Permit.NONE;
+		}
+		return limiter.acquire(getAccountSid(), request.getURI().getHost());
+	}
 
-			return response;
+	/**
+	 * Gets the host a request path is sent to.
+	 *
+	 * @param path a path relative to the endpoint, or a fully qualified uri
+	 * @return the host
+	 */
+	private String hostOf(final String path) {
+		if (isQualified(path)) {
+			return URI.create(path).getHost();
 		}
-		int errorCode = response == null ? -1 : response.getHttpStatus();
-		throw new TwilioRestException("Cannot fetch: " + method + " " + path, errorCode);
+		return URI.create(getEndpoint()).getHost();
 	}
 
 	/**
@@ -514,24 +1610,37 @@ public abstract class TwilioClient {
 	 * @throws TwilioRestException the twilio rest exception
 	 */
 	public TwilioRestResponse get(final String fullUri) throws TwilioRestException {
-		TwilioRestResponse response = null;
+		return safeRequest(fullUri, "GET", (Map<String, String>) null);
+	}
 
-		for (int retry = 0; retry < numRetries; retry++) {
-			response = request(fullUri, "GET", (Map) null);
-			if (response.isClientError()) {
-				throw TwilioRestException.parseResponse(response);
-			} else if (response.isServerError()) {
-				try {
-					Thread.sleep(100 * retry); // Backoff on our sleep
-				} catch (final InterruptedException e) {
-				}
-				continue;
-			}
+	/**
+	 * Prefixes a path with the endpoint, unless it is a fully qualified uri already.
+	 *
+	 * @param path the URL (absolute w.r.t. the endpoint URL - i.e. /2010-04-01/Accounts) or a fully qualified uri
+	 * @return the fully qualified uri
+	 */
+	private String qualify(final String path) {
+		// If we've given a fully qualified uri then skip building the endpoint
+		if (isQualified(path)) {
+			return path;
+		}
 
-			return response;
+		String endpoint = getEndpoint();
+		if (path.startsWith("/")) {
+			return endpoint.concat(path);
 		}
-		int errorCode = response == null ? -1 : response.getHttpStatus();
-		throw new TwilioRestException("Cannot fetch: " + fullUri + " ", errorCode);
+		return new StringBuilder(endpoint.length() + 1 + path.length()).append(endpoint).append('/').append(path)
+		                                                                .toString();
+	}
+
+	/**
+	 * Checks whether a path is a fully qualified http or https uri, ignoring case without lowercasing a copy.
+	 *
+	 * @param path the path
+	 * @return true if the path starts with a scheme
+	 */
+	private static boolean isQualified(final String path) {
+		return path.regionMatches(true, 0, "http://", 0, 7) || path.regionMatches(true, 0, "https://", 0, 8);
 	}
 
 	/**
@@ -559,4 +1668,304 @@ public abstract class TwilioClient {
 	public void setRequestAccountSid(String accountSid) {
 		this.accountSid = accountSid;
 	}
+
+	/**
+	 * Starts timing a request attempt.
+	 *
+	 * @param request the request
+	 * @param attempt the attempt number
+	 * @return the timings, or null without a metrics listener
+	 */
+	private RequestMetrics newMetrics(final HttpUriRequest request, final int attempt) {
+		return metricsListener == null ? null : new RequestMetrics(request.getMethod(), request.getURI().toString(),
+		                                                           attempt);
+	}
+
+	/**
+	 * Completes the timings of an attempt and reports them to the metrics listener.
+	 *
+	 * @param metrics the timings, or null without a metrics listener
+	 * @param statusCode the status code, or -1
+	 * @param error the I/O error, or null
+	 */
+	private void publish(final RequestMetrics metrics, final int statusCode, final Exception error) {
+		TwilioMetricsListener listener = metricsListener;
+		if (metrics != null && listener != null) {
+			metrics.complete(statusCode, error);
+			listener.requestCompleted(metrics);
+		}
+	}
+
+	/**
+	 * Reads a successful response of a request sent with retries.
+	 */
+	private interface SuccessHandler<T> {
+
+		/**
+		 * Checks whether the handler reads responses with a status code, rather than have them handled as errors.
+		 */
+		boolean handles(int statusCode);
+
+		/**
+		 * Reads the response. The handler must release the permit once the response is consumed, and report the
+		 * attempt to the metrics listener.
+		 */
+		T handle(HttpUriRequest request, HttpResponse response, RateLimiter.Permit permit, RequestMetrics metrics)
+				throws IOException;
+	}
+
+	/** Reads the response body into a TwilioRestResponse. */
+	private final SuccessHandler<TwilioRestResponse> restResponseHandler = new SuccessHandler<TwilioRestResponse>() {
+		public boolean handles(final int statusCode) {
+			return statusCode < 400;
+		}
+
+		public TwilioRestResponse handle(final HttpUriRequest request, final HttpResponse response,
+		                                 final RateLimiter.Permit permit, final RequestMetrics metrics)
+				throws IOException {
+			try {
+				return buildRestResponse(request, response, metrics);
+			} finally {
+				permit.release();
+			}
+		}
+	};
+
+	/** Hands out the response body as a stream, leaving the connection and permit held until it is closed. */
+	private final SuccessHandler<InputStream> streamHandler = new SuccessHandler<InputStream>() {
+		public boolean handles(final int statusCode) {
+			return statusCode < 400;
+		}
+
+		public InputStream handle(final HttpUriRequest request, final HttpResponse response,
+		                          final RateLimiter.Permit permit, final RequestMetrics metrics) throws IOException {
+			publish(metrics, response.getStatusLine().getStatusCode(), null);
+			HttpEntity entity = response.getEntity();
+			if (entity == null) {
+				permit.release();
+				return new ByteArrayInputStream(new byte[0]);
+			}
+			try {
+				return new PermitReleasingInputStream(entity.getContent(), permit);
+			} catch (final IOException e) {
+				permit.release();
+				throw e;
+			}
+		}
+	};
+
+	/**
+	 * Writes response bodies into a file, remembering how much has been written so that a retried attempt asks
+	 * only for the rest of the body.
+	 */
+	private class FileDownloadHandler implements SuccessHandler<Long> {
+
+		private final File file;
+
+		/** The headers of the next attempt, asking for the body uncompressed and, once started, for its rest. */
+		private final List<Header> rangeHeaders = new ArrayList<Header>(2);
+
+		private final boolean requireLength;
+
+		private final TransferListener listener;
+
+		private long written;
+
+		FileDownloadHandler(final File file, final long offset, final boolean requireLength,
+		                    final TransferListener listener) {
+			this.file = file;
+			this.requireLength = requireLength;
+			this.listener = listener;
+			setWritten(offset);
+		}
+
+		private void setWritten(final long written) {
+			this.written = written;
+			rangeHeaders.clear();
+			rangeHeaders.add(IDENTITY_ENCODING);
+			if (written > 0) {
+				rangeHeaders.add(new BasicHeader("Range", "bytes=" + written + "-"));
+			}
+		}
+
+		public boolean handles(final int statusCode) {
+			return statusCode < 400 || (statusCode == RANGE_NOT_SATISFIABLE && written > 0);
+		}
+
+		public Long handle(final HttpUriRequest request, final HttpResponse response, final RateLimiter.Permit permit,
+		                   final RequestMetrics metrics) throws IOException {
+			int statusCode = response.getStatusLine().getStatusCode();
+			InputStream in = null;
+			boolean complete = false;
+			try {
+				if (statusCode == RANGE_NOT_SATISFIABLE) {
+					// The range starts at the end of the file if the file is complete, as after a crash before the
+					// caller used it; otherwise it is stale, and the next attempt starts over
+					if (rangeLength(response.getFirstHeader("Content-Range")) != written) {
+						FileChannel stale = new RandomAccessFile(file, "rw").getChannel();
+						try {
+							stale.truncate(0);
+						} finally {
+							stale.close();
+						}
+						setWritten(0);
+						throw new IOException("Partial download of " + file + " does not match the resource");
+					}
+					if (response.getEntity() != null) {
+						in = response.getEntity().getContent();
+					}
+					complete = true;
+					publish(metrics, statusCode, null);
+					return written;
+				}
+
+				long offset = 0;
+				long length = -1;
+				if (statusCode == PARTIAL_CONTENT) {
+					Header contentRange = response.getFirstHeader("Content-Range");
+					offset = rangeStart(contentRange);
+					if (offset != written) {
+						throw new IOException("Unexpected Content-Range for a download resumed at " + written);
+					}
+					length = rangeLength(contentRange);
+				} else if (statusCode != 200) {
+					throw new IOException("Unexpected status for a download: " + statusCode);
+				}
+
+				HttpEntity entity = response.getEntity();
+				long expected = entity == null ? 0 : entity.getContentLength();
+				if (length < 0 && expected >= 0) {
+					length = offset + expected;
+				}
+				long position = offset;
+				FileChannel channel = new RandomAccessFile(file, "rw").getChannel();
+				try {
+					// Drop what a response ignoring the range, or an interrupted attempt, left after the offset
+					channel.truncate(offset);
+					if (entity != null) {
+						in = entity.getContent();
+						ReadableByteChannel source = Channels.newChannel(in);
+						try {
+							long transferred;
+							// A blocking source only transfers nothing at the end of the body
+							while ((transferred = channel.transferFrom(source, position, DOWNLOAD_CHUNK_SIZE)) > 0) {
+								position += transferred;
+								if (listener != null) {
+									listener.transferred(transferred);
+								}
+							}
+						} finally {
+							setWritten(position);
+						}
+					}
+				} finally {
+					channel.close();
+				}
+
+				if (length < 0 && requireLength) {
+					throw new IOException("Length of " + file + " cannot be verified, the server did not announce it");
+				} else if (length >= 0 && position != length) {
+					throw new IOException("Download of " + file + " truncated at " + position + " of " + length
+					                      + " bytes");
+				}
+				complete = true;
+				publish(metrics, statusCode, null);
+				return position;
+			} catch (final IOException e) {
+				publish(metrics, statusCode, e);
+				throw e;
+			} finally {
+				if (complete && in != null) {
+					in.close();
+				} else {
+					abortConnection(response, in);
+				}
+				permit.release();
+			}
+		}
+	}
+
+	/**
+	 * Closes the connection of a response instead of reading the rest of its body to reuse it. The response may
+	 * answer a redirect rather than the request the caller holds, so the request cannot be aborted instead.
+	 *
+	 * @param response the response
+	 * @param in the body stream taken from the response, or null
+	 */
+	private static void abortConnection(final HttpResponse response, final InputStream in) {
+		try {
+			InputStream content = in;
+			if (content == null && response.getEntity() != null) {
+				content = response.getEntity().getContent();
+			}
+			if (content instanceof ConnectionReleaseTrigger) {
+				((ConnectionReleaseTrigger) content).abortConnection();
+			} else if (content != null) {
+				content.close();
+			}
+		} catch (final IOException e) {
+			// The connection is discarded either way
+		}
+	}
+
+	/**
+	 * Gets the first byte position of a Content-Range header, such as {@code bytes 100-199/200}.
+	 *
+	 * @param contentRange the header
+	 * @return the first byte position
+	 * @throws IOException if the header is missing or malformed
+	 */
+	private static long rangeStart(final Header contentRange) throws IOException {
+		String value = contentRange == null ? null : contentRange.getValue().trim();
+		if (value == null || !value.startsWith("bytes ") || value.indexOf('-') < 0) {
+			throw new IOException("Invalid Content-Range: " + value);
+		}
+		try {
+			return Long.parseLong(value.substring(6, value.indexOf('-')).trim());
+		} catch (final NumberFormatException e) {
+			throw new IOException("Invalid Content-Range: " + value);
+		}
+	}
+
+	/**
+	 * Gets the complete length of a Content-Range header, such as {@code bytes 100-199/200}; a 416 response
+	 * gives it after {@code bytes *}.
+	 *
+	 * @param contentRange the header, or null
+	 * @return the complete length, or -1 if the header is missing or does not give it
+	 */
+	private static long rangeLength(final Header contentRange) {
+		String value = contentRange == null ? "" : contentRange.getValue().trim();
+		int slash = value.lastIndexOf('/');
+		if (!value.startsWith("bytes ") || slash < 0) {
+			return -1;
+		}
+		try {
+			return Long.parseLong(value.substring(slash + 1).trim());
+		} catch (final NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Releases a rate limiter permit when the response stream is closed.
+	 */
+	private static class PermitReleasingInputStream extends FilterInputStream {
+
+		private final RateLimiter.Permit permit;
+
+		PermitReleasingInputStream(final InputStream in, final RateLimiter.Permit permit) {
+			super(in);
+			this.permit = permit;
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				super.close();
+			} finally {
+				permit.release();
+			}
+		}
+	}
 }
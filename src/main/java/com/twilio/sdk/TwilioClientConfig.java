@@ -0,0 +1,356 @@
+package com.twilio.sdk;
+
+/**
+ * HTTP tuning for a {@link TwilioClient}, built with {@link TwilioClientConfig.Builder}. It covers:
+ * <ul>
+ * <li>the connection pool, timeouts, keep-alive and idle connection eviction</li>
+ * <li>response compression and coalescing of identical GETs</li>
+ * <li>the response cache</li>
+ * <li>the retry policy, the rate limiter and the circuit breaker</li>
+ * <li>the metrics listener</li>
+ * </ul>
+ * Every setting defaults to the values the client has always used; the newer ones are described on their
+ * builder methods.
+ *
+ * <pre>
+ * TwilioClientConfig config = new TwilioClientConfig.Builder()
+ *     .maxConnectionsPerRoute(50)
+ *     .maxConnectionsTotal(100)
+ *     .idleConnectionTimeout(30000)
+ *     .build();
+ * TwilioRestClient client = new TwilioRestClient(accountSid, authToken, "https://api.twilio.com", config);
+ * </pre>
+ */
+public class TwilioClientConfig {
+
+	/** The default HTTP Connection timeout */
+	public static final int DEFAULT_CONNECTION_TIMEOUT = 10000;
+
+	/** The default timeout to use for requests to Twilio */
+	public static final int DEFAULT_READ_TIMEOUT = 30500;
+
+	/** The default number of pooled connections per route */
+	public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 10;
+
+	/** The default number of pooled connections across all routes */
+	public static final int DEFAULT_MAX_CONNECTIONS_TOTAL = 20;
+
+	private final int maxConnectionsPerRoute;
+	private final int maxConnectionsTotal;
+	private final int connectionTimeout;
+	private final int readTimeout;
+	private final long keepAlive;
+	private final long idleConnectionTimeout;
+	private final boolean staleConnectionCheck;
+	private final boolean tcpNoDelay;
+	private final int asyncThreads;
+	private final RetryPolicy retryPolicy;
+	private final RateLimiter rateLimiter;
+	private final boolean compression;
+	private final boolean coalesceRequests;
+	private final ResponseCache responseCache;
+	private final TwilioMetricsListener metricsListener;
+	private final CircuitBreaker circuitBreaker;
+
+	private TwilioClientConfig(final Builder b) {
+		this.maxConnectionsPerRoute = b.maxConnectionsPerRoute;
+		this.maxConnectionsTotal = Math.max(b.maxConnectionsTotal, b.maxConnectionsPerRoute);
+		this.connectionTimeout = b.connectionTimeout;
+		this.readTimeout = b.readTimeout;
+		this.keepAlive = b.keepAlive;
+		this.idleConnectionTimeout = b.idleConnectionTimeout;
+		this.staleConnectionCheck = b.staleConnectionCheck;
+		this.tcpNoDelay = b.tcpNoDelay;
+		this.asyncThreads = b.asyncThreads > 0 ? b.asyncThreads : b.maxConnectionsPerRoute;
+		this.retryPolicy = b.retryPolicy;
+		this.rateLimiter = b.rateLimiter;
+		this.compression = b.compression;
+		this.coalesceRequests = b.coalesceRequests;
+		this.responseCache = b.responseCache;
+		this.metricsListener = b.metricsListener;
+		this.circuitBreaker = b.circuitBreaker;
+	}
+
+	/**
+	 * Gets the maximum number of pooled connections per route, i.e. per Twilio host.
+	 *
+	 * @return the maximum connections per route
+	 */
+	public int getMaxConnectionsPerRoute() {
+		return maxConnectionsPerRoute;
+	}
+
+	/**
+	 * Gets the maximum number of pooled connections across all routes.
+	 *
+	 * @return the maximum connections in total
+	 */
+	public int getMaxConnectionsTotal() {
+		return maxConnectionsTotal;
+	}
+
+	/**
+	 * Gets the connect timeout in milliseconds.
+	 *
+	 * @return the connect timeout
+	 */
+	public int getConnectionTimeout() {
+		return connectionTimeout;
+	}
+
+	/**
+	 * Gets the socket read timeout in milliseconds.
+	 *
+	 * @return the read timeout
+	 */
+	public int getReadTimeout() {
+		return readTimeout;
+	}
+
+	/**
+	 * Gets the maximum time in milliseconds an idle connection is kept alive for reuse, or 0 to follow the
+	 * server's Keep-Alive header alone.
+	 *
+	 * @return the keep-alive limit
+	 */
+	public long getKeepAlive() {
+		return keepAlive;
+	}
+
+	/**
+	 * Gets the time in milliseconds after which idle pooled connections are closed by a background reaper, or 0
+	 * if the reaper is disabled.
+	 *
+	 * @return the idle connection timeout
+	 */
+	public long getIdleConnectionTimeout() {
+		return idleConnectionTimeout;
+	}
+
+	/**
+	 * Whether pooled connections are checked for staleness before reuse.
+	 *
+	 * @return true if the stale connection check is enabled
+	 */
+	public boolean isStaleConnectionCheck() {
+		return staleConnectionCheck;
+	}
+
+	/**
+	 * Whether Nagle's algorithm is disabled on connections.
+	 *
+	 * @return true if TCP_NODELAY is set
+	 */
+	public boolean isTcpNoDelay() {
+		return tcpNoDelay;
+	}
+
+	/**
+	 * Gets the number of threads of the default async executor.
+	 *
+	 * @return the number of async threads
+	 */
+	public int getAsyncThreads() {
+		return asyncThreads;
+	}
+
+	/**
+	 * Whether responses are requested with gzip or deflate compression.
+	 *
+	 * @return true if compression is enabled
+	 */
+	public boolean isCompression() {
+		return compression;
+	}
+
+	/**
+	 * Whether concurrent identical GET requests share one HTTP exchange and response.
+	 *
+	 * @return true if GET requests are coalesced
+	 */
+	public boolean isCoalesceRequests() {
+		return coalesceRequests;
+	}
+
+	/**
+	 * Gets the cache of GET responses.
+	 *
+	 * @return the response cache, or null
+	 */
+	public ResponseCache getResponseCache() {
+		return responseCache;
+	}
+
+	/**
+	 * Gets the policy deciding which failed requests are retried, and when.
+	 *
+	 * @return the retry policy
+	 */
+	public RetryPolicy getRetryPolicy() {
+		return retryPolicy;
+	}
+
+	/**
+	 * Gets the client-side rate limiter.
+	 *
+	 * @return the rate limiter, or null if requests are not limited
+	 */
+	public RateLimiter getRateLimiter() {
+		return rateLimiter;
+	}
+
+	/**
+	 * Gets the listener receiving request timings.
+	 *
+	 * @return the metrics listener, or null
+	 */
+	public TwilioMetricsListener getMetricsListener() {
+		return metricsListener;
+	}
+
+	/**
+	 * Gets the circuit breaker.
+	 *
+	 * @return the circuit breaker, or null
+	 */
+	public CircuitBreaker getCircuitBreaker() {
+		return circuitBreaker;
+	}
+
+	/** Builder used to construct a TwilioClientConfig */
+	public static class Builder {
+		private int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+		private int maxConnectionsTotal = DEFAULT_MAX_CONNECTIONS_TOTAL;
+		private int connectionTimeout = DEFAULT_CONNECTION_TIMEOUT;
+		private int readTimeout = DEFAULT_READ_TIMEOUT;
+		private long keepAlive = 0;
+		private long idleConnectionTimeout = 0;
+		private boolean staleConnectionCheck = true;
+		private boolean tcpNoDelay = true;
+		private int asyncThreads = 0;
+		private RetryPolicy retryPolicy = new ExponentialBackoffRetryPolicy();
+		private RateLimiter rateLimiter = null;
+		private boolean compression = false;
+		private boolean coalesceRequests = false;
+		private ResponseCache responseCache = null;
+		private TwilioMetricsListener metricsListener = null;
+		private CircuitBreaker circuitBreaker = null;
+
+		public Builder maxConnectionsPerRoute(int maxConnectionsPerRoute) {
+			if (maxConnectionsPerRoute < 1) {
+				throw new IllegalArgumentException("maxConnectionsPerRoute must be at least 1");
+			}
+			this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+			return this;
+		}
+
+		public Builder maxConnectionsTotal(int maxConnectionsTotal) {
+			if (maxConnectionsTotal < 1) {
+				throw new IllegalArgumentException("maxConnectionsTotal must be at least 1");
+			}
+			this.maxConnectionsTotal = maxConnectionsTotal;
+			return this;
+		}
+
+		public Builder connectionTimeout(int connectionTimeout) {
+			this.connectionTimeout = connectionTimeout;
+			return this;
+		}
+
+		public Builder readTimeout(int readTimeout) {
+			this.readTimeout = readTimeout;
+			return this;
+		}
+
+		public Builder keepAlive(long keepAlive) {
+			this.keepAlive = keepAlive;
+			return this;
+		}
+
+		public Builder idleConnectionTimeout(long idleConnectionTimeout) {
+			this.idleConnectionTimeout = idleConnectionTimeout;
+			return this;
+		}
+
+		public Builder staleConnectionCheck(boolean staleConnectionCheck) {
+			this.staleConnectionCheck = staleConnectionCheck;
+			return this;
+		}
+
+		public Builder tcpNoDelay(boolean tcpNoDelay) {
+			this.tcpNoDelay = tcpNoDelay;
+			return this;
+		}
+
+		/**
+		 * Sets the number of threads of the default async executor; defaults to the per-route connection limit.
+		 */
+		public Builder asyncThreads(int asyncThreads) {
+			this.asyncThreads = asyncThreads;
+			return this;
+		}
+
+		/**
+		 * Sets whether responses are requested with gzip or deflate compression; disabled by default.
+		 */
+		public Builder compression(boolean compression) {
+			this.compression = compression;
+			return this;
+		}
+
+		/**
+		 * Sets whether concurrent identical GET requests share one HTTP exchange and response; disabled by default.
+		 */
+		public Builder coalesceRequests(boolean coalesceRequests) {
+			this.coalesceRequests = coalesceRequests;
+			return this;
+		}
+
+		/**
+		 * Sets a cache answering GET requests of read-mostly resources; responses are not cached by default.
+		 */
+		public Builder responseCache(ResponseCache responseCache) {
+			this.responseCache = responseCache;
+			return this;
+		}
+
+		/**
+		 * Sets the retry policy; defaults to an {@link ExponentialBackoffRetryPolicy}.
+		 */
+		public Builder retryPolicy(RetryPolicy retryPolicy) {
+			if (retryPolicy == null) {
+				throw new IllegalArgumentException("retryPolicy must not be null");
+			}
+			this.retryPolicy = retryPolicy;
+			return this;
+		}
+
+		/**
+		 * Sets a client-side rate limiter; requests are not limited by default.
+		 */
+		public Builder rateLimiter(RateLimiter rateLimiter) {
+			this.rateLimiter = rateLimiter;
+			return this;
+		}
+
+		/**
+		 * Sets a listener receiving request timings; requests are not timed by default.
+		 */
+		public Builder metricsListener(TwilioMetricsListener metricsListener) {
+			this.metricsListener = metricsListener;
+			return this;
+		}
+
+		/**
+		 * Sets a circuit breaker failing requests to unhealthy hosts fast; requests are always sent by default.
+		 */
+		public Builder circuitBreaker(CircuitBreaker circuitBreaker) {
+			this.circuitBreaker = circuitBreaker;
+			return this;
+		}
+
+		public TwilioClientConfig build() {
+			return new TwilioClientConfig(this);
+		}
+	}
+}
@@ -25,6 +25,14 @@ public class TwilioIPMessagingClient extends TwilioClient {
 		super(username, password, endpoint);
 	}
 
+	public TwilioIPMessagingClient(String username, String password, String endpoint, TwilioClientConfig config) {
+		super(username, password, endpoint, config);
+	}
+
+	public TwilioIPMessagingClient(String username, String password, String endpoint, TwilioTransport transport) {
+		super(username, password, endpoint, transport);
+	}
+
 	/**
 	 * Initialize services endpoint without filters
 	 *
@@ -0,0 +1,29 @@
+package com.twilio.sdk;
+
+/**
+ * Receives timings of the requests made by a {@link TwilioClient}. Register one with
+ * {@link TwilioClient#setMetricsListener(TwilioMetricsListener)}; {@link HistogramMetricsListener} is a ready-made
+ * implementation.
+ *
+ * Listeners are called on the thread making the request, after every attempt, so they must be thread-safe,
+ * cheap and must not throw.
+ */
+public interface TwilioMetricsListener {
+
+	/**
+	 * Called once an attempt has completed: its response body was read, or handed out as a stream, or it
+	 * failed with an I/O error.
+	 *
+	 * @param metrics the timings of the attempt
+	 */
+	void requestCompleted(RequestMetrics metrics);
+
+	/**
+	 * Called when a response body is parsed, which happens on the first call to {@link TwilioRestResponse#toMap()}.
+	 *
+	 * @param method the HTTP method of the request
+	 * @param path the normalized resource path, see {@link RequestMetrics#normalizePath(String)}
+	 * @param parseNanos the parse time in nanoseconds
+	 */
+	void responseParsed(String method, String path, long parseNanos);
+}
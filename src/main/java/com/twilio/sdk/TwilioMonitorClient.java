@@ -20,6 +20,16 @@ public class TwilioMonitorClient extends TwilioClient {
 		super(username, password, endpoint);
 	}
 
+	public TwilioMonitorClient(final String username, final String password, final String endpoint,
+	                           final TwilioClientConfig config) {
+		super(username, password, endpoint, config);
+	}
+
+	public TwilioMonitorClient(final String username, final String password, final String endpoint,
+	                           final TwilioTransport transport) {
+		super(username, password, endpoint, transport);
+	}
+
 	/**
 	 * Get an event instance by sid.
 	 *
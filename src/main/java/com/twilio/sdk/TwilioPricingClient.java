@@ -52,6 +52,32 @@ public class TwilioPricingClient extends TwilioClient {
         super(username, password, endpoint);
     }
 
+    /**
+     * Construct a new TwilioPricingClient with custom HTTP tuning.
+     *
+     * @param username Username for authentication. The 34 character Account identifier (starting with 'AC').
+     * @param password Password for authentication. The 32 character AuthToken.
+     * @param endpoint Custom Twilio pricing endpoint
+     * @param config the connection pool and HTTP settings
+     */
+    public TwilioPricingClient(final String username, final String password, String endpoint,
+                               final TwilioClientConfig config) {
+        super(username, password, endpoint, config);
+    }
+
+    /**
+     * Construct a new TwilioPricingClient sending its requests through a shared transport.
+     *
+     * @param username Username for authentication. The 34 character Account identifier (starting with 'AC').
+     * @param password Password for authentication. The 32 character AuthToken.
+     * @param endpoint Custom Twilio pricing endpoint
+     * @param transport the shared connection pool and HTTP client
+     */
+    public TwilioPricingClient(final String username, final String password, String endpoint,
+                               final TwilioTransport transport) {
+        super(username, password, endpoint, transport);
+    }
+
     /**
      * Get a list of objects representing countries where Twilio Voice
      * services are available.
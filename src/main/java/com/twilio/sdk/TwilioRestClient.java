@@ -20,7 +20,38 @@ public class TwilioRestClient extends TwilioClient {
 	}
 
 	public TwilioRestClient(final String username, final String password, String endpoint) {
-		super(username, password, endpoint);
+		this(username, password, endpoint, new TwilioClientConfig.Builder().build());
+	}
+
+	/**
+	 * Explicitly construct a TwilioRestClient with the given API credentials, endpoint and HTTP tuning.
+	 *
+	 * @param username the account sid
+	 * @param password the auth token
+	 * @param endpoint the url of API endpoint you wish to use. (e.g. - 'https://api.twilio.com')
+	 * @param config the connection pool and HTTP settings
+	 */
+	public TwilioRestClient(final String username, final String password, String endpoint,
+	                        final TwilioClientConfig config) {
+		super(username, password, endpoint, config);
+
+		authAccount = new Account(this);
+		authAccount.setSid(username);
+		authAccount.setAuthToken(password);
+	}
+
+	/**
+	 * Explicitly construct a TwilioRestClient with the given API credentials and endpoint, sending its requests
+	 * through a transport shared with the clients of other accounts.
+	 *
+	 * @param username the account sid
+	 * @param password the auth token
+	 * @param endpoint the url of API endpoint you wish to use. (e.g. - 'https://api.twilio.com')
+	 * @param transport the shared connection pool and HTTP client
+	 */
+	public TwilioRestClient(final String username, final String password, String endpoint,
+	                        final TwilioTransport transport) {
+		super(username, password, endpoint, transport);
 
 		authAccount = new Account(this);
 		authAccount.setSid(username);
@@ -3,10 +3,14 @@ package com.twilio.sdk;
 import com.twilio.sdk.parser.JsonResponseParser;
 import com.twilio.sdk.parser.ResponseParser;
 import com.twilio.sdk.parser.XmlResponseParser;
+import org.apache.http.Header;
+import org.apache.http.entity.ContentType;
+import org.apache.http.protocol.HTTP;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.Charset;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 // TODO: Auto-generated Javadoc
 /*
@@ -60,6 +64,25 @@ public class TwilioRestResponse {
 	/** The content type. */
 	private String contentType;
 
+	/** The compressed and decompressed body length, or -1 if the body was not compressed. */
+	private long compressedLength = -1;
+	private long decompressedLength = -1;
+
+	/** Receives the parse time, with the method and path of the request; the listener may be null. */
+	private TwilioMetricsListener metricsListener;
+	private String metricsMethod;
+	private String metricsPath;
+
+	/** The response headers. */
+	private Header[] headers;
+
+	/** The parsed response body, populated on the first call to {@link #toMap()}. */
+	private volatile Map<String, Object> parsedBody;
+
+	/** Shared parsers, which are stateless and safe to use from many threads. */
+	private static final ResponseParser JSON_PARSER = new JsonResponseParser();
+	private static final ResponseParser XML_PARSER = new XmlResponseParser();
+
 	/**
 	 * Instantiates a new twilio rest response.
 	 *
@@ -68,16 +91,32 @@ public class TwilioRestResponse {
 	 * @param status the status
 	 */
 	public TwilioRestResponse(final String url, final String text, final int status) {
-		Pattern p = Pattern.compile("([^?]+)\\??(.*)");
-		Matcher m = p.matcher(url);
-		m.matches();
-		this.url = m.group(1);
-		queryString = m.group(2);
+		int query = url.indexOf('?');
+		this.url = query < 0 ? url : url.substring(0, query);
+		queryString = query < 0 ? "" : url.substring(query + 1);
 		responseText = text;
 		httpStatus = status;
 		error = (status >= 400);
 	}
 
+	/**
+	 * Copies a response, apart from its parsed body, so the copy can be handed to a caller without sharing state.
+	 *
+	 * @return the copy
+	 */
+	TwilioRestResponse copy() {
+		TwilioRestResponse copy = new TwilioRestResponse(url, responseText, httpStatus);
+		copy.queryString = queryString;
+		copy.error = error;
+		copy.contentType = contentType;
+		copy.compressedLength = compressedLength;
+		copy.decompressedLength = decompressedLength;
+		copy.metricsListener = metricsListener;
+		copy.metricsMethod = metricsMethod;
+		copy.metricsPath = metricsPath;
+		copy.headers = headers == null ? null : headers.clone();
+		return copy;
+	}
 
 	/**
 	 * Get the raw response body as a String
@@ -88,6 +127,24 @@ public class TwilioRestResponse {
 		return responseText;
 	}
 
+	/**
+	 * Get the raw response body as a stream of the bytes it was decoded from, encoded again in the charset of the
+	 * content type, or ISO-8859-1 when the content type names none.
+	 *
+	 * @return the response body
+	 */
+	public InputStream getResponseStream() {
+		Charset charset = null;
+		if (contentType != null) {
+			try {
+				charset = ContentType.parse(contentType).getCharset();
+			} catch (final RuntimeException e) {
+				// Fall back to the default charset
+			}
+		}
+		return new ByteArrayInputStream(responseText.getBytes(charset != null ? charset : HTTP.DEF_CONTENT_CHARSET));
+	}
+
 	/**
 	 * Sets the response text.
 	 *
@@ -95,6 +152,7 @@ public class TwilioRestResponse {
 	 */
 	public void setResponseText(final String responseText) {
 		this.responseText = responseText;
+		this.parsedBody = null;
 	}
 
 	/**
@@ -194,6 +252,82 @@ public class TwilioRestResponse {
 	 */
 	public void setContentType(final String contentType) {
 		this.contentType = contentType;
+		this.parsedBody = null;
+	}
+
+	/**
+	 * Sets the response headers.
+	 *
+	 * @param headers the response headers
+	 */
+	public void setHeaders(final Header[] headers) {
+		this.headers = headers;
+	}
+
+	/**
+	 * Sets the listener told how long parsing the body takes.
+	 *
+	 * @param listener the metrics listener
+	 * @param method the HTTP method of the request
+	 * @param path the normalized resource path of the request
+	 */
+	void setMetricsListener(final TwilioMetricsListener listener, final String method, final String path) {
+		this.metricsListener = listener;
+		this.metricsMethod = method;
+		this.metricsPath = path;
+	}
+
+	/**
+	 * Gets the value of the first response header with the given name, ignoring case.
+	 *
+	 * @param name the header name
+	 * @return the header value, or null if the response has no such header
+	 */
+	public String getHeader(final String name) {
+		if (headers != null) {
+			for (final Header h : headers) {
+				if (h.getName().equalsIgnoreCase(name)) {
+					return h.getValue();
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Gets the number of body bytes received, if the body was compressed.
+	 *
+	 * @return the compressed body length, or -1 if the body was not compressed
+	 */
+	public long getCompressedLength() {
+		return compressedLength;
+	}
+
+	/**
+	 * Sets the compressed body length.
+	 *
+	 * @param compressedLength the compressed body length
+	 */
+	public void setCompressedLength(final long compressedLength) {
+		this.compressedLength = compressedLength;
+	}
+
+	/**
+	 * Gets the number of body bytes after decompression, if the body was compressed.
+	 *
+	 * @return the decompressed body length, or -1 if the body was not compressed
+	 */
+	public long getDecompressedLength() {
+		return decompressedLength;
+	}
+
+	/**
+	 * Sets the decompressed body length.
+	 *
+	 * @param decompressedLength the decompressed body length
+	 */
+	public void setDecompressedLength(final long decompressedLength) {
+		this.decompressedLength = decompressedLength;
 	}
 
 	/**
@@ -223,9 +357,9 @@ public class TwilioRestResponse {
 	 */
 	public ResponseParser getParser() {
 		if (isJson()) {
-			return new JsonResponseParser();
+			return JSON_PARSER;
 		} else if (isXml()) {
-			return new XmlResponseParser();
+			return XML_PARSER;
 		}
 
 		throw new UnsupportedOperationException(contentType
@@ -235,14 +369,23 @@ public class TwilioRestResponse {
 	/**
 	 * Helper method to convert the response to a canonical object map. This
 	 * method will use the appropriate parser to map the response body to a Map
-	 * of elements.
+	 * of elements. The body is parsed once and the same Map is returned on
+	 * subsequent calls, so callers must copy it before modifying it.
 	 *
 	 * @return a normalized Map of objects. Repeated elements are List values,
 	 *         sub-objects are Map values. All other types are String values.
 	 */
 	public Map<String, Object> toMap() {
-		ResponseParser parser = getParser();
-		return parser.parse(this);
+		Map<String, Object> body = parsedBody;
+		if (body == null) {
+			long start = System.nanoTime();
+			body = getParser().parse(this);
+			parsedBody = body;
+			if (metricsListener != null) {
+				metricsListener.responseParsed(metricsMethod, metricsPath, System.nanoTime() - start);
+			}
+		}
+		return body;
 	}
 
 }
@@ -42,6 +42,16 @@ public class TwilioTaskRouterClient extends TwilioClient {
 		super(username, password, endpoint);
 	}
 
+	public TwilioTaskRouterClient(final String username, final String password, final String endpoint,
+	                              final TwilioClientConfig config) {
+		super(username, password, endpoint, config);
+	}
+
+	public TwilioTaskRouterClient(final String username, final String password, final String endpoint,
+	                              final TwilioTransport transport) {
+		super(username, password, endpoint, transport);
+	}
+
 	/**
 	 * Create an {@link com.twilio.sdk.resource.instance.taskrouter.Activity}.
 	 *
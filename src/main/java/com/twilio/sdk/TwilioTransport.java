@@ -0,0 +1,191 @@
+package com.twilio.sdk;
+
+import org.apache.http.HttpConnection;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.HttpClient;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.protocol.ExecutionContext;
+import org.apache.http.protocol.HttpContext;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The HTTP transport underneath a {@link TwilioClient}: the connection pool, the HTTP client and its TLS sessions,
+ * and the retry policy, rate limiter, circuit breaker and metrics listener of its configuration. Credentials are
+ * not part of the transport but are sent by each client with every request, so that a single transport can be
+ * shared by any number of clients for different accounts, keeping one pool of connections per host.
+ *
+ * <pre>
+ * TwilioTransport transport = new TwilioTransport(new TwilioClientConfig.Builder()
+ *     .maxConnectionsPerRoute(50)
+ *     .build());
+ * TwilioRestClient first = new TwilioRestClient(firstSid, firstToken, null, transport);
+ * TwilioRestClient second = new TwilioRestClient(secondSid, secondToken, null, transport);
+ * </pre>
+ */
+public class TwilioTransport {
+
+	/** The timings of the attempt being executed on this thread, for the timing interceptor. */
+	static final ThreadLocal<RequestMetrics> CURRENT_METRICS = new ThreadLocal<RequestMetrics>();
+
+	/** Records connect and first byte times of the attempt executing on the current thread. */
+	private static final TimingInterceptor TIMING_INTERCEPTOR = new TimingInterceptor();
+
+	/** The HTTP tuning of this transport. */
+	private final TwilioClientConfig config;
+
+	/** The connection manager pooling connections of all clients. */
+	private final ClientConnectionManager connectionManager;
+
+	/** The httpclient shared by all clients. */
+	private final HttpClient httpclient;
+
+	/** The executor used to run asynchronous requests, created on first use. */
+	private ExecutorService asyncExecutor;
+
+	/**
+	 * Construct a transport with the default HTTP tuning.
+	 */
+	public TwilioTransport() {
+		this(new TwilioClientConfig.Builder().build());
+	}
+
+	/**
+	 * Construct a transport with the given HTTP tuning.
+	 *
+	 * @param config the connection pool and HTTP settings
+	 */
+	public TwilioTransport(final TwilioClientConfig config) {
+		if (config == null) {
+			throw new IllegalArgumentException("config is required.");
+		}
+		this.config = config;
+
+		//Grab the proper connection manager, based on runtime environment
+		ClientConnectionManager mgr;
+		try {
+			Class.forName("com.google.appengine.api.urlfetch.HTTPRequest");
+			mgr = new AppEngineClientConnectionManager();
+		} catch (final ClassNotFoundException e) {
+			//Not GAE
+			mgr = new PoolingClientConnectionManager();
+			((PoolingClientConnectionManager) mgr).setMaxTotal(config.getMaxConnectionsTotal());
+			((PoolingClientConnectionManager) mgr).setDefaultMaxPerRoute(config.getMaxConnectionsPerRoute());
+
+			if (config.getIdleConnectionTimeout() > 0) {
+				IdleConnectionReaper.register(mgr, config.getIdleConnectionTimeout());
+			}
+		}
+		this.connectionManager = mgr;
+
+		DefaultHttpClient client = new DefaultHttpClient(mgr);
+		client.addRequestInterceptor(TIMING_INTERCEPTOR);
+		client.addResponseInterceptor(TIMING_INTERCEPTOR, 0);
+		if (config.getKeepAlive() > 0) {
+			client.setKeepAliveStrategy(new CappedKeepAliveStrategy(config.getKeepAlive()));
+		}
+
+		client.getParams().setParameter("http.protocol.version", HttpVersion.HTTP_1_1);
+		client.getParams().setParameter("http.socket.timeout", new Integer(config.getReadTimeout()));
+		client.getParams().setParameter("http.connection.timeout", new Integer(config.getConnectionTimeout()));
+		client.getParams().setParameter("http.connection.stalecheck", config.isStaleConnectionCheck());
+		client.getParams().setParameter("http.tcp.nodelay", config.isTcpNoDelay());
+		client.getParams().setParameter("http.protocol.content-charset", "UTF-8");
+		this.httpclient = client;
+	}
+
+	/**
+	 * Gets the HTTP tuning of this transport.
+	 *
+	 * @return the transport config
+	 */
+	public TwilioClientConfig getConfig() {
+		return config;
+	}
+
+	/**
+	 * Gets the HTTP client shared by the clients built on this transport.
+	 *
+	 * @return the http client
+	 */
+	public HttpClient getHttpClient() {
+		return httpclient;
+	}
+
+	/**
+	 * Gets the executor used to run asynchronous requests of clients that have none of their own. A pool of daemon
+	 * threads sized by {@link TwilioClientConfig#getAsyncThreads()} is created on first use.
+	 *
+	 * @return the async executor
+	 */
+	public synchronized ExecutorService getAsyncExecutor() {
+		if (asyncExecutor == null) {
+			asyncExecutor = Executors.newFixedThreadPool(config.getAsyncThreads(), new DaemonThreadFactory("async"));
+		}
+		return asyncExecutor;
+	}
+
+	/**
+	 * Closes all pooled connections and stops the default async executor. Clients built on this transport can not
+	 * be used afterwards.
+	 */
+	public void shutdown() {
+		synchronized (this) {
+			if (asyncExecutor != null) {
+				asyncExecutor.shutdown();
+			}
+		}
+		connectionManager.shutdown();
+	}
+
+	/**
+	 * Request interceptors run once a connection has been leased and opened, and response interceptors once the
+	 * response headers have arrived, which marks the connect and first byte times of an attempt.
+	 */
+	private static class TimingInterceptor implements HttpRequestInterceptor, HttpResponseInterceptor {
+
+		public void process(final HttpRequest request, final HttpContext context) {
+			RequestMetrics metrics = CURRENT_METRICS.get();
+			if (metrics != null && metrics.connectedNanos < 0) {
+				metrics.connectedNanos = System.nanoTime();
+				Object connection = context.getAttribute(ExecutionContext.HTTP_CONNECTION);
+				metrics.connectionReused = connection instanceof HttpConnection
+				                           && ((HttpConnection) connection).getMetrics().getRequestCount() > 0;
+			}
+		}
+
+		public void process(final HttpResponse response, final HttpContext context) {
+			RequestMetrics metrics = CURRENT_METRICS.get();
+			if (metrics != null && metrics.firstByteNanos < 0) {
+				metrics.firstByteNanos = System.nanoTime();
+			}
+		}
+	}
+
+	/**
+	 * Keeps connections alive for as long as the server's Keep-Alive header allows, but never longer than the
+	 * configured limit.
+	 */
+	private static class CappedKeepAliveStrategy extends DefaultConnectionKeepAliveStrategy {
+
+		private final long maxKeepAlive;
+
+		CappedKeepAliveStrategy(final long maxKeepAlive) {
+			this.maxKeepAlive = maxKeepAlive;
+		}
+
+		@Override
+		public long getKeepAliveDuration(final HttpResponse response, final HttpContext context) {
+			long duration = super.getKeepAliveDuration(response, context);
+			return duration > 0 ? Math.min(duration, maxKeepAlive) : maxKeepAlive;
+		}
+	}
+}
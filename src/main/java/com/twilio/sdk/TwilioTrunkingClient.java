@@ -22,6 +22,14 @@ public class TwilioTrunkingClient extends TwilioClient {
 		super(username, password, endpoint);
 	}
 
+	public TwilioTrunkingClient(String username, String password, String endpoint, TwilioClientConfig config) {
+		super(username, password, endpoint, config);
+	}
+
+	public TwilioTrunkingClient(String username, String password, String endpoint, TwilioTransport transport) {
+		super(username, password, endpoint, transport);
+	}
+
 	/**
 	 * Get the trunks for a set of filters
 	 *
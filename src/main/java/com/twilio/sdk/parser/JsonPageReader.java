@@ -0,0 +1,156 @@
+package com.twilio.sdk.parser;
+
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.map.ObjectReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads a JSON list page straight from the response stream, decoding one list element at a time.
+ *
+ * Only the element being returned is materialized; the page body is never held as a String or a tree.
+ * Scalar top level properties (paging information such as "next_page_uri") are collected as they are
+ * passed, and are complete once the list is exhausted.
+ */
+public class JsonPageReader implements Closeable {
+
+	/** The mapper shared by all readers, used for its parser factory and to decode single elements. */
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	/** The reader decoding one list element. ObjectReader is immutable and thread-safe. */
+	private static final ObjectReader ELEMENT_READER = MAPPER.reader(HashMap.class);
+
+	/** The parser. */
+	private final JsonParser parser;
+
+	/** The key of the list in the page. */
+	private final String listKey;
+
+	/** The scalar top level properties seen so far. */
+	private final Map<String, Object> properties = new HashMap<String, Object>();
+
+	/** Whether the parser is positioned inside the list. */
+	private boolean inList;
+
+	/** Whether the end of the page has been reached. */
+	private boolean done;
+
+	/**
+	 * Instantiates a new json page reader.
+	 *
+	 * @param in the response body
+	 * @param listKey the key of the list in the page, e.g. "calls"
+	 * @throws IOException if the body cannot be read or is not a JSON object
+	 */
+	public JsonPageReader(final InputStream in, final String listKey) throws IOException {
+		this.parser = MAPPER.getJsonFactory().createJsonParser(in);
+		this.listKey = listKey;
+
+		if (parser.nextToken() != JsonToken.START_OBJECT) {
+			parser.close();
+			throw new IOException("Expected a JSON object for the list page");
+		}
+	}
+
+	/**
+	 * Decodes the next element of the list.
+	 *
+	 * @return the element properties, or null once the list is exhausted
+	 * @throws IOException if the body cannot be read
+	 */
+	@SuppressWarnings("unchecked")
+	public Map<String, Object> nextElement() throws IOException {
+		while (!done) {
+			if (inList) {
+				JsonToken token = parser.nextToken();
+				if (token == JsonToken.END_ARRAY || token == null) {
+					inList = false;
+				} else if (token == JsonToken.START_OBJECT) {
+					return ELEMENT_READER.readValue(parser);
+				} else {
+					parser.skipChildren();
+				}
+				continue;
+			}
+
+			JsonToken token = parser.nextToken();
+			if (token == JsonToken.END_OBJECT || token == null) {
+				done = true;
+				break;
+			}
+
+			String name = parser.getCurrentName();
+			token = parser.nextToken();
+
+			if (listKey.equals(name) && token == JsonToken.START_ARRAY) {
+				inList = true;
+			} else if (listKey.equals(name) && token == JsonToken.START_OBJECT) {
+				// Some filters on lists return only one element, wrapped in an object
+				Map<String, Object> wrapper = ELEMENT_READER.readValue(parser);
+				if (!wrapper.isEmpty()) {
+					Object element = wrapper.values().iterator().next();
+					if (element instanceof Map) {
+						return (Map<String, Object>) element;
+					}
+				}
+			} else if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+				parser.skipChildren();
+			} else {
+				properties.put(name, scalarValue(token));
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Gets the scalar top level properties of the page, reading past any remaining list elements.
+	 *
+	 * @return the page properties
+	 * @throws IOException if the body cannot be read
+	 */
+	public Map<String, Object> getPageProperties() throws IOException {
+		while (nextElement() != null) {
+			// drain the remaining elements
+		}
+		return properties;
+	}
+
+	/**
+	 * Closes the underlying stream.
+	 *
+	 * @throws IOException if the stream cannot be closed
+	 */
+	public void close() throws IOException {
+		parser.close();
+	}
+
+	/**
+	 * Converts the current scalar token to the value JsonResponseParser would produce for it.
+	 *
+	 * @param token the current token
+	 * @return the value
+	 * @throws IOException if the value cannot be read
+	 */
+	private Object scalarValue(final JsonToken token) throws IOException {
+		switch (token) {
+		case VALUE_STRING:
+			return parser.getText();
+		case VALUE_NUMBER_INT:
+		case VALUE_NUMBER_FLOAT:
+			return parser.getNumberValue();
+		case VALUE_TRUE:
+			return Boolean.TRUE;
+		case VALUE_FALSE:
+			return Boolean.FALSE;
+		default:
+			return null;
+		}
+	}
+}
@@ -4,6 +4,7 @@ import com.twilio.sdk.TwilioRestResponse;
 import org.codehaus.jackson.JsonParseException;
 import org.codehaus.jackson.map.JsonMappingException;
 import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.map.ObjectReader;
 
 import java.io.IOException;
 import java.util.HashMap;
@@ -14,6 +15,10 @@ import java.util.Map;
  * The Class JsonResponseParser.
  */
 public class JsonResponseParser implements ResponseParser {
+
+	/** The reader shared by all instances. ObjectReader is immutable and thread-safe. */
+	private static final ObjectReader READER = new ObjectMapper().reader(HashMap.class);
+
 	public Map<String, Object> parse(TwilioRestResponse response) {		
 		return this.parseJson(response.getResponseText());
 	}
@@ -29,7 +34,7 @@ public class JsonResponseParser implements ResponseParser {
 		Map<String, Object> ret = new HashMap<String, Object>();
 
 		try {
-			ret = new ObjectMapper().readValue(jsonString, HashMap.class);
+			ret = READER.readValue(jsonString);
 		} catch (JsonParseException e) {
 			// TODO Auto-generated catch block
 			e.printStackTrace();
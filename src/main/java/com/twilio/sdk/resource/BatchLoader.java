@@ -0,0 +1,287 @@
+package com.twilio.sdk.resource;
+
+import com.twilio.sdk.DaemonThreadFactory;
+import com.twilio.sdk.TwilioRestException;
+import com.twilio.sdk.resource.instance.Account;
+import com.twilio.sdk.resource.instance.Call;
+import com.twilio.sdk.resource.instance.Message;
+import com.twilio.sdk.resource.instance.Recording;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads many instance resources by sid concurrently, e.g. to enrich the sids received by webhooks.
+ *
+ * At most {@code parallelism} resources are requested at once, the calling thread being one of the loaders.
+ * Results come back in the order of the sids, and a resource that cannot be loaded yields a failed result instead
+ * of failing the batch.
+ *
+ * <pre>
+ * List&lt;BatchLoader.Result&lt;Call&gt;&gt; calls = new BatchLoader.Builder().parallelism(16).build()
+ *     .loadCalls(client.getAccount(), callSids);
+ * for (BatchLoader.Result&lt;Call&gt; call : calls) {
+ *     if (call.isSuccess()) {
+ *         System.out.println(call.getResource().getDuration());
+ *     }
+ * }
+ * </pre>
+ */
+public class BatchLoader {
+
+	/**
+	 * Creates the unloaded resource of a sid, e.g. with {@link Account#getCall(String)}.
+	 */
+	public interface Factory<T extends InstanceResource<?>> {
+
+		/**
+		 * Creates the resource.
+		 *
+		 * @param sid the sid
+		 * @return the unloaded resource
+		 */
+		T create(String sid);
+	}
+
+	/**
+	 * The outcome of loading one resource.
+	 */
+	public static class Result<T> {
+
+		private final String sid;
+
+		private final T resource;
+
+		private final Exception error;
+
+		Result(final String sid, final T resource, final Exception error) {
+			this.sid = sid;
+			this.resource = resource;
+			this.error = error;
+		}
+
+		/**
+		 * Gets the sid.
+		 *
+		 * @return the sid the resource was requested with
+		 */
+		public String getSid() {
+			return sid;
+		}
+
+		/**
+		 * Gets the loaded resource.
+		 *
+		 * @return the resource, or null if it could not be loaded
+		 */
+		public T getResource() {
+			return resource;
+		}
+
+		/**
+		 * Gets the reason the resource could not be loaded, usually a {@link TwilioRestException}, e.g. for a sid
+		 * that does not exist.
+		 *
+		 * @return the error, or null if the resource was loaded
+		 */
+		public Exception getError() {
+			return error;
+		}
+
+		/**
+		 * Checks whether the resource was loaded.
+		 *
+		 * @return true if the resource was loaded
+		 */
+		public boolean isSuccess() {
+			return error == null;
+		}
+	}
+
+	/** The default number of resources requested at once. */
+	public static final int DEFAULT_PARALLELISM = 8;
+
+	private final int parallelism;
+
+	private final Executor executor;
+
+	private BatchLoader(final Builder b) {
+		this.parallelism = b.parallelism;
+		this.executor = b.executor;
+	}
+
+	/**
+	 * Loads calls of an account.
+	 *
+	 * @param account the account
+	 * @param sids the call sids
+	 * @return the results, in the order of the sids
+	 */
+	public List<Result<Call>> loadCalls(final Account account, final Collection<String> sids) {
+		return load(sids, new Factory<Call>() {
+			public Call create(final String sid) {
+				return account.getCall(sid);
+			}
+		});
+	}
+
+	/**
+	 * Loads messages of an account.
+	 *
+	 * @param account the account
+	 * @param sids the message sids
+	 * @return the results, in the order of the sids
+	 */
+	public List<Result<Message>> loadMessages(final Account account, final Collection<String> sids) {
+		return load(sids, new Factory<Message>() {
+			public Message create(final String sid) {
+				return account.getMessage(sid);
+			}
+		});
+	}
+
+	/**
+	 * Loads recordings of an account.
+	 *
+	 * @param account the account
+	 * @param sids the recording sids
+	 * @return the results, in the order of the sids
+	 */
+	public List<Result<Recording>> loadRecordings(final Account account, final Collection<String> sids) {
+		return load(sids, new Factory<Recording>() {
+			public Recording create(final String sid) {
+				return account.getRecording(sid);
+			}
+		});
+	}
+
+	/**
+	 * Loads the resources of the sids, and waits until all of them are loaded or failed.
+	 *
+	 * @param sids the sids
+	 * @param factory creates the resource of a sid
+	 * @return the results, in the order of the sids
+	 */
+	public <T extends InstanceResource<?>> List<Result<T>> load(final Collection<String> sids,
+	                                                            final Factory<T> factory) {
+		final String[] pending = sids.toArray(new String[sids.size()]);
+		if (pending.length == 0) {
+			return Collections.emptyList();
+		}
+		// Each index is set by one loader, and read only once all of them are done
+		final List<Result<T>> results = new ArrayList<Result<T>>(Collections.<Result<T>>nCopies(pending.length, null));
+
+		final AtomicInteger next = new AtomicInteger();
+		final Runnable loader = new Runnable() {
+			public void run() {
+				int i;
+				while ((i = next.getAndIncrement()) < pending.length) {
+					results.set(i, loadOne(pending[i], factory));
+				}
+			}
+		};
+
+		int helpers = Math.min(parallelism, pending.length) - 1;
+		ExecutorService ownExecutor = null;
+		Executor workers = executor;
+		if (helpers > 0 && workers == null) {
+			ownExecutor = newWorkers(helpers);
+			workers = ownExecutor;
+		}
+
+		final CountDownLatch done = new CountDownLatch(helpers);
+		try {
+			for (int h = 0; h < helpers; h++) {
+				try {
+					workers.execute(new Runnable() {
+						public void run() {
+							try {
+								loader.run();
+							} finally {
+								done.countDown();
+							}
+						}
+					});
+				} catch (final RejectedExecutionException e) {
+					// The remaining loaders take over its share
+					done.countDown();
+				}
+			}
+			loader.run();
+			awaitUninterruptibly(done);
+		} finally {
+			if (ownExecutor != null) {
+				ownExecutor.shutdown();
+			}
+		}
+
+		return results;
+	}
+
+	private static <T extends InstanceResource<?>> Result<T> loadOne(final String sid, final Factory<T> factory) {
+		try {
+			T resource = factory.create(sid);
+			resource.loadIfNecessary();
+			return new Result<T>(sid, resource, null);
+		} catch (final Exception e) {
+			return new Result<T>(sid, null, e);
+		}
+	}
+
+	private static void awaitUninterruptibly(final CountDownLatch latch) {
+		boolean interrupted = false;
+		while (true) {
+			try {
+				latch.await();
+				break;
+			} catch (final InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static ExecutorService newWorkers(final int threads) {
+		return Executors.newFixedThreadPool(threads, new DaemonThreadFactory("batch-loader"));
+	}
+
+	/** Builder used to construct a BatchLoader */
+	public static class Builder {
+		private int parallelism = DEFAULT_PARALLELISM;
+		private Executor executor;
+
+		/**
+		 * Sets the number of resources requested at once, counting the calling thread.
+		 */
+		public Builder parallelism(int parallelism) {
+			if (parallelism < 1) {
+				throw new IllegalArgumentException("parallelism must be at least 1");
+			}
+			this.parallelism = parallelism;
+			return this;
+		}
+
+		/**
+		 * Sets the executor running the loads besides the calling thread; by default each batch starts
+		 * {@code parallelism - 1} daemon threads.
+		 */
+		public Builder executor(Executor executor) {
+			this.executor = executor;
+			return this;
+		}
+
+		public BatchLoader build() {
+			return new BatchLoader(this);
+		}
+	}
+}
@@ -0,0 +1,16 @@
+package com.twilio.sdk.resource;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * An iterator holding resources, such as an open response stream, that must be released if it is not
+ * consumed to the end. Iterators close themselves once exhausted.
+ */
+public interface CloseableIterator<T> extends Iterator<T>, Closeable {
+
+	/**
+	 * Releases the resources held by this iterator. Further calls to hasNext() return false.
+	 */
+	public void close();
+}
@@ -0,0 +1,384 @@
+package com.twilio.sdk.resource;
+
+import com.twilio.sdk.DaemonThreadFactory;
+import com.twilio.sdk.resource.instance.Account;
+import com.twilio.sdk.resource.instance.Call;
+import com.twilio.sdk.resource.instance.Message;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.time.FastDateFormat;
+
+/**
+ * Exports a list over a date range by splitting the range into day-aligned partitions and scanning each
+ * partition with its own list, concurrently.
+ *
+ * Paging through a list is serial, so a single scan cannot go faster than one page per round trip. Each
+ * partition here is an independent list filtered on {@code <field>>=} and {@code <field><=}, so partitions
+ * page in parallel. Results are merged either in partition order, i.e. in the order of the date ranges, or
+ * in whatever order they arrive. Every partition buffers at most {@code bufferSize} resources, so a slow
+ * consumer holds back the scans rather than filling the heap.
+ *
+ * A scan blocks while its partition's buffer is full, so by default each export starts one daemon thread per
+ * partition rather than occupy a shared pool. Partition tasks are submitted in order, and in ordered mode a
+ * partition waits for the consumer once its buffer is full; an executor given instead should therefore run tasks
+ * in submission order, as the standard thread pools do.
+ *
+ * @param <T> the resource type
+ */
+public abstract class DateRangeExporter<T extends Resource<?>> {
+
+	/**
+	 * Receives exported resources.
+	 *
+	 * @param <T> the resource type
+	 */
+	public interface Sink<T> {
+
+		/**
+		 * Called for each exported resource, from the exporting thread.
+		 *
+		 * @param resource the resource
+		 */
+		void accept(T resource);
+	}
+
+	/** The filter date format, days in UTC. */
+	private static final FastDateFormat DAY_FORMAT = FastDateFormat.getInstance("yyyy-MM-dd", Resource.UTC);
+
+	private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+	/** The default number of resources buffered per partition. */
+	private static final int DEFAULT_BUFFER_SIZE = 1000;
+
+	/** Marks the end of a partition in its queue. */
+	private static final Object END_OF_PARTITION = new Object();
+
+	private final Map<String, String> filters;
+	private final String dateField;
+	private final long firstDay;
+	private final int partitions;
+	private final int daysPerPartition;
+	private final int extraDays;
+
+	private Executor executor;
+	private boolean ordered = true;
+	private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+	/**
+	 * Instantiates a new date range exporter.
+	 *
+	 * @param filters the list filters, without the date range
+	 * @param dateField the name of the date filter, e.g. "StartTime"
+	 * @param from the first day of the range, inclusive
+	 * @param to the last day of the range, inclusive
+	 * @param partitions the number of partitions; capped to the number of days in the range
+	 * @param executor the executor scanning the partitions, or null to start a thread per partition
+	 */
+	protected DateRangeExporter(final Map<String, String> filters, final String dateField, final Date from,
+	                            final Date to, final int partitions, final Executor executor) {
+		if (from.after(to)) {
+			throw new IllegalArgumentException("from must not be after to");
+		}
+		if (partitions < 1) {
+			throw new IllegalArgumentException("partitions must be at least 1");
+		}
+
+		this.filters = filters == null ? new HashMap<String, String>() : new HashMap<String, String>(filters);
+		this.dateField = dateField;
+		this.firstDay = from.getTime() / DAY_MILLIS;
+		this.executor = executor;
+
+		int days = (int) (to.getTime() / DAY_MILLIS - firstDay) + 1;
+		this.partitions = Math.min(partitions, days);
+		this.daysPerPartition = days / this.partitions;
+		this.extraDays = days % this.partitions;
+
+		// Drop any date filter on the field, each partition sets its own range
+		Iterator<String> keys = this.filters.keySet().iterator();
+		while (keys.hasNext()) {
+			if (keys.next().startsWith(dateField)) {
+				keys.remove();
+			}
+		}
+	}
+
+	/**
+	 * Creates an exporter of the calls of an account, partitioned on StartTime.
+	 *
+	 * @param account the account
+	 * @param filters additional call filters
+	 * @param from the first day of the range, inclusive
+	 * @param to the last day of the range, inclusive
+	 * @param partitions the number of partitions
+	 * @return the exporter
+	 */
+	public static DateRangeExporter<Call> calls(final Account account, final Map<String, String> filters,
+	                                            final Date from, final Date to, final int partitions) {
+		return new DateRangeExporter<Call>(filters, "StartTime", from, to, partitions, null) {
+			@Override
+			protected ListResource<Call, ?> createList(final Map<String, String> partitionFilters) {
+				return account.getCalls(partitionFilters);
+			}
+		};
+	}
+
+	/**
+	 * Creates an exporter of the messages of an account, partitioned on DateSent.
+	 *
+	 * @param account the account
+	 * @param filters additional message filters
+	 * @param from the first day of the range, inclusive
+	 * @param to the last day of the range, inclusive
+	 * @param partitions the number of partitions
+	 * @return the exporter
+	 */
+	public static DateRangeExporter<Message> messages(final Account account, final Map<String, String> filters,
+	                                                  final Date from, final Date to, final int partitions) {
+		return new DateRangeExporter<Message>(filters, "DateSent", from, to, partitions, null) {
+			@Override
+			protected ListResource<Message, ?> createList(final Map<String, String> partitionFilters) {
+				return account.getMessages(partitionFilters);
+			}
+		};
+	}
+
+	/**
+	 * Creates the list scanning one partition.
+	 *
+	 * @param partitionFilters the filters of the partition, including its date range
+	 * @return the list
+	 */
+	protected abstract ListResource<T, ?> createList(Map<String, String> partitionFilters);
+
+	/**
+	 * Sets the executor scanning the partitions. It should not be shared with requests that must not wait, such
+	 * as the client's async executor, as scans block while the consumer is behind.
+	 *
+	 * @param executor the executor, or null to start a thread per partition for each export
+	 */
+	public void setExecutor(final Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Sets whether resources are returned in partition order (the default) or as they arrive.
+	 *
+	 * @param ordered true to keep partition order
+	 */
+	public void setOrdered(final boolean ordered) {
+		this.ordered = ordered;
+	}
+
+	/**
+	 * Sets the number of resources buffered per partition.
+	 *
+	 * @param bufferSize the buffer size
+	 */
+	public void setBufferSize(final int bufferSize) {
+		if (bufferSize < 1) {
+			throw new IllegalArgumentException("bufferSize must be at least 1");
+		}
+		this.bufferSize = bufferSize;
+	}
+
+	/**
+	 * Gets the number of partitions.
+	 *
+	 * @return the number of partitions
+	 */
+	public int getPartitions() {
+		return partitions;
+	}
+
+	/**
+	 * Gets the filters used to scan one partition.
+	 *
+	 * @param partition the partition index
+	 * @return the filters, including the date range of the partition
+	 */
+	public Map<String, String> getPartitionFilters(final int partition) {
+		long start = firstDay + (long) partition * daysPerPartition + Math.min(partition, extraDays);
+		long end = start + daysPerPartition - 1 + (partition < extraDays ? 1 : 0);
+
+		Map<String, String> partitionFilters = new HashMap<String, String>(filters);
+		partitionFilters.put(dateField + ">=", DAY_FORMAT.format(new Date(start * DAY_MILLIS)));
+		partitionFilters.put(dateField + "<=", DAY_FORMAT.format(new Date(end * DAY_MILLIS)));
+		return partitionFilters;
+	}
+
+	/**
+	 * Starts scanning all partitions and returns the merged results. The iterator should be closed if it is
+	 * abandoned before the end, which stops the scans.
+	 *
+	 * @return the merged iterator
+	 */
+	public CloseableIterator<T> iterator() {
+		MergingIterator iterator = new MergingIterator();
+		iterator.start();
+		return iterator;
+	}
+
+	/**
+	 * Scans all partitions and hands every resource to the sink, returning once the export is complete.
+	 *
+	 * @param sink the sink
+	 * @return the number of exported resources
+	 */
+	public long export(final Sink<T> sink) {
+		CloseableIterator<T> iterator = iterator();
+		long count = 0;
+		try {
+			while (iterator.hasNext()) {
+				sink.accept(iterator.next());
+				count++;
+			}
+		} finally {
+			iterator.close();
+		}
+		return count;
+	}
+
+	private static ExecutorService newScanners(final int threads) {
+		return Executors.newFixedThreadPool(threads, new DaemonThreadFactory("exporter"));
+	}
+
+	/**
+	 * Carries a partition failure to the consumer.
+	 */
+	private static class Failure {
+
+		private final RuntimeException exception;
+
+		Failure(final RuntimeException exception) {
+			this.exception = exception;
+		}
+	}
+
+	private class MergingIterator implements CloseableIterator<T> {
+
+		private final List<BlockingQueue<Object>> queues = new ArrayList<BlockingQueue<Object>>();
+		private volatile boolean closed;
+		private int queueIndex;
+		private int finishedPartitions;
+		private Object nextElement;
+
+		void start() {
+			Executor scanners = executor;
+			ExecutorService ownScanners = null;
+			if (scanners == null) {
+				ownScanners = newScanners(partitions);
+				scanners = ownScanners;
+			}
+
+			BlockingQueue<Object> shared = ordered ? null : new ArrayBlockingQueue<Object>(bufferSize * partitions);
+			for (int i = 0; i < partitions; i++) {
+				final BlockingQueue<Object> queue = ordered ? new ArrayBlockingQueue<Object>(bufferSize) : shared;
+				final Map<String, String> partitionFilters = getPartitionFilters(i);
+				if (ordered || i == 0) {
+					queues.add(queue);
+				}
+
+				scanners.execute(new Runnable() {
+					public void run() {
+						scan(partitionFilters, queue);
+					}
+				});
+			}
+
+			if (ownScanners != null) {
+				// The threads end with their scans
+				ownScanners.shutdown();
+			}
+		}
+
+		private void scan(final Map<String, String> partitionFilters, final BlockingQueue<Object> queue) {
+			try {
+				Iterator<T> resources = createList(partitionFilters).iterator();
+				while (!closed && resources.hasNext()) {
+					if (!put(queue, resources.next())) {
+						return;
+					}
+				}
+			} catch (final RuntimeException e) {
+				put(queue, new Failure(e));
+			}
+			put(queue, END_OF_PARTITION);
+		}
+
+		private boolean put(final BlockingQueue<Object> queue, final Object element) {
+			try {
+				while (!closed) {
+					if (queue.offer(element, 100, TimeUnit.MILLISECONDS)) {
+						return true;
+					}
+				}
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return false;
+		}
+
+		public boolean hasNext() {
+			while (nextElement == null && !closed && finishedPartitions < partitions) {
+				Object element;
+				try {
+					element = queues.get(queueIndex).take();
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+					close();
+					throw new RuntimeException(e);
+				}
+
+				if (element == END_OF_PARTITION) {
+					finishedPartitions++;
+					if (ordered && queueIndex < queues.size() - 1) {
+						queueIndex++;
+					}
+				} else if (element instanceof Failure) {
+					close();
+					throw ((Failure) element).exception;
+				} else {
+					nextElement = element;
+				}
+			}
+
+			return nextElement != null;
+		}
+
+		@SuppressWarnings("unchecked")
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			T element = (T) nextElement;
+			nextElement = null;
+			return element;
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		public void close() {
+			closed = true;
+			nextElement = null;
+			for (final BlockingQueue<Object> queue : queues) {
+				queue.clear();
+			}
+		}
+	}
+}
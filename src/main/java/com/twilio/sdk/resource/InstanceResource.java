@@ -1,10 +1,14 @@
 package com.twilio.sdk.resource;
 
 import java.text.ParseException;
+import java.util.Calendar;
 import java.util.Date;
+import java.util.GregorianCalendar;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.time.DateFormatUtils;
 import org.apache.commons.lang3.time.FastDateFormat;
@@ -33,8 +37,17 @@ public abstract class InstanceResource<C extends TwilioClient> extends Resource<
 	/** The Constant for friendly name */
 	protected static final String FRIENDLY_NAME_PROPERTY = "friendly_name";
 
-	/** The properties. */
-	private Map<String, Object> properties;
+	/**
+	 * Returned by typed accessors such as {@link #getDateMillis(String)} for a property that is missing, null or
+	 * cannot be decoded.
+	 */
+	public static final long NO_VALUE = PropertyDecoder.NO_VALUE;
+
+	/**
+	 * The properties, in slots shared by all instances of the class. Replaced as a whole when the resource is
+	 * loaded, and volatile so that threads sharing the resource see the loaded properties.
+	 */
+	private volatile PropertyMap properties;
 
 	/**
 	 * Instantiates a new instance resource.
@@ -65,7 +78,7 @@ public abstract class InstanceResource<C extends TwilioClient> extends Resource<
 	public InstanceResource(final C client, final Map<String, Object> properties, final Map<String, String> filters) {
 		super(client);
 
-		this.properties = properties == null ? new HashMap<String, Object>() : new HashMap<String, Object>(properties);
+		this.properties = new PropertyMap(PropertyMap.schemaFor(getClass()), properties);
 		this.filters = filters == null ? new HashMap<String, String>() : new HashMap<String, String>(filters);
 		setLoaded(!this.properties.isEmpty());
 	}
@@ -74,16 +87,32 @@ public abstract class InstanceResource<C extends TwilioClient> extends Resource<
 		Object prop = properties.get(name);
 
 		if (prop == null && !isLoaded()) {
-			try {
-				load(filters);
-				return properties.get(name);
-			} catch (TwilioRestException e) {
-				throw new RuntimeException(e);
-			}
+			loadOnce();
+			return properties.get(name);
 		}
 		return prop;
 	}
 
+	private void loadOnce() {
+		try {
+			loadIfNecessary();
+		} catch (TwilioRestException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Loads the resource unless another thread has loaded it meanwhile. Threads that need the resource while it is
+	 * being loaded wait for that request instead of sending their own; if it fails, the next thread tries again.
+	 *
+	 * @throws TwilioRestException if the resource cannot be loaded
+	 */
+	synchronized void loadIfNecessary() throws TwilioRestException {
+		if (!isLoaded()) {
+			load(filters);
+		}
+	}
+
 	/**
 	 * Gets the property.
 	 *
@@ -150,7 +179,89 @@ public abstract class InstanceResource<C extends TwilioClient> extends Resource<
 	 * @return
 	 */
 	protected Date getDateProperty(String name) {
-		return parseDate(getProperty(name));
+		long millis = getDateMillis(name);
+		return millis == NO_VALUE ? null : new Date(millis);
+	}
+
+	/**
+	 * Gets an RFC 2822 date property (e.g. "Tue, 10 Mar 2015 14:22:09 +0000") in epoch milliseconds. The date is
+	 * parsed on first access only.
+	 *
+	 * @param name the property name
+	 * @return the epoch milliseconds, or {@link #NO_VALUE}
+	 */
+	protected long getDateMillis(String name) {
+		return getDecoded(name, PropertyDecoder.RFC_2822_DATE);
+	}
+
+	/**
+	 * Gets an ISO date property with time zone (yyyy-MM-dd'T'HH:mm:ssZZ) as a Date, parsed on first access only.
+	 *
+	 * @param name the property name
+	 * @return the date, or null
+	 */
+	protected Date getIsoDateProperty(String name) {
+		long millis = getDecoded(name, PropertyDecoder.ISO_DATE);
+		return millis == NO_VALUE ? null : new Date(millis);
+	}
+
+	/**
+	 * Gets an ISO 8601 UTC date property (yyyy-MM-dd'T'HH:mm:ss'Z') as a Calendar, parsed on first access only.
+	 *
+	 * @param name the property name
+	 * @return a new Calendar in UTC, or null
+	 */
+	protected Calendar getCalendarProperty(String name) {
+		long millis = getDecoded(name, PropertyDecoder.ISO_8601_DATE);
+		if (millis == NO_VALUE) {
+			return null;
+		}
+		Calendar calendar = new GregorianCalendar(UTC);
+		calendar.setTimeInMillis(millis);
+		return calendar;
+	}
+
+	/**
+	 * Gets a decimal property, such as a price, in millionths (fixed-point micros), so that amounts can be summed
+	 * exactly. The value is parsed on first access only.
+	 *
+	 * @param name the property name
+	 * @return the value times 1,000,000, or {@link #NO_VALUE}
+	 */
+	protected long getMicros(String name) {
+		return getDecoded(name, PropertyDecoder.MICROS);
+	}
+
+	/**
+	 * Gets an integer property, parsed on first access only.
+	 *
+	 * @param name the property name
+	 * @return the value
+	 * @throws NumberFormatException if the property is missing, null or not an integer
+	 */
+	protected int getIntProperty(String name) {
+		long value = getDecoded(name, PropertyDecoder.INT);
+		if (value == NO_VALUE) {
+			throw new NumberFormatException("Property " + name + " is not an integer: " + properties.get(name));
+		}
+		return (int) value;
+	}
+
+	/**
+	 * Gets an integer property, parsed on first access only.
+	 *
+	 * @param name the property name
+	 * @param missing the value returned if the property is missing, null or not an integer
+	 * @return the value
+	 */
+	protected int getIntProperty(String name, int missing) {
+		long value = getDecoded(name, PropertyDecoder.INT);
+		return value == NO_VALUE ? missing : (int) value;
+	}
+
+	private long getDecoded(final String name, final PropertyDecoder decoder) {
+		getAndLoadIfNecessary(name);
+		return properties.decode(name, decoder);
 	}
 
 
@@ -184,13 +295,43 @@ public abstract class InstanceResource<C extends TwilioClient> extends Resource<
 		this.getClient().safeRequest(this.getResourceLocation(), "POST", params);
 	}
 
+	/**
+	 * Asynchronously update on the client's async executor.
+	 *
+	 * @param params the params
+	 * @return a future completing once the update is done, or failing with the {@link TwilioRestException}
+	 */
+	public Future<Void> updateAsync(final Map<String, String> params) {
+		return this.getClient().getAsyncExecutor().submit(new Callable<Void>() {
+			public Void call() throws TwilioRestException {
+				update(params);
+				return null;
+			}
+		});
+	}
+
+	/**
+	 * Asynchronously update on the client's async executor.
+	 *
+	 * @param params the params list
+	 * @return a future completing once the update is done, or failing with the {@link TwilioRestException}
+	 */
+	public Future<Void> updateAsync(final List<NameValuePair> params) {
+		return this.getClient().getAsyncExecutor().submit(new Callable<Void>() {
+			public Void call() throws TwilioRestException {
+				update(params);
+				return null;
+			}
+		});
+	}
+
 	/* (non-Javadoc)
 	 * @see com.twilio.sdk.resource.Resource#parseResponse(com.twilio.sdk.TwilioRestResponse)
 	 */
 	@Override
 	protected void parseResponse(TwilioRestResponse response) {
 		Map<String, Object> properties = response.toMap();
-		this.properties = new HashMap<String, Object>(properties);
+		this.properties = new PropertyMap(PropertyMap.schemaFor(getClass()), properties);
 	}
 	
 	/**
@@ -3,14 +3,19 @@ package com.twilio.sdk.resource;
 import com.twilio.sdk.TwilioClient;
 import com.twilio.sdk.TwilioRestException;
 import com.twilio.sdk.TwilioRestResponse;
+import com.twilio.sdk.parser.JsonPageReader;
+import com.twilio.sdk.parser.JsonResponseParser;
 import com.twilio.sdk.parser.ResponseParser.PagingProperty;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
 
 // TODO: Auto-generated Javadoc
 public abstract class ListResource<T extends Resource, C extends TwilioClient> extends Resource<C> implements Iterable<T> {
@@ -22,6 +27,49 @@ public abstract class ListResource<T extends Resource, C extends TwilioClient> e
 		return new ListIterator(getPageData().iterator());
 	}
 
+	/**
+	 * Returns an iterator over all pages that decodes each page straight from the response stream, emitting
+	 * resources one by one without holding the page body or its parsed tree in memory. Intended for bulk
+	 * exports; only JSON responses are supported. The iterator must be closed if it is abandoned before the end.
+	 *
+	 * @return the streaming iterator
+	 */
+	public CloseableIterator<T> streamingIterator() {
+		return new StreamingListIterator();
+	}
+
+	/**
+	 * Returns an iterator over all pages that fetches up to {@code depth} pages ahead in the background while
+	 * the current page is consumed, using the client's async executor. The iterator should be closed if it is
+	 * abandoned before the end, so no further pages are fetched.
+	 *
+	 * @param depth the maximum number of pages fetched ahead of the page being consumed
+	 * @return the prefetching iterator
+	 */
+	public CloseableIterator<T> prefetchingIterator(final int depth) {
+		return prefetchingIterator(depth, getClient().getAsyncExecutor());
+	}
+
+	/**
+	 * Returns an iterator over all pages that fetches up to {@code depth} pages ahead in the background while
+	 * the current page is consumed. See {@link #prefetchingIterator(int)}.
+	 *
+	 * @param depth the maximum number of pages fetched ahead of the page being consumed
+	 * @param executor the executor running the page fetches
+	 * @return the prefetching iterator
+	 */
+	public CloseableIterator<T> prefetchingIterator(final int depth, final Executor executor) {
+		List<T> firstPage = getPageData();
+		return new PrefetchingPageIterator<T>(firstPage, nextUri, new PrefetchingPageIterator.PageFetcher<T>() {
+			public PrefetchingPageIterator.Page<T> fetch(final String uri) throws TwilioRestException {
+				TwilioRestResponse response = getClient().get(uri);
+				String next = (String) response.toMap().get(response.getParser()
+						.getPagingPropertyKey(PagingProperty.NEXT_PAGE_URI_KEY));
+				return new PrefetchingPageIterator.Page<T>(toList(response), next);
+			}
+		}, depth, executor);
+	}
+
 	/**
 	 * Instantiates a new list resource.
 	 *
@@ -223,15 +271,19 @@ public abstract class ListResource<T extends Resource, C extends TwilioClient> e
 
     private void extract_object(List<T> returnList, Object o) {
         if (o instanceof Map) {
-            T instance = this.makeNew(this.getClient(), (Map<String, Object>) o);
-            if(instance.getRequestAccountSid() == null){
-              //Only set RequestAccountSid if the makeNew instance didn't already set it.
-              instance.setRequestAccountSid(this.getRequestAccountSid());
-            }
-            returnList.add(instance);
+            returnList.add(newInstance((Map<String, Object>) o));
         }
     }
 
+    private T newInstance(Map<String, Object> properties) {
+        T instance = this.makeNew(this.getClient(), properties);
+        if(instance.getRequestAccountSid() == null){
+          //Only set RequestAccountSid if the makeNew instance didn't already set it.
+          instance.setRequestAccountSid(this.getRequestAccountSid());
+        }
+        return instance;
+    }
+
 	private class ListIterator implements Iterator<T> {
 		private Iterator<T> iterator;
 
@@ -263,4 +315,80 @@ public abstract class ListResource<T extends Resource, C extends TwilioClient> e
 			throw new UnsupportedOperationException();
 		}
 	}
+
+	private class StreamingListIterator implements CloseableIterator<T> {
+		private final String nextPageUriKey = new JsonResponseParser().getPagingPropertyKey(
+				PagingProperty.NEXT_PAGE_URI_KEY);
+		private JsonPageReader reader;
+		private String pageUri;
+		private T nextElement;
+		private boolean finished;
+
+		public boolean hasNext() {
+			if (nextElement == null && !finished) {
+				try {
+					advance();
+				} catch (TwilioRestException e) {
+					close();
+					throw new RuntimeException(e);
+				} catch (IOException e) {
+					close();
+					throw new RuntimeException(e);
+				}
+			}
+
+			return nextElement != null;
+		}
+
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			T element = nextElement;
+			nextElement = null;
+			return element;
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		public void close() {
+			finished = true;
+			if (reader != null) {
+				try {
+					reader.close();
+				} catch (IOException e) {
+					// Nothing more to release
+				}
+				reader = null;
+			}
+		}
+
+		private void advance() throws TwilioRestException, IOException {
+			while (!finished) {
+				if (reader == null) {
+					if (pageUri == null) {
+						reader = new JsonPageReader(getClient().safeRequestStream(getResourceLocation(), "GET",
+						                                                          filters), getListKey());
+					} else {
+						reader = new JsonPageReader(getClient().safeRequestStream(pageUri, "GET",
+						                                                          (Map<String, String>) null),
+						                            getListKey());
+					}
+				}
+
+				Map<String, Object> properties = reader.nextElement();
+				if (properties != null) {
+					nextElement = newInstance(properties);
+					return;
+				}
+
+				pageUri = (String) reader.getPageProperties().get(nextPageUriKey);
+				close();
+				finished = pageUri == null || pageUri.length() == 0;
+			}
+		}
+	}
 }
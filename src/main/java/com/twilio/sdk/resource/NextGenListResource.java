@@ -10,6 +10,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 public abstract class NextGenListResource<T extends NextGenInstanceResource, C extends TwilioClient> extends Resource<C> implements Iterable<T> {
 
@@ -33,6 +34,41 @@ public abstract class NextGenListResource<T extends NextGenInstanceResource, C e
 		return new ListIterator(getPageData().iterator());
 	}
 
+	/**
+	 * Returns an iterator over all pages that fetches up to {@code depth} pages ahead in the background while
+	 * the current page is consumed, using the client's async executor. The iterator should be closed if it is
+	 * abandoned before the end, so no further pages are fetched.
+	 *
+	 * @param depth the maximum number of pages fetched ahead of the page being consumed
+	 * @return the prefetching iterator
+	 */
+	public CloseableIterator<T> prefetchingIterator(final int depth) {
+		return prefetchingIterator(depth, getClient().getAsyncExecutor());
+	}
+
+	/**
+	 * Returns an iterator over all pages that fetches up to {@code depth} pages ahead in the background while
+	 * the current page is consumed. See {@link #prefetchingIterator(int)}.
+	 *
+	 * @param depth the maximum number of pages fetched ahead of the page being consumed
+	 * @param executor the executor running the page fetches
+	 * @return the prefetching iterator
+	 */
+	public CloseableIterator<T> prefetchingIterator(final int depth, final Executor executor) {
+		List<T> firstPage = getPageData();
+		return new PrefetchingPageIterator<T>(firstPage, nextPageUrl, new PrefetchingPageIterator.PageFetcher<T>() {
+			public PrefetchingPageIterator.Page<T> fetch(final String uri) throws TwilioRestException {
+				TwilioRestResponse response = getClient().get(uri);
+				Object meta = response.toMap().get("meta");
+				if (!(meta instanceof Map)) {
+					throw new RuntimeException("Paging metadata not found in Twilio response");
+				}
+				return new PrefetchingPageIterator.Page<T>(toList(response),
+				                                           (String) ((Map<?, ?>) meta).get("next_page_url"));
+			}
+		}, depth, executor);
+	}
+
 	public List<T> getPageData() {
 		if (!isLoaded()) {
 			try {
@@ -0,0 +1,219 @@
+package com.twilio.sdk.resource;
+
+import com.twilio.sdk.TwilioRestException;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Iterates over the pages of a list while fetching the following pages in the background.
+ *
+ * At most {@code depth} pages are buffered ahead of the page being consumed; once the buffer is full no
+ * further request is made until the consumer catches up, so memory stays bounded. Each page fetch runs as
+ * its own task on the given executor, and no thread is held while the buffer is full.
+ *
+ * @param <T> the resource type
+ */
+class PrefetchingPageIterator<T> implements CloseableIterator<T> {
+
+	/**
+	 * One fetched page.
+	 */
+	static class Page<T> {
+
+		private final List<T> items;
+		private final String nextUri;
+
+		Page(final List<T> items, final String nextUri) {
+			this.items = items;
+			this.nextUri = (nextUri == null || nextUri.length() == 0) ? null : nextUri;
+		}
+	}
+
+	/**
+	 * Fetches and decodes a page, without touching the state of the list it came from.
+	 */
+	interface PageFetcher<T> {
+
+		/**
+		 * Fetches the page at the given uri.
+		 *
+		 * @param uri the page uri
+		 * @return the page
+		 * @throws TwilioRestException the twilio rest exception
+		 */
+		Page<T> fetch(String uri) throws TwilioRestException;
+	}
+
+	private final PageFetcher<T> fetcher;
+	private final Executor executor;
+	private final int depth;
+
+	/** Fetched pages waiting to be consumed, guarded by this. */
+	private final LinkedList<Page<T>> buffered = new LinkedList<Page<T>>();
+
+	/** The uri of the next page to fetch, or null when the last page has been fetched. Guarded by this. */
+	private String pendingUri;
+
+	/** Whether a fetch is in flight, guarded by this. */
+	private boolean fetching;
+
+	/**
+	 * The failure of the last fetch, or the rejection of its task, reported once the pages before it are consumed.
+	 * Guarded by this.
+	 */
+	private Throwable failure;
+
+	/** Whether the iterator was closed, guarded by this. */
+	private boolean closed;
+
+	private Iterator<T> current;
+
+	/**
+	 * Instantiates a new prefetching page iterator and starts fetching the second page.
+	 *
+	 * @param firstPage the items of the first page, already loaded
+	 * @param nextUri the uri of the second page, or null
+	 * @param fetcher the page fetcher
+	 * @param depth the maximum number of pages buffered ahead of the consumer
+	 * @param executor the executor running the fetches
+	 */
+	PrefetchingPageIterator(final List<T> firstPage, final String nextUri, final PageFetcher<T> fetcher,
+	                        final int depth, final Executor executor) {
+		if (depth < 1) {
+			throw new IllegalArgumentException("depth must be at least 1");
+		}
+
+		this.fetcher = fetcher;
+		this.executor = executor;
+		this.depth = depth;
+		this.current = firstPage.iterator();
+		this.pendingUri = new Page<T>(firstPage, nextUri).nextUri;
+
+		synchronized (this) {
+			scheduleFetch();
+		}
+	}
+
+	public boolean hasNext() {
+		while (!current.hasNext()) {
+			Page<T> page = takePage();
+			if (page == null) {
+				return false;
+			}
+			current = page.items.iterator();
+		}
+
+		return true;
+	}
+
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		return current.next();
+	}
+
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	public synchronized void close() {
+		closed = true;
+		buffered.clear();
+		current = new LinkedList<T>().iterator();
+		notifyAll();
+	}
+
+	/**
+	 * Waits for the next page.
+	 *
+	 * @return the next page, or null when there are no more pages
+	 */
+	private synchronized Page<T> takePage() {
+		while (buffered.isEmpty()) {
+			if (closed) {
+				return null;
+			}
+			if (failure != null) {
+				Throwable e = failure;
+				closed = true;
+				throw new RuntimeException(e);
+			}
+			if (!fetching && pendingUri == null) {
+				return null;
+			}
+
+			try {
+				wait();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			}
+		}
+
+		Page<T> page = buffered.removeFirst();
+		scheduleFetch();
+		return page;
+	}
+
+	/**
+	 * Starts fetching the next page if there is one and the buffer has room. Must hold the lock.
+	 */
+	private void scheduleFetch() {
+		if (closed || fetching || failure != null || pendingUri == null || buffered.size() >= depth) {
+			return;
+		}
+
+		final String uri = pendingUri;
+		fetching = true;
+		try {
+			executor.execute(new Runnable() {
+				public void run() {
+					Page<T> page = null;
+					Throwable error = null;
+					try {
+						page = fetcher.fetch(uri);
+					} catch (final Exception e) {
+						error = e;
+					} catch (final Error e) {
+						error = e;
+						throw e;
+					} finally {
+						// Always wake the consumer, which otherwise waits for this fetch forever
+						pageFetched(page, error);
+					}
+				}
+			});
+		} catch (final RejectedExecutionException e) {
+			// A bounded or shut down executor given by the caller; on a fetch thread the rejection would be lost
+			pageFetched(null, e);
+		}
+	}
+
+	/**
+	 * Records the outcome of a fetch and starts the next one.
+	 *
+	 * @param page the fetched page, or null if the fetch failed
+	 * @param error the failure, or null
+	 */
+	private synchronized void pageFetched(final Page<T> page, final Throwable error) {
+		fetching = false;
+
+		if (error != null) {
+			failure = error;
+			pendingUri = null;
+		} else if (!closed) {
+			buffered.addLast(page);
+			pendingUri = page.nextUri;
+			scheduleFetch();
+		}
+
+		notifyAll();
+	}
+}
@@ -0,0 +1,86 @@
+package com.twilio.sdk.resource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.ParseException;
+
+import org.apache.commons.lang3.time.DateFormatUtils;
+import org.apache.commons.lang3.time.FastDateFormat;
+
+/**
+ * Converts a property value into a primitive. {@link PropertyMap} keeps the result, so each property is decoded at
+ * most once per instance.
+ */
+abstract class PropertyDecoder {
+
+	/** Decoded from a missing or null property, or one that cannot be decoded */
+	static final long NO_VALUE = Long.MIN_VALUE;
+
+	/** Dates like "Tue, 10 Mar 2015 14:22:09 +0000", to epoch milliseconds */
+	static final PropertyDecoder RFC_2822_DATE = new DateDecoder(DateFormatUtils.SMTP_DATETIME_FORMAT);
+
+	/** Dates like "2015-03-10T14:22:09+00:00", to epoch milliseconds */
+	static final PropertyDecoder ISO_DATE = new DateDecoder(DateFormatUtils.ISO_DATETIME_TIME_ZONE_FORMAT);
+
+	/** Dates like "2015-03-10T14:22:09Z", to epoch milliseconds */
+	static final PropertyDecoder ISO_8601_DATE = new DateDecoder(Resource.ISO_8601_DATE_FORMAT);
+
+	/** Decimals like "-0.01500", to millionths */
+	static final PropertyDecoder MICROS = new PropertyDecoder() {
+		@Override
+		long decode(final Object value) {
+			try {
+				return new BigDecimal(value.toString()).movePointRight(6).setScale(0, RoundingMode.HALF_UP)
+				                                       .longValueExact();
+			} catch (final NumberFormatException e) {
+				return NO_VALUE;
+			} catch (final ArithmeticException e) {
+				return NO_VALUE;
+			}
+		}
+	};
+
+	/** Integers, given as numbers or strings */
+	static final PropertyDecoder INT = new PropertyDecoder() {
+		@Override
+		long decode(final Object value) {
+			if (value instanceof Integer) {
+				return (Integer) value;
+			}
+			try {
+				return Integer.parseInt(value.toString());
+			} catch (final NumberFormatException e) {
+				return NO_VALUE;
+			}
+		}
+	};
+
+	/**
+	 * Decodes a property value.
+	 *
+	 * @param value the value, never null
+	 * @return the decoded value, or {@link #NO_VALUE} if it cannot be decoded
+	 */
+	abstract long decode(Object value);
+
+	private static class DateDecoder extends PropertyDecoder {
+
+		private final FastDateFormat format;
+
+		DateDecoder(final FastDateFormat format) {
+			this.format = format;
+		}
+
+		@Override
+		long decode(final Object value) {
+			if (!(value instanceof String)) {
+				return NO_VALUE;
+			}
+			try {
+				return format.parse((String) value).getTime();
+			} catch (final ParseException e) {
+				return NO_VALUE;
+			}
+		}
+	}
+}
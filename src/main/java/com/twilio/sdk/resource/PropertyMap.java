@@ -0,0 +1,362 @@
+package com.twilio.sdk.resource;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The properties of an instance resource, stored compactly.
+ * <p/>
+ * All instances of a resource class share a {@link Schema} assigning each property name a slot, and each instance
+ * keeps its values in a flat array indexed by slot, instead of a hash table of its own. Names the schema has no
+ * room for go to a HashMap created on first use. Like HashMap, null values are allowed and the map is not
+ * thread-safe.
+ * <p/>
+ * Slotted values also keep their {@link #decode(String, PropertyDecoder) decoded} form until they are replaced.
+ */
+final class PropertyMap extends AbstractMap<String, Object> {
+
+	/** The number of names a schema assigns slots to; further names are kept in the overflow map */
+	static final int MAX_SCHEMA_SIZE = 128;
+
+	/** Stored in a slot for a null value, to tell it apart from an absent one */
+	private static final Object NULL = new Object();
+
+	private static final Object[] EMPTY = new Object[0];
+
+	private static final ConcurrentMap<Class<?>, Schema> SCHEMAS = new ConcurrentHashMap<Class<?>, Schema>();
+
+	/**
+	 * The slots of the property names of one resource class. Slots are only ever added, so the slot of a name never
+	 * changes once assigned.
+	 */
+	static final class Schema {
+
+		private final ConcurrentHashMap<String, Integer> slots = new ConcurrentHashMap<String, Integer>();
+
+		/** The names by slot; replaced, never modified, and written before the slot is published in slots */
+		private volatile String[] names = new String[0];
+
+		/**
+		 * Gets the slot of a name.
+		 *
+		 * @param name the property name
+		 * @return the slot, or -1 if the name has none
+		 */
+		int slotOf(final Object name) {
+			if (name == null) {
+				return -1;
+			}
+			Integer slot = slots.get(name);
+			return slot == null ? -1 : slot;
+		}
+
+		/**
+		 * Gets the slot of a name, assigning the next one if the name has none yet.
+		 *
+		 * @param name the property name
+		 * @return the slot, or -1 if the schema is full or the name is null
+		 */
+		int add(final String name) {
+			if (name == null) {
+				return -1;
+			}
+			Integer slot = slots.get(name);
+			if (slot != null) {
+				return slot;
+			}
+
+			synchronized (this) {
+				slot = slots.get(name);
+				if (slot != null) {
+					return slot;
+				}
+				int size = names.length;
+				if (size >= MAX_SCHEMA_SIZE) {
+					return -1;
+				}
+				String[] grown = Arrays.copyOf(names, size + 1);
+				grown[size] = name;
+				names = grown;
+				slots.put(name, size);
+				return size;
+			}
+		}
+
+		String nameAt(final int slot) {
+			return names[slot];
+		}
+
+		int size() {
+			return names.length;
+		}
+	}
+
+	/**
+	 * Gets the schema shared by the instances of a resource class.
+	 *
+	 * @param type the resource class
+	 * @return the schema
+	 */
+	static Schema schemaFor(final Class<?> type) {
+		Schema schema = SCHEMAS.get(type);
+		if (schema == null) {
+			Schema created = new Schema();
+			schema = SCHEMAS.putIfAbsent(type, created);
+			if (schema == null) {
+				schema = created;
+			}
+		}
+		return schema;
+	}
+
+	private final Schema schema;
+
+	private Object[] values = EMPTY;
+
+	/** Properties without a slot, or null */
+	private Map<String, Object> overflow;
+
+	/** The decoded values by slot, or null until the first value is decoded */
+	private Decoded[] decoded;
+
+	private int size;
+
+	/**
+	 * Instantiates a new property map.
+	 *
+	 * @param schema the schema of the resource class
+	 * @param properties the properties to copy, or null
+	 */
+	PropertyMap(final Schema schema, final Map<String, ?> properties) {
+		this.schema = schema;
+		if (properties != null && !properties.isEmpty()) {
+			for (final String name : properties.keySet()) {
+				schema.add(name);
+			}
+			values = new Object[schema.size()];
+			for (final Map.Entry<String, ?> property : properties.entrySet()) {
+				put(property.getKey(), property.getValue());
+			}
+		}
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(final Object name) {
+		int slot = schema.slotOf(name);
+		if (slot >= 0) {
+			return slot < values.length && values[slot] != null;
+		}
+		return overflow != null && overflow.containsKey(name);
+	}
+
+	@Override
+	public Object get(final Object name) {
+		int slot = schema.slotOf(name);
+		if (slot >= 0) {
+			return slot < values.length ? unmask(values[slot]) : null;
+		}
+		return overflow != null ? overflow.get(name) : null;
+	}
+
+	@Override
+	public Object put(final String name, final Object value) {
+		int slot = schema.add(name);
+		if (slot < 0) {
+			if (overflow == null) {
+				overflow = new HashMap<String, Object>();
+			}
+			int before = overflow.size();
+			Object previous = overflow.put(name, value);
+			size += overflow.size() - before;
+			return previous;
+		}
+
+		if (slot >= values.length) {
+			values = Arrays.copyOf(values, schema.size());
+		}
+		Object previous = values[slot];
+		values[slot] = value == null ? NULL : value;
+		forget(slot);
+		if (previous == null) {
+			size++;
+		}
+		return unmask(previous);
+	}
+
+	@Override
+	public Object remove(final Object name) {
+		int slot = schema.slotOf(name);
+		if (slot >= 0) {
+			if (slot >= values.length || values[slot] == null) {
+				return null;
+			}
+			Object previous = values[slot];
+			values[slot] = null;
+			forget(slot);
+			size--;
+			return unmask(previous);
+		}
+
+		if (overflow == null || !overflow.containsKey(name)) {
+			return null;
+		}
+		size--;
+		return overflow.remove(name);
+	}
+
+	@Override
+	public void clear() {
+		values = EMPTY;
+		overflow = null;
+		decoded = null;
+		size = 0;
+	}
+
+	@Override
+	public Set<Map.Entry<String, Object>> entrySet() {
+		return new AbstractSet<Map.Entry<String, Object>>() {
+			@Override
+			public Iterator<Map.Entry<String, Object>> iterator() {
+				return new EntryIterator();
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	/**
+	 * Gets a property decoded into a primitive, decoding it on first access only. Readers racing to decode a
+	 * property each decode it and keep one of the equal results, so reads may share the map across threads.
+	 *
+	 * @param name the property name
+	 * @param decoder the decoder
+	 * @return the decoded value, or {@link PropertyDecoder#NO_VALUE} if the property is missing, null or cannot be
+	 * decoded
+	 */
+	long decode(final String name, final PropertyDecoder decoder) {
+		int slot = schema.slotOf(name);
+		if (slot < 0 || slot >= values.length) {
+			Object value = get(name);
+			return value == null ? PropertyDecoder.NO_VALUE : decoder.decode(value);
+		}
+
+		Decoded[] cache = decoded;
+		if (cache != null && slot < cache.length) {
+			Decoded hit = cache[slot];
+			if (hit != null && hit.decoder == decoder) {
+				return hit.value;
+			}
+		}
+
+		Object value = unmask(values[slot]);
+		long result = value == null ? PropertyDecoder.NO_VALUE : decoder.decode(value);
+		if (cache == null || slot >= cache.length) {
+			cache = cache == null ? new Decoded[values.length] : Arrays.copyOf(cache, values.length);
+			decoded = cache;
+		}
+		cache[slot] = new Decoded(decoder, result);
+		return result;
+	}
+
+	/**
+	 * Drops the decoded form of a replaced or removed value.
+	 */
+	private void forget(final int slot) {
+		if (decoded != null && slot < decoded.length) {
+			decoded[slot] = null;
+		}
+	}
+
+	/**
+	 * A decoded value. Immutable, so that it is safely published to readers that race with the decoding thread.
+	 */
+	private static final class Decoded {
+
+		private final PropertyDecoder decoder;
+
+		private final long value;
+
+		Decoded(final PropertyDecoder decoder, final long value) {
+			this.decoder = decoder;
+			this.value = value;
+		}
+	}
+
+	private static Object unmask(final Object value) {
+		return value == NULL ? null : value;
+	}
+
+	/**
+	 * Iterates the slotted properties in slot order, then the overflow.
+	 */
+	private class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+
+		private int next = advance(0);
+
+		private int current = -1;
+
+		private Iterator<Map.Entry<String, Object>> overflowIterator;
+
+		private boolean inOverflow;
+
+		private int advance(int slot) {
+			while (slot < values.length && values[slot] == null) {
+				slot++;
+			}
+			return slot;
+		}
+
+		public boolean hasNext() {
+			if (next < values.length) {
+				return true;
+			}
+			if (overflowIterator == null && overflow != null) {
+				overflowIterator = overflow.entrySet().iterator();
+			}
+			return overflowIterator != null && overflowIterator.hasNext();
+		}
+
+		public Map.Entry<String, Object> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			if (next < values.length) {
+				current = next;
+				inOverflow = false;
+				next = advance(next + 1);
+				return new SimpleImmutableEntry<String, Object>(schema.nameAt(current), unmask(values[current]));
+			}
+			inOverflow = true;
+			return overflowIterator.next();
+		}
+
+		public void remove() {
+			if (inOverflow) {
+				overflowIterator.remove();
+				size--;
+			} else if (current >= 0 && values[current] != null) {
+				values[current] = null;
+				forget(current);
+				size--;
+			} else {
+				throw new IllegalStateException();
+			}
+		}
+	}
+}
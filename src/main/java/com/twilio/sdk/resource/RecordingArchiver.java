@@ -0,0 +1,427 @@
+package com.twilio.sdk.resource;
+
+import com.twilio.sdk.DaemonThreadFactory;
+import com.twilio.sdk.TransferListener;
+import com.twilio.sdk.TwilioRestException;
+import com.twilio.sdk.resource.instance.Recording;
+import com.twilio.sdk.resource.list.RecordingList;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Downloads every recording of a list into a directory, concurrently.
+ *
+ * The list is paged with a {@link ListResource#prefetchingIterator(int) prefetching iterator}, so the next pages
+ * are fetched while recordings are downloaded, and at most {@code parallelism} downloads run at once. Each
+ * recording is written to {@code <sid><extension>.part}, resumed with a Range request if that file is left from
+ * an interrupted run, and renamed to {@code <sid><extension>} once it is complete. Archived sids are appended to
+ * a checkpoint file, so a restarted run skips them. Optionally a recording is deleted from Twilio once it is
+ * archived and checkpointed; a failed download, or one whose length the server did not announce, is never
+ * deleted.
+ *
+ * <pre>
+ * RecordingArchiver archiver = new RecordingArchiver.Builder(account.getRecordings(filters), directory)
+ *     .parallelism(8)
+ *     .bytesPerSecond(50L * 1024 * 1024)
+ *     .checkpoint(new File(directory, "archived.txt"))
+ *     .build();
+ * archiver.run();
+ * </pre>
+ */
+public class RecordingArchiver {
+
+	/**
+	 * Receives the outcome of every recording, on the worker thread that archived it.
+	 */
+	public interface Listener {
+
+		/**
+		 * Called when a recording was archived.
+		 *
+		 * @param recording the recording
+		 * @param file the archived file
+		 */
+		void onArchived(Recording recording, File file);
+
+		/**
+		 * Called when a recording could not be archived, or not be deleted after it was archived.
+		 *
+		 * @param recording the recording
+		 * @param e the failure
+		 */
+		void onFailure(Recording recording, Exception e);
+	}
+
+	/** The default number of concurrent downloads. */
+	public static final int DEFAULT_PARALLELISM = 4;
+
+	/** The default number of pages fetched ahead. */
+	public static final int DEFAULT_PREFETCH_PAGES = 2;
+
+	/** The default recording format. */
+	public static final String DEFAULT_EXTENSION = ".wav";
+
+	private final RecordingList recordings;
+	private final File directory;
+	private final String extension;
+	private final int parallelism;
+	private final int prefetchPages;
+	private final File checkpoint;
+	private final boolean delete;
+	private final Listener listener;
+	private final Bandwidth bandwidth;
+	private final ExecutorService executor;
+
+	private final AtomicLong archived = new AtomicLong();
+	private final AtomicLong skipped = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+	private final AtomicLong deleted = new AtomicLong();
+	private final AtomicLong bytes = new AtomicLong();
+
+	private Writer checkpointWriter;
+
+	private RecordingArchiver(final Builder b) {
+		this.recordings = b.recordings;
+		this.directory = b.directory;
+		this.extension = b.extension;
+		this.parallelism = b.parallelism;
+		this.prefetchPages = b.prefetchPages;
+		this.checkpoint = b.checkpoint;
+		this.delete = b.delete;
+		this.listener = b.listener;
+		this.bandwidth = b.bytesPerSecond > 0 ? new Bandwidth(b.bytesPerSecond) : null;
+		this.executor = b.executor;
+	}
+
+	/**
+	 * Archives all recordings of the list that are not checkpointed yet, and waits until they are done. Failures
+	 * of single recordings are reported to the listener and counted, and do not stop the run.
+	 *
+	 * @throws IOException if the directory can not be created, or the checkpoint can not be read or written
+	 */
+	public void run() throws IOException {
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Cannot create " + directory);
+		}
+		Set<String> done = readCheckpoint();
+		if (checkpoint != null) {
+			checkpointWriter = new OutputStreamWriter(new FileOutputStream(checkpoint, true), "UTF-8");
+		}
+
+		ExecutorService workers = executor != null ? executor : newWorkers();
+		Semaphore slots = new Semaphore(parallelism);
+		CloseableIterator<Recording> it = recordings.prefetchingIterator(prefetchPages);
+		try {
+			while (it.hasNext()) {
+				final Recording recording = it.next();
+				if (done.contains(recording.getSid())) {
+					skipped.incrementAndGet();
+					continue;
+				}
+
+				slots.acquireUninterruptibly();
+				final Semaphore slot = slots;
+				try {
+					workers.execute(new Runnable() {
+						public void run() {
+							try {
+								archive(recording);
+							} finally {
+								slot.release();
+							}
+						}
+					});
+				} catch (final RuntimeException e) {
+					slots.release();
+					throw e;
+				}
+			}
+		} finally {
+			it.close();
+			slots.acquireUninterruptibly(parallelism);
+			if (executor == null) {
+				workers.shutdown();
+			}
+			if (checkpointWriter != null) {
+				checkpointWriter.close();
+				checkpointWriter = null;
+			}
+		}
+	}
+
+	/**
+	 * Downloads, verifies, checkpoints and optionally deletes one recording.
+	 *
+	 * @param recording the recording
+	 */
+	private void archive(final Recording recording) {
+		File target = new File(directory, recording.getSid() + extension);
+		File partial = new File(directory, recording.getSid() + extension + ".part");
+		try {
+			// Deleting is only safe once the server confirmed the length of the file
+			long length = recording.downloadTo(extension, partial, true, delete, bandwidth);
+			if ((target.exists() && !target.delete()) || !partial.renameTo(target)) {
+				throw new IOException("Cannot rename " + partial + " to " + target);
+			}
+			bytes.addAndGet(length);
+			checkpoint(recording.getSid());
+			archived.incrementAndGet();
+			if (listener != null) {
+				listener.onArchived(recording, target);
+			}
+		} catch (final Exception e) {
+			failed.incrementAndGet();
+			if (listener != null) {
+				listener.onFailure(recording, e);
+			}
+			return;
+		}
+
+		if (delete) {
+			try {
+				if (recording.delete()) {
+					deleted.incrementAndGet();
+				}
+			} catch (final TwilioRestException e) {
+				if (listener != null) {
+					listener.onFailure(recording, e);
+				}
+			}
+		}
+
+	}
+
+	private Set<String> readCheckpoint() throws IOException {
+		if (checkpoint == null || !checkpoint.exists()) {
+			return Collections.emptySet();
+		}
+
+		Set<String> sids = new HashSet<String>();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(checkpoint), "UTF-8"));
+		try {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.trim().length() > 0) {
+					sids.add(line.trim());
+				}
+			}
+		} finally {
+			reader.close();
+		}
+		return sids;
+	}
+
+	private void checkpoint(final String sid) throws IOException {
+		if (checkpointWriter == null) {
+			return;
+		}
+		synchronized (this) {
+			checkpointWriter.write(sid);
+			checkpointWriter.write('\n');
+			checkpointWriter.flush();
+		}
+	}
+
+	private ExecutorService newWorkers() {
+		return Executors.newFixedThreadPool(parallelism, new DaemonThreadFactory("archiver"));
+	}
+
+	/**
+	 * Gets the number of recordings archived.
+	 *
+	 * @return the number of archived recordings
+	 */
+	public long getArchived() {
+		return archived.get();
+	}
+
+	/**
+	 * Gets the number of recordings skipped because the checkpoint lists them as archived already.
+	 *
+	 * @return the number of skipped recordings
+	 */
+	public long getSkipped() {
+		return skipped.get();
+	}
+
+	/**
+	 * Gets the number of recordings that could not be archived.
+	 *
+	 * @return the number of failed recordings
+	 */
+	public long getFailed() {
+		return failed.get();
+	}
+
+	/**
+	 * Gets the number of recordings deleted from Twilio after they were archived.
+	 *
+	 * @return the number of deleted recordings
+	 */
+	public long getDeleted() {
+		return deleted.get();
+	}
+
+	/**
+	 * Gets the number of bytes archived.
+	 *
+	 * @return the archived bytes
+	 */
+	public long getBytes() {
+		return bytes.get();
+	}
+
+	/**
+	 * A byte budget refilled at a fixed rate, shared by all workers. A worker pays for every chunk of a download as
+	 * it is written, and waits while the budget is overdrawn, so the write rate stays at the configured bandwidth
+	 * within a file as well as across files.
+	 */
+	private static class Bandwidth implements TransferListener {
+
+		private final double bytesPerNano;
+
+		private double available;
+
+		private long lastRefill = System.nanoTime();
+
+		Bandwidth(final long bytesPerSecond) {
+			this.bytesPerNano = bytesPerSecond / 1e9;
+		}
+
+		public void transferred(final long bytes) {
+			long wait;
+			synchronized (this) {
+				long now = System.nanoTime();
+				available = Math.min(0, available + (now - lastRefill) * bytesPerNano) - bytes;
+				lastRefill = now;
+				wait = available < 0 ? (long) Math.ceil(-available / bytesPerNano) : 0;
+			}
+			if (wait > 0) {
+				try {
+					TimeUnit.NANOSECONDS.sleep(wait);
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+	}
+
+	/** Builder used to construct a RecordingArchiver */
+	public static class Builder {
+		private final RecordingList recordings;
+		private final File directory;
+		private String extension = DEFAULT_EXTENSION;
+		private int parallelism = DEFAULT_PARALLELISM;
+		private int prefetchPages = DEFAULT_PREFETCH_PAGES;
+		private long bytesPerSecond = 0;
+		private File checkpoint;
+		private boolean delete = false;
+		private Listener listener;
+		private ExecutorService executor;
+
+		/**
+		 * Instantiates a new builder.
+		 *
+		 * @param recordings the recordings to archive, e.g. {@code account.getRecordings(filters)}
+		 * @param directory the directory the recordings are written to
+		 */
+		public Builder(final RecordingList recordings, final File directory) {
+			if (recordings == null || directory == null) {
+				throw new IllegalArgumentException("recordings and directory are required");
+			}
+			this.recordings = recordings;
+			this.directory = directory;
+		}
+
+		/**
+		 * Sets the format of the archived recordings, ".wav" or ".mp3".
+		 */
+		public Builder extension(String extension) {
+			if (extension == null) {
+				throw new IllegalArgumentException("extension must not be null");
+			}
+			this.extension = extension;
+			return this;
+		}
+
+		/**
+		 * Sets the number of concurrent downloads.
+		 */
+		public Builder parallelism(int parallelism) {
+			if (parallelism < 1) {
+				throw new IllegalArgumentException("parallelism must be at least 1");
+			}
+			this.parallelism = parallelism;
+			return this;
+		}
+
+		/**
+		 * Sets the number of list pages fetched ahead of the downloads.
+		 */
+		public Builder prefetchPages(int prefetchPages) {
+			if (prefetchPages < 1) {
+				throw new IllegalArgumentException("prefetchPages must be at least 1");
+			}
+			this.prefetchPages = prefetchPages;
+			return this;
+		}
+
+		/**
+		 * Sets the number of bytes written per second, across all downloads; each download is paced as its chunks
+		 * are written. 0, the default, leaves it unlimited.
+		 */
+		public Builder bytesPerSecond(long bytesPerSecond) {
+			this.bytesPerSecond = bytesPerSecond;
+			return this;
+		}
+
+		/**
+		 * Sets the file listing the sids of archived recordings, which are skipped when the archiver runs again.
+		 */
+		public Builder checkpoint(File checkpoint) {
+			this.checkpoint = checkpoint;
+			return this;
+		}
+
+		/**
+		 * Sets whether recordings are deleted from Twilio once they are archived; disabled by default.
+		 */
+		public Builder delete(boolean delete) {
+			this.delete = delete;
+			return this;
+		}
+
+		public Builder listener(Listener listener) {
+			this.listener = listener;
+			return this;
+		}
+
+		/**
+		 * Sets the executor running the downloads; by default the archiver starts {@code parallelism} daemon threads
+		 * for each run.
+		 */
+		public Builder executor(ExecutorService executor) {
+			this.executor = executor;
+			return this;
+		}
+
+		public RecordingArchiver build() {
+			return new RecordingArchiver(this);
+		}
+	}
+}
@@ -73,8 +73,8 @@ public abstract class Resource<C extends TwilioClient> {
 	// flags whether or not the HTTP request to popluate
 	// this data has occured. We can construct resources
 	// that are lazily loaded
-	/** The loaded. */
-	private boolean loaded;
+	/** The loaded; volatile so that a resource loaded by one thread is seen as loaded by all. */
+	private volatile boolean loaded;
 
 	/**
 	 * Checks if is loaded.
@@ -0,0 +1,390 @@
+package com.twilio.sdk.resource.factory;
+
+import com.twilio.sdk.DaemonThreadFactory;
+import com.twilio.sdk.ExponentialBackoffRetryPolicy;
+import com.twilio.sdk.RateLimitExceededException;
+import com.twilio.sdk.RateLimiter;
+import com.twilio.sdk.RetryPolicy;
+import com.twilio.sdk.TwilioRestException;
+import com.twilio.sdk.TwilioRestResponse;
+import com.twilio.sdk.resource.instance.Message;
+import com.twilio.sdk.resource.list.MessageList;
+import org.apache.http.NameValuePair;
+import org.apache.http.message.BasicNameValuePair;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends many messages through a {@link MessageFactory} concurrently, with a bounded number of requests in
+ * flight and an optional messages-per-second budget.
+ *
+ * {@link #send(List)} returns as soon as the message is handed to a worker, and blocks while {@code maxInFlight}
+ * messages are outstanding or the rate budget is spent, so a producer can never get far ahead of the API.
+ * Each outcome is reported to the {@link Callback}, from a worker thread. Failed messages are retried by the
+ * {@link RetryPolicy} with POST semantics, i.e. only when the message is known not to have been created, such as
+ * on 429 Too Many Requests; a retry counts against the rate budget again. With a {@link MessageList} as factory,
+ * the client's own retry policy is bypassed, so {@code maxAttempts} is the total number of requests per message;
+ * another factory may retry on its own as well.
+ *
+ * <pre>
+ * BulkMessageSender sender = new BulkMessageSender.Builder(account.getMessageFactory(), callback)
+ *     .maxInFlight(50)
+ *     .messagesPerSecond(100)
+ *     .build();
+ * for (Recipient r : recipients) {
+ *     sender.send(from, r.getNumber(), r.getBody());
+ * }
+ * sender.close();
+ * </pre>
+ */
+public class BulkMessageSender {
+
+	/**
+	 * Receives the outcome of every message, on the worker thread that sent it.
+	 */
+	public interface Callback {
+
+		/**
+		 * Called when a message was created. The message counts as sent even if this throws.
+		 *
+		 * @param params the message parameters
+		 * @param message the created message
+		 */
+		void onSuccess(List<NameValuePair> params, Message message);
+
+		/**
+		 * Called when a message could not be created, after any retries.
+		 *
+		 * @param params the message parameters
+		 * @param e the last failure
+		 */
+		void onFailure(List<NameValuePair> params, Exception e);
+	}
+
+	/** The default number of messages in flight. */
+	public static final int DEFAULT_MAX_IN_FLIGHT = 10;
+
+	/** The default number of attempts per message. */
+	public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+	/** Stands for the request url in the failures handed to the retry policy. */
+	private static final String RESOURCE_LOCATION = "Messages.json";
+
+	private final MessageFactory factory;
+	private final Callback callback;
+	private final int maxInFlight;
+	private final int maxAttempts;
+	private final RetryPolicy retryPolicy;
+	private final RateLimiter pacer;
+	private final ExecutorService executor;
+	private final boolean ownsExecutor;
+	private final Semaphore inFlight;
+
+	private final AtomicLong sent = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+	private final AtomicLong retried = new AtomicLong();
+
+	private BulkMessageSender(final Builder b) {
+		this.factory = b.factory;
+		this.callback = b.callback;
+		this.maxInFlight = b.maxInFlight;
+		this.maxAttempts = b.maxAttempts;
+		this.retryPolicy = b.retryPolicy;
+		this.pacer = b.messagesPerSecond > 0
+		             ? new RateLimiter.Builder().permitsPerSecond(b.messagesPerSecond).burst(b.burst).build()
+		             : null;
+		this.inFlight = new Semaphore(b.maxInFlight);
+
+		if (b.executor != null) {
+			this.executor = b.executor;
+			this.ownsExecutor = false;
+		} else {
+			this.executor = Executors.newFixedThreadPool(b.maxInFlight, new DaemonThreadFactory("bulk"));
+			this.ownsExecutor = true;
+		}
+	}
+
+	/**
+	 * Queues a message, waiting while the in-flight limit or the rate budget is reached.
+	 *
+	 * @param params the message parameters, as for {@link MessageFactory#create(List)}
+	 */
+	public void send(final List<NameValuePair> params) {
+		try {
+			inFlight.acquire();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		}
+
+		try {
+			pace();
+			executor.execute(new Runnable() {
+				public void run() {
+					try {
+						deliver(params);
+					} finally {
+						inFlight.release();
+					}
+				}
+			});
+		} catch (final RuntimeException e) {
+			inFlight.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Queues a text message.
+	 *
+	 * @param from the sender number
+	 * @param to the recipient number
+	 * @param body the message body
+	 */
+	public void send(final String from, final String to, final String body) {
+		List<NameValuePair> params = new ArrayList<NameValuePair>(3);
+		params.add(new BasicNameValuePair("From", from));
+		params.add(new BasicNameValuePair("To", to));
+		params.add(new BasicNameValuePair("Body", body));
+		send(params);
+	}
+
+	/**
+	 * Queues every message of a sequence.
+	 *
+	 * @param messages the message parameters
+	 */
+	public void sendAll(final Iterable<List<NameValuePair>> messages) {
+		for (final List<NameValuePair> params : messages) {
+			send(params);
+		}
+	}
+
+	/**
+	 * Waits until every queued message has been reported to the callback.
+	 */
+	public void flush() {
+		try {
+			inFlight.acquire(maxInFlight);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		}
+		inFlight.release(maxInFlight);
+	}
+
+	/**
+	 * Waits for the queued messages and stops the sender's own worker threads. An executor passed to the
+	 * builder is left running.
+	 */
+	public void close() {
+		flush();
+		if (ownsExecutor) {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Gets the number of messages created.
+	 *
+	 * @return the number of messages sent
+	 */
+	public long getSent() {
+		return sent.get();
+	}
+
+	/**
+	 * Gets the number of messages that could not be created.
+	 *
+	 * @return the number of failed messages
+	 */
+	public long getFailed() {
+		return failed.get();
+	}
+
+	/**
+	 * Gets the number of retried attempts.
+	 *
+	 * @return the number of retries
+	 */
+	public long getRetried() {
+		return retried.get();
+	}
+
+	/**
+	 * Creates one message, retrying as the retry policy allows, and reports the outcome.
+	 *
+	 * @param params the message parameters
+	 */
+	private void deliver(final List<NameValuePair> params) {
+		long start = System.currentTimeMillis();
+
+		for (int attempt = 1; ; attempt++) {
+			Message message = null;
+			Exception failure = null;
+			try {
+				message = factory instanceof MessageList ? ((MessageList) factory).createOnce(params)
+				                                         : factory.create(params);
+			} catch (final TwilioRestException e) {
+				failure = e;
+			} catch (final RuntimeException e) {
+				failure = e;
+			}
+
+			// Outside the try, so that a failing callback cannot turn a created message into a failure
+			if (failure == null) {
+				sent.incrementAndGet();
+				callback.onSuccess(params, message);
+				return;
+			}
+
+			long delay = attempt < maxAttempts ? retryDelay(failure, attempt, System.currentTimeMillis() - start) : -1;
+			if (delay < 0) {
+				failed.incrementAndGet();
+				callback.onFailure(params, failure);
+				return;
+			}
+
+			try {
+				Thread.sleep(delay);
+				pace();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				failed.incrementAndGet();
+				callback.onFailure(params, failure);
+				return;
+			} catch (final RuntimeException e) {
+				failed.incrementAndGet();
+				callback.onFailure(params, e);
+				return;
+			}
+			retried.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Asks the retry policy for the delay before retrying a failed message.
+	 *
+	 * @param failure the failure
+	 * @param attempt the number of attempts made
+	 * @param elapsed the time since the first attempt
+	 * @return the delay in milliseconds, or a negative value to give up
+	 */
+	private long retryDelay(final Exception failure, final int attempt, final long elapsed) {
+		if (failure instanceof TwilioRestException) {
+			// The status of the error response; client-side rate limit refusals report 429
+			int status = ((TwilioRestException) failure).getStatus();
+			if (status == 0) {
+				return -1;
+			}
+			return retryPolicy.getRetryDelay("POST", attempt, elapsed,
+			                                 new TwilioRestResponse(RESOURCE_LOCATION, "", status), null);
+		} else if (failure.getCause() instanceof IOException) {
+			return retryPolicy.getRetryDelay("POST", attempt, elapsed, null, (IOException) failure.getCause());
+		}
+		return -1;
+	}
+
+	/**
+	 * Waits for the rate budget to allow one more message.
+	 */
+	private void pace() {
+		if (pacer == null) {
+			return;
+		}
+		try {
+			pacer.acquire("bulk", "messages").release();
+		} catch (final RateLimitExceededException e) {
+			// The pacer blocks without a maximum wait, so it never refuses
+			throw new RejectedExecutionException(e);
+		}
+	}
+
+	/** Builder used to construct a BulkMessageSender */
+	public static class Builder {
+		private final MessageFactory factory;
+		private final Callback callback;
+		private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+		private double messagesPerSecond = 0;
+		private int burst = 0;
+		private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+		private RetryPolicy retryPolicy = new ExponentialBackoffRetryPolicy();
+		private ExecutorService executor;
+
+		/**
+		 * Instantiates a new builder.
+		 *
+		 * @param factory the factory creating the messages, e.g. {@code account.getMessageFactory()}
+		 * @param callback receives the outcome of every message
+		 */
+		public Builder(final MessageFactory factory, final Callback callback) {
+			if (factory == null || callback == null) {
+				throw new IllegalArgumentException("factory and callback are required");
+			}
+			this.factory = factory;
+			this.callback = callback;
+		}
+
+		public Builder maxInFlight(int maxInFlight) {
+			if (maxInFlight < 1) {
+				throw new IllegalArgumentException("maxInFlight must be at least 1");
+			}
+			this.maxInFlight = maxInFlight;
+			return this;
+		}
+
+		/**
+		 * Sets the sending rate, retries included; 0, the default, leaves it unlimited.
+		 */
+		public Builder messagesPerSecond(double messagesPerSecond) {
+			this.messagesPerSecond = messagesPerSecond;
+			return this;
+		}
+
+		/**
+		 * Sets the number of messages that may start at once after a quiet period; defaults to one second's worth.
+		 */
+		public Builder burst(int burst) {
+			this.burst = burst;
+			return this;
+		}
+
+		/**
+		 * Sets the number of attempts per message, the first one included.
+		 */
+		public Builder maxAttempts(int maxAttempts) {
+			if (maxAttempts < 1) {
+				throw new IllegalArgumentException("maxAttempts must be at least 1");
+			}
+			this.maxAttempts = maxAttempts;
+			return this;
+		}
+
+		public Builder retryPolicy(RetryPolicy retryPolicy) {
+			if (retryPolicy == null) {
+				throw new IllegalArgumentException("retryPolicy must not be null");
+			}
+			this.retryPolicy = retryPolicy;
+			return this;
+		}
+
+		/**
+		 * Sets the executor sending the messages; by default the sender starts {@code maxInFlight} daemon threads.
+		 */
+		public Builder executor(ExecutorService executor) {
+			this.executor = executor;
+			return this;
+		}
+
+		public BulkMessageSender build() {
+			return new BulkMessageSender(this);
+		}
+	}
+}
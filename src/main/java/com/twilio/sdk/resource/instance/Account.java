@@ -1,12 +1,15 @@
 package com.twilio.sdk.resource.instance;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import com.twilio.sdk.TwilioRestClient;
 import com.twilio.sdk.TwilioRestException;
 import com.twilio.sdk.TwilioRestResponse;
+import com.twilio.sdk.resource.BatchLoader;
 import com.twilio.sdk.resource.InstanceResource;
 import com.twilio.sdk.resource.factory.AddressFactory;
 import com.twilio.sdk.resource.factory.ApplicationFactory;
@@ -238,6 +241,16 @@ public class Account extends InstanceResource<TwilioRestClient> {
 		return call;
 	}
 
+	/**
+	 * Loads many calls concurrently, see {@link BatchLoader}.
+	 *
+	 * @param sids the call sids
+	 * @return the loaded calls or the reasons they could not be loaded, in the order of the sids
+	 */
+	public List<BatchLoader.Result<Call>> loadCalls(Collection<String> sids) {
+		return new BatchLoader.Builder().build().loadCalls(this, sids);
+	}
+
 	/**
 	 * Gets the call factory, which lets you make outgoing calls.
 	 * <p/>
@@ -345,6 +358,16 @@ public class Account extends InstanceResource<TwilioRestClient> {
 		return message;
 	}
 
+	/**
+	 * Loads many messages concurrently, see {@link BatchLoader}.
+	 *
+	 * @param sids the message sids
+	 * @return the loaded messages or the reasons they could not be loaded, in the order of the sids
+	 */
+	public List<BatchLoader.Result<Message>> loadMessages(Collection<String> sids) {
+		return new BatchLoader.Builder().build().loadMessages(this, sids);
+	}
+
 	/**
 	 * Gets the media list.
 	 *
@@ -785,6 +808,16 @@ public class Account extends InstanceResource<TwilioRestClient> {
 		return r;
 	}
 
+	/**
+	 * Loads many recordings concurrently, see {@link BatchLoader}.
+	 *
+	 * @param sids the recording sids
+	 * @return the loaded recordings or the reasons they could not be loaded, in the order of the sids
+	 */
+	public List<BatchLoader.Result<Recording>> loadRecordings(Collection<String> sids) {
+		return new BatchLoader.Builder().build().loadRecordings(this, sids);
+	}
+
 	/**
 	 * Gets the transcriptions list
 	 * <p/>
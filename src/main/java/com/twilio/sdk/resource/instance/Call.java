@@ -134,6 +134,15 @@ public class Call extends InstanceResource<TwilioRestClient> {
 		return getDateProperty("date_created");
 	}
 
+	/**
+	 * Gets the date created in epoch milliseconds.
+	 *
+	 * @return the date created in epoch milliseconds, or {@link #NO_VALUE} if it is not set
+	 */
+	public long getDateCreatedMillis() {
+		return getDateMillis("date_created");
+	}
+
 	/**
 	 * Gets the date updated.
 	 *
@@ -143,6 +152,15 @@ public class Call extends InstanceResource<TwilioRestClient> {
 		return getDateProperty("date_updated");
 	}
 
+	/**
+	 * Gets the date updated in epoch milliseconds.
+	 *
+	 * @return the date updated in epoch milliseconds, or {@link #NO_VALUE} if it is not set
+	 */
+	public long getDateUpdatedMillis() {
+		return getDateMillis("date_updated");
+	}
+
 	/**
 	 * Gets the account sid.
 	 *
@@ -197,6 +215,15 @@ public class Call extends InstanceResource<TwilioRestClient> {
 		return getDateProperty("start_time");
 	}
 
+	/**
+	 * Gets the start time in epoch milliseconds.
+	 *
+	 * @return the start time in epoch milliseconds, or {@link #NO_VALUE} if it is not set
+	 */
+	public long getStartTimeMillis() {
+		return getDateMillis("start_time");
+	}
+
 	/**
 	 * Gets the end time.
 	 *
@@ -206,6 +233,15 @@ public class Call extends InstanceResource<TwilioRestClient> {
 		return getDateProperty("end_time");
 	}
 
+	/**
+	 * Gets the end time in epoch milliseconds.
+	 *
+	 * @return the end time in epoch milliseconds, or {@link #NO_VALUE} if it is not set
+	 */
+	public long getEndTimeMillis() {
+		return getDateMillis("end_time");
+	}
+
 	/**
 	 * Gets the duration.
 	 *
@@ -215,6 +251,15 @@ public class Call extends InstanceResource<TwilioRestClient> {
 		return this.getProperty("duration");
 	}
 
+	/**
+	 * Gets the duration in seconds.
+	 *
+	 * @return the duration in seconds, or -1 if the call has not ended
+	 */
+	public int getDurationSeconds() {
+		return getIntProperty("duration", -1);
+	}
+
 	/**
 	 * Gets the price.
 	 *
@@ -224,6 +269,15 @@ public class Call extends InstanceResource<TwilioRestClient> {
 		return this.getProperty("price");
 	}
 
+	/**
+	 * Gets the price in millionths of the price unit.
+	 *
+	 * @return the price in micros (e.g. -15000 for "-0.01500"), or {@link #NO_VALUE} if it is not priced yet
+	 */
+	public long getPriceMicros() {
+		return getMicros("price");
+	}
+
 	/**
 	 * Gets the direction.
 	 *
@@ -52,7 +52,7 @@ public class Key extends InstanceResource<TwilioRestClient> {
      * @return the date created
      */
     public Date getDateCreated() {
-        return parseDate(getProperty(DATE_CREATED_PROPERTY));
+        return getDateProperty(DATE_CREATED_PROPERTY);
     }
 
     /**
@@ -61,7 +61,7 @@ public class Key extends InstanceResource<TwilioRestClient> {
      * @return the date updated
      */
     public Date getDateUpdated() {
-        return parseDate(getProperty(DATE_UPDATED_PROPERTY));
+        return getDateProperty(DATE_UPDATED_PROPERTY);
     }
 
     /**
@@ -5,6 +5,7 @@ import com.twilio.sdk.TwilioRestException;
 import com.twilio.sdk.TwilioRestResponse;
 import com.twilio.sdk.resource.InstanceResource;
 
+import java.io.File;
 import java.util.Date;
 import java.util.Map;
 
@@ -71,15 +72,25 @@ public class Media extends InstanceResource<TwilioRestClient> {
 	 * @see com.twilio.sdk.resource.Resource#getResourceLocation()
 	 */
 	protected String getResourceLocation() {
+		return getResourceLocation(".json");
+	}
+
+	/**
+	 * Gets the resource location.
+	 *
+	 * @param extension the extension, or "" for the media content itself
+	 * @return the resource location
+	 */
+	protected String getResourceLocation(final String extension) {
 		if (this.getRequestMessageSid() != null) {
 			return "/" + TwilioRestClient.DEFAULT_VERSION
 				+ "/Accounts/" + this.getRequestAccountSid()
 				+ "/Messages/" + this.getRequestMessageSid()
-				+ "/Media/" + this.getSid() + ".json";
+				+ "/Media/" + this.getSid() + extension;
 		} else {
 			return "/" + TwilioRestClient.DEFAULT_VERSION
 				+ "/Accounts/" + this.getRequestAccountSid()
-				+ "/Media/" + this.getSid() + ".json";
+				+ "/Media/" + this.getSid() + extension;
 		}
 	}
 
@@ -107,7 +118,7 @@ public class Media extends InstanceResource<TwilioRestClient> {
 	 * @return the date created
 	 */
 	public Date getDateCreated() {
-		return parseDate(this.getProperty("date_created"));
+		return getDateProperty("date_created");
 	}
 
 	/**
@@ -116,7 +127,7 @@ public class Media extends InstanceResource<TwilioRestClient> {
 	 * @return the date updated
 	 */
 	public Date getDateUpdated() {
-		return parseDate(this.getProperty("date_updated"));
+		return getDateProperty("date_updated");
 	}
 
 	/**
@@ -178,6 +189,30 @@ public class Media extends InstanceResource<TwilioRestClient> {
 		return this.getProperty("uri");
 	}
 
+	/**
+	 * Downloads the media content into a file, overwriting it.
+	 *
+	 * @param file the file to write
+	 * @return the length of the file
+	 * @throws TwilioRestException the twilio rest exception
+	 */
+	public long downloadTo(final File file) throws TwilioRestException {
+		return downloadTo(file, false);
+	}
+
+	/**
+	 * Downloads the media content into a file, resuming after failures. See
+	 * {@link com.twilio.sdk.TwilioClient#download(String, File, boolean)}.
+	 *
+	 * @param file the file to write
+	 * @param resume true to continue a partial file left by an earlier download, false to overwrite it
+	 * @return the length of the file
+	 * @throws TwilioRestException the twilio rest exception
+	 */
+	public long downloadTo(final File file, final boolean resume) throws TwilioRestException {
+		return this.getClient().download(this.getResourceLocation(""), file, resume);
+	}
+
 	/**
 	 * Delete this Media
 	 *
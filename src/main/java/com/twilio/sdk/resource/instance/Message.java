@@ -100,7 +100,16 @@ public class Message extends InstanceResource<TwilioRestClient> {
 	 * @return the date created
 	 */
 	public Date getDateCreated() {
-		return parseDate(this.getProperty("date_created"));
+		return getDateProperty("date_created");
+	}
+
+	/**
+	 * Gets the date created in epoch milliseconds.
+	 *
+	 * @return the date created in epoch milliseconds, or {@link #NO_VALUE} if it is not set
+	 */
+	public long getDateCreatedMillis() {
+		return getDateMillis("date_created");
 	}
 
 	/**
@@ -109,7 +118,16 @@ public class Message extends InstanceResource<TwilioRestClient> {
 	 * @return the date updated
 	 */
 	public Date getDateUpdated() {
-		return parseDate(this.getProperty("date_updated"));
+		return getDateProperty("date_updated");
+	}
+
+	/**
+	 * Gets the date updated in epoch milliseconds.
+	 *
+	 * @return the date updated in epoch milliseconds, or {@link #NO_VALUE} if it is not set
+	 */
+	public long getDateUpdatedMillis() {
+		return getDateMillis("date_updated");
 	}
 
 	/**
@@ -118,7 +136,16 @@ public class Message extends InstanceResource<TwilioRestClient> {
 	 * @return the date sent
 	 */
 	public Date getDateSent() {
-		return parseDate(this.getProperty("date_sent"));
+		return getDateProperty("date_sent");
+	}
+
+	/**
+	 * Gets the date sent in epoch milliseconds.
+	 *
+	 * @return the date sent in epoch milliseconds, or {@link #NO_VALUE} if it is not set
+	 */
+	public long getDateSentMillis() {
+		return getDateMillis("date_sent");
 	}
 
 	/**
@@ -184,6 +211,15 @@ public class Message extends InstanceResource<TwilioRestClient> {
 		return this.getProperty("price");
 	}
 
+	/**
+	 * Gets the price in millionths of the price unit.
+	 *
+	 * @return the price in micros (e.g. -15000 for "-0.01500"), or {@link #NO_VALUE} if it is not priced yet
+	 */
+	public long getPriceMicros() {
+		return getMicros("price");
+	}
+
 	/**
 	 * Gets the price.
 	 *
@@ -199,7 +235,7 @@ public class Message extends InstanceResource<TwilioRestClient> {
 	 * @return the number of segments
 	 */
 	public int getNumSegments() {
-		return Integer.parseInt(this.getProperty("num_segments"));
+		return getIntProperty("num_segments");
 	}
 
 	/**
@@ -208,7 +244,7 @@ public class Message extends InstanceResource<TwilioRestClient> {
 	 * @return the number of segments
 	 */
 	public int getNumMedia() {
-		return Integer.parseInt(this.getProperty("num_media"));
+		return getIntProperty("num_media");
 	}
 
 	/**
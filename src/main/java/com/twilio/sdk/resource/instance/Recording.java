@@ -1,11 +1,13 @@
 package com.twilio.sdk.resource.instance;
 
+import com.twilio.sdk.TransferListener;
 import com.twilio.sdk.TwilioRestClient;
 import com.twilio.sdk.TwilioRestException;
 import com.twilio.sdk.TwilioRestResponse;
 import com.twilio.sdk.resource.InstanceResource;
 import com.twilio.sdk.resource.list.TranscriptionList;
 
+import java.io.File;
 import java.io.InputStream;
 import java.util.Date;
 import java.util.Map;
@@ -101,6 +103,15 @@ public class Recording extends InstanceResource<TwilioRestClient> {
 		return getDateProperty("date_created");
 	}
 
+	/**
+	 * Gets the date created in epoch milliseconds.
+	 *
+	 * @return the date created in epoch milliseconds, or {@link #NO_VALUE} if it is not set
+	 */
+	public long getDateCreatedMillis() {
+		return getDateMillis("date_created");
+	}
+
 	/**
 	 * Gets the date updated.
 	 *
@@ -110,6 +121,15 @@ public class Recording extends InstanceResource<TwilioRestClient> {
 		return getDateProperty("date_updated");
 	}
 
+	/**
+	 * Gets the date updated in epoch milliseconds.
+	 *
+	 * @return the date updated in epoch milliseconds, or {@link #NO_VALUE} if it is not set
+	 */
+	public long getDateUpdatedMillis() {
+		return getDateMillis("date_updated");
+	}
+
 	/**
 	 * Gets the account sid.
 	 *
@@ -134,7 +154,7 @@ public class Recording extends InstanceResource<TwilioRestClient> {
 	 * @return the duration
 	 */
 	public int getDuration() {
-		return Integer.parseInt(getProperty("duration"));
+		return getIntProperty("duration");
 	}
 
 	/**
@@ -155,6 +175,15 @@ public class Recording extends InstanceResource<TwilioRestClient> {
 		return this.getProperty("price");
 	}
 
+	/**
+	 * Gets the price in millionths of the price unit.
+	 *
+	 * @return the price in micros (e.g. -15000 for "-0.01500"), or {@link #NO_VALUE} if it is not priced yet
+	 */
+	public long getPriceMicros() {
+		return getMicros("price");
+	}
+
 	/**
 	 * Gets the Price Unit.
 	 *
@@ -201,6 +230,65 @@ public class Recording extends InstanceResource<TwilioRestClient> {
 		return getClient().requestStream(getResourceLocation(extension), "GET", (Map) null);
 	}
 
+	/**
+	 * Downloads the media into a file, overwriting it.
+	 *
+	 * @param extension the extension, e.g. ".wav" or ".mp3"
+	 * @param file the file to write
+	 * @return the length of the file
+	 * @throws TwilioRestException the twilio rest exception
+	 */
+	public long downloadTo(final String extension, final File file) throws TwilioRestException {
+		return downloadTo(extension, file, false);
+	}
+
+	/**
+	 * Downloads the media into a file, resuming after failures. See
+	 * {@link com.twilio.sdk.TwilioClient#download(String, File, boolean)}.
+	 *
+	 * @param extension the extension, e.g. ".wav" or ".mp3"
+	 * @param file the file to write
+	 * @param resume true to continue a partial file left by an earlier download, false to overwrite it
+	 * @return the length of the file
+	 * @throws TwilioRestException the twilio rest exception
+	 */
+	public long downloadTo(final String extension, final File file, final boolean resume) throws TwilioRestException {
+		return downloadTo(extension, file, resume, false);
+	}
+
+	/**
+	 * Downloads the media into a file, resuming after failures. See
+	 * {@link com.twilio.sdk.TwilioClient#download(String, File, boolean, boolean)}.
+	 *
+	 * @param extension the extension, e.g. ".wav" or ".mp3"
+	 * @param file the file to write
+	 * @param resume true to continue a partial file left by an earlier download, false to overwrite it
+	 * @param requireLength true to fail if the server does not announce the length of the media
+	 * @return the length of the file
+	 * @throws TwilioRestException the twilio rest exception
+	 */
+	public long downloadTo(final String extension, final File file, final boolean resume, final boolean requireLength)
+			throws TwilioRestException {
+		return downloadTo(extension, file, resume, requireLength, null);
+	}
+
+	/**
+	 * Downloads the media into a file, resuming after failures and reporting every chunk written. See
+	 * {@link com.twilio.sdk.TwilioClient#download(String, File, boolean, boolean, TransferListener)}.
+	 *
+	 * @param extension the extension, e.g. ".wav" or ".mp3"
+	 * @param file the file to write
+	 * @param resume true to continue a partial file left by an earlier download, false to overwrite it
+	 * @param requireLength true to fail if the server does not announce the length of the media
+	 * @param listener the listener called after every chunk written, or null
+	 * @return the length of the file
+	 * @throws TwilioRestException the twilio rest exception
+	 */
+	public long downloadTo(final String extension, final File file, final boolean resume, final boolean requireLength,
+	                       final TransferListener listener) throws TwilioRestException {
+		return getClient().download(getResourceLocation(extension), file, resume, requireLength, listener);
+	}
+
 	/**
 	 * Delete this Recording
 	 *
@@ -64,7 +64,7 @@ public class Token extends InstanceResource {
 	 * @return the date created
 	 */
 	public Date getDateCreated() {
-		return parseDate(this.getProperty("date_created"));
+		return getDateProperty("date_created");
 	}
 
 	/**
@@ -73,7 +73,7 @@ public class Token extends InstanceResource {
 	 * @return the date updated
 	 */
 	public Date getDateUpdated() {
-		return parseDate(this.getProperty("date_updated"));
+		return getDateProperty("date_updated");
 	}
 
 	/**
@@ -69,7 +69,7 @@ public class Credential extends NextGenInstanceResource<TwilioIPMessagingClient>
 	 * @return The created date
 	 */
 	public Calendar getDateCreated() {
-		return parseCalendar(getProperty(DATE_CREATED_PROPERTY));
+		return getCalendarProperty(DATE_CREATED_PROPERTY);
 	}
 
 	/**
@@ -78,7 +78,7 @@ public class Credential extends NextGenInstanceResource<TwilioIPMessagingClient>
 	 * @return The updated date
 	 */
 	public Calendar getDateUpdated() {
-		return parseCalendar(getProperty(DATE_UPDATED_PROPERTY));
+		return getCalendarProperty(DATE_UPDATED_PROPERTY);
 	}
 
 	/**
@@ -112,7 +112,7 @@ public class Member extends NextGenInstanceResource<TwilioIPMessagingClient> {
 	 * @return the last consumption timestamp
 	 */
 	public Calendar getLastConsumptionTimestamp() {
-		return parseCalendar(getProperty(LAST_CONSUMPTION_TIMESTAMP_PROPERTY));
+		return getCalendarProperty(LAST_CONSUMPTION_TIMESTAMP_PROPERTY);
 	}
 
 	/**
@@ -121,7 +121,7 @@ public class Member extends NextGenInstanceResource<TwilioIPMessagingClient> {
 	 * @return The created date
 	 */
 	public Calendar getDateCreated() {
-		return parseCalendar(getProperty(DATE_CREATED_PROPERTY));
+		return getCalendarProperty(DATE_CREATED_PROPERTY);
 	}
 
 	/**
@@ -130,7 +130,7 @@ public class Member extends NextGenInstanceResource<TwilioIPMessagingClient> {
 	 * @return The updated date
 	 */
 	public Calendar getDateUpdated() {
-		return parseCalendar(getProperty(DATE_UPDATED_PROPERTY));
+		return getCalendarProperty(DATE_UPDATED_PROPERTY);
 	}
 
 	/**
@@ -95,7 +95,7 @@ public class Role extends NextGenInstanceResource<TwilioIPMessagingClient> {
 	 * @return The created date
 	 */
 	public Calendar getDateCreated() {
-		return parseCalendar(getProperty(DATE_CREATED_PROPERTY));
+		return getCalendarProperty(DATE_CREATED_PROPERTY);
 	}
 
 	/**
@@ -104,7 +104,7 @@ public class Role extends NextGenInstanceResource<TwilioIPMessagingClient> {
 	 * @return The updated date
 	 */
 	public Calendar getDateUpdated() {
-		return parseCalendar(getProperty(DATE_UPDATED_PROPERTY));
+		return getCalendarProperty(DATE_UPDATED_PROPERTY);
 	}
 
 	/**
@@ -87,7 +87,7 @@ public class Alert extends NextGenInstanceResource<TwilioMonitorClient> {
 	 * @return Calendar representing resource creation time
 	 */
 	public Calendar getDateCreated() {
-		return parseCalendar(getProperty("date_created"));
+		return getCalendarProperty("date_created");
 	}
 
 	/**
@@ -97,7 +97,7 @@ public class Alert extends NextGenInstanceResource<TwilioMonitorClient> {
 	 * @return Calendar representing the time this Alert was generated
 	 */
 	public Calendar getDateGenerated() {
-		return parseCalendar(getProperty("date_generated"));
+		return getCalendarProperty("date_generated");
 	}
 
 	/**
@@ -106,7 +106,7 @@ public class Alert extends NextGenInstanceResource<TwilioMonitorClient> {
 	 * @return Calendar representing last update time
 	 */
 	public Calendar getDateUpdated() {
-		return parseCalendar(getProperty("date_updated"));
+		return getCalendarProperty("date_updated");
 	}
 
 	/**
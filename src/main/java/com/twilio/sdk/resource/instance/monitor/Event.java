@@ -107,7 +107,7 @@ public class Event extends NextGenInstanceResource<TwilioMonitorClient> {
 	 * @return the event date
 	 */
 	public Calendar getEventDate() {
-		return parseCalendar(getProperty("event_date"));
+		return getCalendarProperty("event_date");
 	}
 
 	/**
@@ -72,7 +72,7 @@ public class Activity extends NextGenInstanceResource<TwilioTaskRouterClient> {
 	 * @return the date created
 	 */
 	public Calendar getDateCreated() {
-		return parseCalendar(getProperty(DATE_CREATED_PROPERTY));
+		return getCalendarProperty(DATE_CREATED_PROPERTY);
 	}
 
 	/**
@@ -81,7 +81,7 @@ public class Activity extends NextGenInstanceResource<TwilioTaskRouterClient> {
 	 * @return the date updated
 	 */
 	public Calendar getDateUpdated() {
-		return parseCalendar(getProperty(DATE_UPDATED_PROPERTY));
+		return getCalendarProperty(DATE_UPDATED_PROPERTY);
 	}
 
 	/**
@@ -116,7 +116,7 @@ public class Event extends NextGenInstanceResource<TwilioTaskRouterClient> {
      * @return the event date
      */
     public Calendar getEventDate() {
-        return parseCalendar(getProperty("event_date"));
+        return getCalendarProperty("event_date");
     }
 
     /**
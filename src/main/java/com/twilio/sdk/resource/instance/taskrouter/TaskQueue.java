@@ -84,7 +84,7 @@ public class TaskQueue extends NextGenInstanceResource<TwilioTaskRouterClient> {
 	 * @return the date created
 	 */
 	public Date getDateCreated() {
-		return parseIsoDate(getProperty(DATE_CREATED_PROPERTY));
+		return getIsoDateProperty(DATE_CREATED_PROPERTY);
 	}
 
 	/**
@@ -93,7 +93,7 @@ public class TaskQueue extends NextGenInstanceResource<TwilioTaskRouterClient> {
 	 * @return the date updated
 	 */
 	public Date getDateUpdated() {
-		return parseIsoDate(getProperty(DATE_UPDATED_PROPERTY));
+		return getIsoDateProperty(DATE_UPDATED_PROPERTY);
 	}
 
 	/**
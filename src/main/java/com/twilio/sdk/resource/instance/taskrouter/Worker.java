@@ -156,7 +156,7 @@ public class Worker extends NextGenInstanceResource<TwilioTaskRouterClient> {
    * @return the date created
    */
   public Date getDateCreated() {
-    return parseIsoDate(getProperty(DATE_CREATED_PROPERTY));
+    return getIsoDateProperty(DATE_CREATED_PROPERTY);
   }
 
   /**
@@ -165,7 +165,7 @@ public class Worker extends NextGenInstanceResource<TwilioTaskRouterClient> {
    * @return the date updated
    */
   public Date getDateStatusChanged() {
-    return parseIsoDate(getProperty("date_status_changed"));
+    return getIsoDateProperty("date_status_changed");
   }
 
   /**
@@ -174,7 +174,7 @@ public class Worker extends NextGenInstanceResource<TwilioTaskRouterClient> {
    * @return the date updated
    */
   public Date getDateUpdated() {
-    return parseIsoDate(getProperty(DATE_UPDATED_PROPERTY));
+    return getIsoDateProperty(DATE_UPDATED_PROPERTY);
   }
 
   /**
@@ -79,7 +79,7 @@ public class IpAccessControlList extends NextGenInstanceResource<TwilioTrunkingC
 	 * @return The created date
 	 */
 	public Calendar getDateCreated() {
-		return parseCalendar(getProperty(DATE_CREATED_PROPERTY));
+		return getCalendarProperty(DATE_CREATED_PROPERTY);
 	}
 
 	/**
@@ -88,7 +88,7 @@ public class IpAccessControlList extends NextGenInstanceResource<TwilioTrunkingC
 	 * @return The updated date
 	 */
 	public Calendar getDateUpdated() {
-		return parseCalendar(getProperty(DATE_UPDATED_PROPERTY));
+		return getCalendarProperty(DATE_UPDATED_PROPERTY);
 	}
 
 	/**
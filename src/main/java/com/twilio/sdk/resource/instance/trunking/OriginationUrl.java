@@ -133,7 +133,7 @@ public class OriginationUrl extends NextGenInstanceResource<TwilioTrunkingClient
 	 * @return The created date
 	 */
 	public Calendar getDateCreated() {
-		return parseCalendar(getProperty(DATE_CREATED_PROPERTY));
+		return getCalendarProperty(DATE_CREATED_PROPERTY);
 	}
 
 	/**
@@ -142,7 +142,7 @@ public class OriginationUrl extends NextGenInstanceResource<TwilioTrunkingClient
 	 * @return The updated date
 	 */
 	public Calendar getDateUpdated() {
-		return parseCalendar(getProperty(DATE_UPDATED_PROPERTY));
+		return getCalendarProperty(DATE_UPDATED_PROPERTY);
 	}
 
 	/**
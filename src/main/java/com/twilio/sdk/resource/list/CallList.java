@@ -10,6 +10,8 @@ import org.apache.http.NameValuePair;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 // TODO: Auto-generated Javadoc
 /**
@@ -81,4 +83,32 @@ public class CallList extends ListResource<Call, TwilioRestClient> implements Ca
 		return makeNew(this.getClient(), response.toMap());
 	}
 
+	/**
+	 * Creates the Call on a thread of the client's async executor, see {@link TwilioRestClient#getAsyncExecutor()}.
+	 *
+	 * @param params the params map
+	 * @return a future completing with the call, or failing with the {@link TwilioRestException}
+	 */
+	public Future<Call> createAsync(final Map<String, String> params) {
+		return this.getClient().getAsyncExecutor().submit(new Callable<Call>() {
+			public Call call() throws TwilioRestException {
+				return create(params);
+			}
+		});
+	}
+
+	/**
+	 * Creates the Call on a thread of the client's async executor, see {@link TwilioRestClient#getAsyncExecutor()}.
+	 *
+	 * @param params the params list
+	 * @return a future completing with the call, or failing with the {@link TwilioRestException}
+	 */
+	public Future<Call> createAsync(final List<NameValuePair> params) {
+		return this.getClient().getAsyncExecutor().submit(new Callable<Call>() {
+			public Call call() throws TwilioRestException {
+				return create(params);
+			}
+		});
+	}
+
 }
@@ -10,6 +10,8 @@ import org.apache.http.NameValuePair;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 // TODO: Auto-generated Javadoc
 /**
@@ -72,4 +74,34 @@ public class MessageList extends ListResource<Message, TwilioRestClient> impleme
 		return makeNew(this.getClient(), response.toMap());
 	}
 
+	/**
+	 * Creates the message with a single request, without the retries of the client's retry policy, for callers
+	 * that retry on their own.
+	 *
+	 * @param params the params list
+	 * @return the message
+	 * @throws TwilioRestException if the message was not created
+	 */
+	public Message createOnce(final List<NameValuePair> params) throws TwilioRestException {
+		TwilioRestResponse response = this.getClient().request(this.getResourceLocation(), "POST", params);
+		if (response.isError()) {
+			throw TwilioRestException.parseResponse(response);
+		}
+		return makeNew(this.getClient(), response.toMap());
+	}
+
+	/**
+	 * Creates the message on a thread of the client's async executor, see {@link TwilioRestClient#getAsyncExecutor()}.
+	 *
+	 * @param params the params list
+	 * @return a future completing with the message, or failing with the {@link TwilioRestException}
+	 */
+	public Future<Message> createAsync(final List<NameValuePair> params) {
+		return this.getClient().getAsyncExecutor().submit(new Callable<Message>() {
+			public Message call() throws TwilioRestException {
+				return create(params);
+			}
+		});
+	}
+
 }
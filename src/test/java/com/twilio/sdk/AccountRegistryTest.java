@@ -0,0 +1,110 @@
+package com.twilio.sdk;
+
+import com.twilio.sdk.resource.instance.Account;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.junit.Test;
+import org.mockito.Matchers;
+
+import static com.twilio.sdk.test.CannedResponses.json;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the AccountRegistry.
+ */
+public class AccountRegistryTest {
+
+	private static final String TOKEN = "0123456789abcdef0123456789abcdef";
+
+	private final TwilioRestClient parent = new TwilioRestClient("AC0123456789abcdef0123456789abcdef", TOKEN);
+
+	private static String sid(final int i) {
+		return "AC" + String.format("%032d", i);
+	}
+
+	@Test
+	public void testCachedAccount() {
+		AccountRegistry registry = new AccountRegistry.Builder(parent).build();
+		Account account = registry.getAccount(sid(1));
+
+		assertSame(account, registry.getAccount(sid(1)));
+		assertEquals(sid(1), account.getSid());
+		assertEquals(1, registry.getMisses());
+		assertEquals(1, registry.getHits());
+	}
+
+	@Test
+	public void testCachedClient() {
+		AccountRegistry registry = new AccountRegistry.Builder(parent).build();
+		TwilioRestClient client = registry.getClient(sid(1), TOKEN);
+
+		assertSame(client, registry.getClient(sid(1), TOKEN));
+		assertEquals(sid(1), client.getAccountSid());
+		assertSame(parent.getTransport(), client.getTransport());
+		assertSame(parent.getHttpClient(), client.getHttpClient());
+
+		TwilioRestClient rotated = registry.getClient(sid(1), "fedcba9876543210fedcba9876543210");
+		assertNotSame(client, rotated);
+		assertEquals("fedcba9876543210fedcba9876543210", rotated.getAccount().getAuthToken());
+	}
+
+	@Test
+	public void testClientLooksUpAuthTokenOnce() throws Exception {
+		HttpClient httpClient = mock(HttpClient.class);
+		when(httpClient.execute(Matchers.<HttpUriRequest>anyObject())).thenReturn(
+				json("{\"sid\": \"" + sid(1) + "\", \"auth_token\": \"" + TOKEN + "\"}"));
+		parent.setHttpClient(httpClient);
+
+		AccountRegistry registry = new AccountRegistry.Builder(parent).build();
+		TwilioRestClient client = registry.getClient(sid(1));
+		assertEquals(sid(1), client.getAccountSid());
+		assertEquals(1, registry.getMisses());
+		assertEquals(0, registry.getHits());
+
+		assertSame(client, registry.getClient(sid(1)));
+		assertEquals(1, registry.getHits());
+		verify(httpClient, times(1)).execute(Matchers.<HttpUriRequest>anyObject());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEviction() {
+		AccountRegistry registry = new AccountRegistry.Builder(parent).maxEntries(2).build();
+		Account first = registry.getAccount(sid(1));
+		registry.getAccount(sid(2));
+		registry.getAccount(sid(1));
+		Account third = registry.getAccount(sid(3));
+
+		assertEquals(2, registry.size());
+		assertEquals(1, registry.getEvictions());
+		assertSame(first, registry.getAccount(sid(1)));
+		assertSame(third, registry.getAccount(sid(3)));
+		assertEquals(3, registry.getMisses());
+	}
+
+	@Test
+	public void testIdleExpiry() throws InterruptedException {
+		AccountRegistry registry = new AccountRegistry.Builder(parent).idleTimeout(20).build();
+		Account account = registry.getAccount(sid(1));
+		Thread.sleep(50);
+
+		assertEquals(0, registry.size());
+		assertEquals(1, registry.getEvictions());
+		assertNotSame(account, registry.getAccount(sid(1)));
+	}
+
+	@Test
+	public void testInvalidate() {
+		AccountRegistry registry = new AccountRegistry.Builder(parent).build();
+		Account account = registry.getAccount(sid(1));
+		registry.invalidate(sid(1));
+
+		assertEquals(0, registry.size());
+		assertNotSame(account, registry.getAccount(sid(1)));
+	}
+}
@@ -0,0 +1,181 @@
+package com.twilio.sdk;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.junit.Test;
+import org.mockito.Matchers;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.util.Map;
+
+import static com.twilio.sdk.test.CannedResponses.json;
+import static com.twilio.sdk.test.CannedResponses.response;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the per-host circuit breaker.
+ */
+public class CircuitBreakerTest {
+
+	private static final String ACCOUNT_SID = "AC0123456789abcdef0123456789abcdef";
+
+	private static final String TASKROUTER = "taskrouter.twilio.com";
+
+	private static CircuitBreaker breaker(final long openDuration) {
+		return new CircuitBreaker.Builder()
+				.windowSize(4)
+				.minimumCalls(4)
+				.failureRateThreshold(50)
+				.slowCallThreshold(1000)
+				.openDuration(openDuration)
+				.halfOpenCalls(2)
+				.build();
+	}
+
+	private static void call(final CircuitBreaker breaker, final String host, final boolean failure)
+			throws CircuitBreakerOpenException {
+		breaker.acquirePermission(host);
+		breaker.onResult(host, failure, 0);
+	}
+
+	@Test
+	public void testOpensOnFailureRate() throws Exception {
+		CircuitBreaker breaker = breaker(60000);
+
+		call(breaker, TASKROUTER, false);
+		call(breaker, TASKROUTER, true);
+		call(breaker, TASKROUTER, false);
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(TASKROUTER));
+		call(breaker, TASKROUTER, true);
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState(TASKROUTER));
+
+		try {
+			breaker.acquirePermission(TASKROUTER);
+			fail("Expected the circuit to be open");
+		} catch (final CircuitBreakerOpenException e) {
+			assertEquals(TASKROUTER, e.getHost());
+			assertEquals(503, e.getErrorCode());
+		}
+
+		// Other hosts are unaffected
+		call(breaker, "api.twilio.com", false);
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState("api.twilio.com"));
+	}
+
+	@Test
+	public void testOpensOnSlowCalls() throws Exception {
+		CircuitBreaker breaker = new CircuitBreaker.Builder()
+				.windowSize(2)
+				.minimumCalls(2)
+				.slowCallThreshold(100)
+				.slowCallRateThreshold(100)
+				.build();
+
+		breaker.acquirePermission(TASKROUTER);
+		breaker.onResult(TASKROUTER, false, 200000000L);
+		breaker.acquirePermission(TASKROUTER);
+		breaker.onResult(TASKROUTER, false, 300000000L);
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState(TASKROUTER));
+	}
+
+	@Test
+	public void testHalfOpenTrials() throws Exception {
+		CircuitBreaker breaker = breaker(20);
+		for (int i = 0; i < 4; i++) {
+			call(breaker, TASKROUTER, true);
+		}
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState(TASKROUTER));
+
+		Thread.sleep(30);
+		assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState(TASKROUTER));
+
+		// Only two trial requests at a time
+		breaker.acquirePermission(TASKROUTER);
+		breaker.acquirePermission(TASKROUTER);
+		try {
+			breaker.acquirePermission(TASKROUTER);
+			fail("Expected the trials to be exhausted");
+		} catch (final CircuitBreakerOpenException e) {
+			assertEquals(0, e.getRetryAfterMillis());
+		}
+
+		// A failed trial opens the circuit again
+		breaker.onResult(TASKROUTER, true, 0);
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState(TASKROUTER));
+
+		Thread.sleep(30);
+		call(breaker, TASKROUTER, false);
+		call(breaker, TASKROUTER, false);
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(TASKROUTER));
+	}
+
+	@Test
+	public void testClientFailsFast() throws Exception {
+		HttpClient httpClient = mock(HttpClient.class);
+		when(httpClient.execute(Matchers.<HttpUriRequest>anyObject())).thenReturn(json(503, "{}"), json(503, "{}"),
+		                                                                          json(503, "{}"), json(503, "{}"));
+
+		TwilioRestClient client = new TwilioRestClient(ACCOUNT_SID, "0123456789abcdef0123456789abcdef");
+		client.setHttpClient(httpClient);
+		client.setRetryPolicy(new ExponentialBackoffRetryPolicy(1, 5, 1000));
+		client.setCircuitBreaker(breaker(60000));
+
+		String path = "/2010-04-01/Accounts/" + ACCOUNT_SID + ".json";
+		try {
+			client.safeRequest(path, "GET", (Map<String, String>) null);
+			fail("Expected the request to fail");
+		} catch (final TwilioRestException e) {
+			assertEquals(503, e.getErrorCode());
+		}
+		try {
+			client.safeRequest(path, "GET", (Map<String, String>) null);
+			fail("Expected the circuit to be open");
+		} catch (final CircuitBreakerOpenException e) {
+			assertEquals("api.twilio.com", e.getHost());
+		}
+
+		// Three attempts, then one more before the circuit opened
+		verify(httpClient, times(4)).execute(Matchers.<HttpUriRequest>anyObject());
+	}
+
+	@Test
+	public void testSlowBodyIsNotASlowCall() throws Exception {
+		HttpResponse download = response(200, new ByteArrayInputStream(new byte[4096]) {
+			@Override
+			public synchronized int read(final byte[] b, final int off, final int len) {
+				try {
+					Thread.sleep(20);
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return super.read(b, off, Math.min(len, 512));
+			}
+		}, 4096, "audio/mpeg");
+		HttpClient httpClient = mock(HttpClient.class);
+		when(httpClient.execute(Matchers.<HttpUriRequest>anyObject())).thenReturn(download);
+
+		TwilioRestClient client = new TwilioRestClient(ACCOUNT_SID, "0123456789abcdef0123456789abcdef");
+		client.setHttpClient(httpClient);
+		client.setCircuitBreaker(new CircuitBreaker.Builder()
+				                         .windowSize(1)
+				                         .minimumCalls(1)
+				                         .slowCallThreshold(100)
+				                         .build());
+
+		File file = File.createTempFile("recording", ".mp3");
+		try {
+			assertEquals(4096, client.download("/2010-04-01/Accounts/" + ACCOUNT_SID + "/Recordings/RE123.mp3", file,
+			                                   false));
+			assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitBreaker().getState("api.twilio.com"));
+		} finally {
+			file.delete();
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package com.twilio.sdk;
+
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.junit.Test;
+import org.mockito.Matchers;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.twilio.sdk.test.CannedResponses.json;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for request metrics and the histogram metrics listener.
+ */
+public class HistogramMetricsListenerTest {
+
+	private static final String ACCOUNT_SID = "AC0123456789abcdef0123456789abcdef";
+
+	@Test
+	public void testNormalizePath() {
+		assertEquals("/2010-04-01/Accounts/{sid}/Messages",
+		             RequestMetrics.normalizePath("https://api.twilio.com/2010-04-01/Accounts/" + ACCOUNT_SID
+		                                          + "/Messages.json?PageSize=50"));
+		assertEquals("/2010-04-01/Accounts/{sid}/Calls/{sid}/Recordings",
+		             RequestMetrics.normalizePath("/2010-04-01/Accounts/" + ACCOUNT_SID
+		                                          + "/Calls/CA0123456789abcdef0123456789abcdef/Recordings.json"));
+		assertEquals("/v1/PhoneNumbers/{id}", RequestMetrics.normalizePath(
+				"https://lookups.twilio.com/v1/PhoneNumbers/+15108675309?Type=carrier"));
+		assertEquals("/v1/Voice/Countries/{id}", RequestMetrics.normalizePath("/v1/Voice/Countries/US"));
+		assertEquals("/2010-04-01/Accounts/{sid}/Recordings/{sid}.mp3", RequestMetrics.normalizePath(
+				"/2010-04-01/Accounts/" + ACCOUNT_SID + "/Recordings/RE0123456789abcdef0123456789abcdef.mp3"));
+		assertEquals("/2010-04-01/Accounts", RequestMetrics.normalizePath("/2010-04-01/Accounts.json"));
+		assertEquals("/", RequestMetrics.normalizePath("https://api.twilio.com"));
+	}
+
+	@Test
+	public void testHistogramPrecision() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+		}
+
+		assertEquals(1000, histogram.getCount());
+		assertEquals(1000, histogram.getMax(TimeUnit.MILLISECONDS));
+		assertEquals(500.5, histogram.getMean(TimeUnit.MILLISECONDS), 0.5);
+		long p50 = histogram.getPercentile(50, TimeUnit.MILLISECONDS);
+		long p99 = histogram.getPercentile(99, TimeUnit.MILLISECONDS);
+		assertTrue("p50 " + p50, p50 >= 500 && p50 <= 532);
+		assertTrue("p99 " + p99, p99 >= 990 && p99 <= 1000);
+	}
+
+	@Test
+	public void testBucketBounds() {
+		for (long value = 0; value < 100000; value += 7) {
+			int bucket = LatencyHistogram.bucketOf(value);
+			assertTrue(value <= LatencyHistogram.upperBoundOf(bucket));
+			assertTrue(bucket == 0 || value > LatencyHistogram.upperBoundOf(bucket - 1));
+		}
+	}
+
+	@Test
+	public void testClientReportsAttempts() throws Exception {
+		HttpClient httpClient = mock(HttpClient.class);
+		when(httpClient.execute(Matchers.<HttpUriRequest>anyObject())).thenReturn(json(503, "{\"calls\": []}"),
+		                                                                          json("{\"calls\": []}"));
+
+		HistogramMetricsListener listener = new HistogramMetricsListener();
+		TwilioRestClient client = new TwilioRestClient(ACCOUNT_SID, "0123456789abcdef0123456789abcdef", null,
+		                                               new TwilioClientConfig.Builder()
+				                                               .metricsListener(listener)
+				                                               .retryPolicy(new ExponentialBackoffRetryPolicy(1, 5, 1000))
+				                                               .build());
+		client.setHttpClient(httpClient);
+
+		TwilioRestResponse restResponse = client.safeRequest("/2010-04-01/Accounts/" + ACCOUNT_SID + "/Calls.json",
+		                                                     "GET", (Map<String, String>) null);
+		restResponse.toMap();
+		restResponse.toMap();
+
+		HistogramMetricsListener.Endpoint endpoint = listener.getEndpoint("GET", "/2010-04-01/Accounts/{sid}/Calls");
+		assertNotNull(endpoint);
+		assertEquals(2, endpoint.getTotal().getCount());
+		assertEquals(2, endpoint.getBodyRead().getCount());
+		assertEquals(1, endpoint.getParse().getCount());
+		assertEquals(0, endpoint.getConnect().getCount());
+		assertEquals(1, endpoint.getRetries());
+		assertEquals(Long.valueOf(1), endpoint.getStatusCodes().get(503));
+		assertEquals(Long.valueOf(1), endpoint.getStatusCodes().get(200));
+		assertTrue(listener.summary().startsWith("GET /2010-04-01/Accounts/{sid}/Calls count=2"));
+	}
+
+	@Test
+	public void testEndpointsAreCapped() {
+		HistogramMetricsListener listener = new HistogramMetricsListener();
+		for (int i = 0; i < HistogramMetricsListener.MAX_ENDPOINTS + 10; i++) {
+			RequestMetrics metrics = new RequestMetrics("GET", "/v1/Services/service-" + i, 1);
+			metrics.complete(200, null);
+			listener.requestCompleted(metrics);
+		}
+
+		assertEquals(HistogramMetricsListener.MAX_ENDPOINTS + 1, listener.getEndpoints().size());
+		assertEquals(1, listener.getEndpoint("GET", "/v1/Services/service-0").getTotal().getCount());
+		assertEquals(10, listener.getEndpoint("GET", HistogramMetricsListener.OTHER_PATH).getTotal().getCount());
+	}
+}
@@ -0,0 +1,128 @@
+package com.twilio.sdk;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.junit.Test;
+import org.mockito.Matchers;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.twilio.sdk.test.CannedResponses.json;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the client-side rate limiter.
+ */
+public class RateLimiterTest {
+
+	private static final String ACCOUNT_SID = "AC0123456789abcdef0123456789abcdef";
+
+	private static final String API = "api.twilio.com";
+
+	@Test
+	public void testRateIsEnforced() throws Exception {
+		RateLimiter limiter = new RateLimiter.Builder().permitsPerSecond(50).burst(1).build();
+
+		long start = System.nanoTime();
+		for (int i = 0; i < 5; i++) {
+			limiter.acquire(ACCOUNT_SID, API).release();
+		}
+		long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertTrue("elapsed " + elapsed, elapsed >= 70);
+		RateLimiter.Stats stats = limiter.getStats(ACCOUNT_SID, API);
+		assertEquals(5, stats.getAcquired());
+		assertEquals(4, stats.getWaited());
+		assertTrue(stats.getTotalWaitMillis() >= 70);
+	}
+
+	@Test
+	public void testFailFastOnConcurrency() throws Exception {
+		RateLimiter limiter = new RateLimiter.Builder().maxConcurrent(1).mode(RateLimiter.Mode.FAIL_FAST).build();
+
+		RateLimiter.Permit permit = limiter.acquire(ACCOUNT_SID, API);
+		try {
+			limiter.acquire(ACCOUNT_SID, API);
+			fail("Expected the limiter to refuse the request");
+		} catch (final RateLimitExceededException e) {
+			assertEquals(429, e.getErrorCode());
+		}
+
+		// Other hosts and accounts have their own allowance
+		limiter.acquire(ACCOUNT_SID, "lookups.twilio.com").release();
+		limiter.acquire("AC00000000000000000000000000000000", API).release();
+
+		permit.release();
+		permit.release();
+		limiter.acquire(ACCOUNT_SID, API).release();
+		assertEquals(1, limiter.getStats().getRejected());
+	}
+
+	@Test
+	public void testBlockingWaitTimesOut() throws Exception {
+		RateLimiter limiter = new RateLimiter.Builder().maxConcurrent(1).maxWait(20).build();
+
+		limiter.acquire(ACCOUNT_SID, API);
+		try {
+			limiter.acquire(ACCOUNT_SID, API);
+			fail("Expected the wait to time out");
+		} catch (final RateLimitExceededException e) {
+			assertEquals(1, limiter.getStats(ACCOUNT_SID, API).getRejected());
+		}
+	}
+
+	@Test
+	public void testAsyncWaitCompletesOnRelease() throws Exception {
+		RateLimiter limiter = new RateLimiter.Builder().maxConcurrent(1).mode(RateLimiter.Mode.ASYNC_WAIT).build();
+		RateLimiter.Permit first = limiter.acquire(ACCOUNT_SID, API);
+
+		final CountDownLatch latch = new CountDownLatch(1);
+		final AtomicReference<RateLimiter.Permit> second = new AtomicReference<RateLimiter.Permit>();
+		limiter.acquireAsync(ACCOUNT_SID, API, new RateLimiter.PermitCallback() {
+			public void acquired(final RateLimiter.Permit permit) {
+				second.set(permit);
+				latch.countDown();
+			}
+
+			public void rejected(final RateLimitExceededException e) {
+			}
+		});
+
+		assertFalse(latch.await(50, TimeUnit.MILLISECONDS));
+		first.release();
+		assertTrue(latch.await(1, TimeUnit.SECONDS));
+		assertNotNull(second.get());
+	}
+
+	@Test
+	public void testClientIsLimited() throws Exception {
+		HttpClient httpClient = mock(HttpClient.class);
+		when(httpClient.execute(Matchers.<HttpUriRequest>anyObject())).thenReturn((HttpResponse) json("{}"));
+
+		TwilioRestClient client = new TwilioRestClient(ACCOUNT_SID, "0123456789abcdef0123456789abcdef");
+		client.setHttpClient(httpClient);
+		client.setRateLimiter(new RateLimiter.Builder().permitsPerSecond(0.01).burst(1)
+				                      .mode(RateLimiter.Mode.FAIL_FAST).build());
+
+		String path = "/2010-04-01/Accounts/" + ACCOUNT_SID + ".json";
+		client.safeRequest(path, "GET", (Map<String, String>) null);
+		try {
+			client.safeRequest(path, "GET", (Map<String, String>) null);
+			fail("Expected the limiter to refuse the request");
+		} catch (final RateLimitExceededException e) {
+			verify(httpClient, times(1)).execute(Matchers.<HttpUriRequest>anyObject());
+		}
+	}
+}
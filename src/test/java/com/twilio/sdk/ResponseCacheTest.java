@@ -0,0 +1,316 @@
+package com.twilio.sdk;
+
+import com.twilio.sdk.parser.JsonPageReader;
+import com.twilio.sdk.resource.instance.IncomingPhoneNumber;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+
+import java.io.ByteArrayInputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.twilio.sdk.test.CannedResponses.json;
+import static com.twilio.sdk.test.CannedResponses.response;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the ResponseCache.
+ */
+public class ResponseCacheTest {
+
+	private static final String ACCOUNT_SID = "AC0123456789abcdef0123456789abcdef";
+
+	private static final String NUMBERS = "https://api.twilio.com/2010-04-01/Accounts/" + ACCOUNT_SID
+	                                      + "/IncomingPhoneNumbers";
+
+	private static final String NUMBER_SID = "PN0123456789abcdef0123456789abcdef";
+
+	private static String number(final int i) {
+		return NUMBERS + "/PN" + String.format("%032d", i) + ".json";
+	}
+
+	private static TwilioRestResponse ok(final String uri) {
+		return new TwilioRestResponse(uri, "{\"sid\": \"" + uri + "\"}", 200);
+	}
+
+	@Test
+	public void testResourceType() {
+		assertEquals("IncomingPhoneNumbers", ResponseCache.resourceTypeOf(NUMBERS + ".json?PageSize=50"));
+		assertEquals("IncomingPhoneNumbers", ResponseCache.resourceTypeOf(number(1)));
+		assertEquals("Activities", ResponseCache.resourceTypeOf(
+				"https://taskrouter.twilio.com/v1/Workspaces/WS0123456789abcdef0123456789abcdef/Activities"));
+		assertEquals("Countries", ResponseCache.resourceTypeOf("/v1/Voice/Countries/US"));
+	}
+
+	@Test
+	public void testOnlyConfiguredTypesAreCached() {
+		ResponseCache cache = new ResponseCache.Builder().ttl("IncomingPhoneNumbers", 60000).build();
+		String queue = "https://api.twilio.com/2010-04-01/Accounts/" + ACCOUNT_SID + "/Queues.json";
+		cache.put(ACCOUNT_SID, queue, ok(queue));
+		cache.put(ACCOUNT_SID, number(1), ok(number(1)));
+		cache.put(ACCOUNT_SID, number(2), new TwilioRestResponse(number(2), "{}", 404));
+
+		assertNull(cache.get(ACCOUNT_SID, queue));
+		assertNull(cache.get(ACCOUNT_SID, number(2)));
+		assertNull(cache.get("ACfedcba9876543210fedcba9876543210", number(1)));
+		assertNotNull(cache.get(ACCOUNT_SID, number(1)));
+		assertEquals(1, cache.size());
+		assertEquals(1, cache.getStats("IncomingPhoneNumbers").getHits());
+		assertEquals(2, cache.getStats("IncomingPhoneNumbers").getMisses());
+		assertEquals(0, cache.getStats("Queues").getMisses());
+	}
+
+	@Test
+	public void testExpiry() throws InterruptedException {
+		ResponseCache cache = new ResponseCache.Builder().ttl("IncomingPhoneNumbers", 20).build();
+		cache.put(ACCOUNT_SID, number(1), ok(number(1)));
+		assertNotNull(cache.get(ACCOUNT_SID, number(1)));
+
+		Thread.sleep(50);
+		assertNull(cache.get(ACCOUNT_SID, number(1)));
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getBytes());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEviction() {
+		ResponseCache cache = new ResponseCache.Builder().defaultTtl(60000).maxEntries(2).build();
+		cache.put(ACCOUNT_SID, number(1), ok(number(1)));
+		cache.put(ACCOUNT_SID, number(2), ok(number(2)));
+		cache.get(ACCOUNT_SID, number(1));
+		cache.put(ACCOUNT_SID, number(3), ok(number(3)));
+
+		assertNotNull(cache.get(ACCOUNT_SID, number(1)));
+		assertNull(cache.get(ACCOUNT_SID, number(2)));
+		assertNotNull(cache.get(ACCOUNT_SID, number(3)));
+		assertEquals(1, cache.getStats().getEvictions());
+	}
+
+	@Test
+	public void testLeastFrequentlyUsedEviction() {
+		ResponseCache cache = new ResponseCache.Builder().defaultTtl(60000).maxEntries(2)
+				.eviction(ResponseCache.Eviction.LFU).build();
+		cache.put(ACCOUNT_SID, number(1), ok(number(1)));
+		cache.put(ACCOUNT_SID, number(2), ok(number(2)));
+		cache.get(ACCOUNT_SID, number(1));
+		cache.get(ACCOUNT_SID, number(1));
+		cache.get(ACCOUNT_SID, number(2));
+		cache.put(ACCOUNT_SID, number(3), ok(number(3)));
+
+		assertNotNull(cache.get(ACCOUNT_SID, number(1)));
+		assertNull(cache.get(ACCOUNT_SID, number(2)));
+	}
+
+	@Test
+	public void testMaxBytes() {
+		ResponseCache cache = new ResponseCache.Builder().defaultTtl(60000).maxBytes(2000).build();
+		for (int i = 0; i < 10; i++) {
+			cache.put(ACCOUNT_SID, number(i), ok(number(i)));
+		}
+
+		assertEquals(2, cache.size());
+		assertTrue(cache.getBytes() <= 2000);
+		assertNotNull(cache.get(ACCOUNT_SID, number(9)));
+	}
+
+	@Test
+	public void testPerTypeBounds() {
+		ResponseCache cache = new ResponseCache.Builder().defaultTtl(60000).maxEntries("IncomingPhoneNumbers", 2)
+				.build();
+		String queues = "https://api.twilio.com/2010-04-01/Accounts/" + ACCOUNT_SID + "/Queues.json";
+		cache.put(ACCOUNT_SID, queues, ok(queues));
+		for (int i = 0; i < 5; i++) {
+			cache.put(ACCOUNT_SID, number(i), ok(number(i)));
+		}
+
+		assertEquals(3, cache.size());
+		assertNotNull(cache.get(ACCOUNT_SID, queues));
+		assertNotNull(cache.get(ACCOUNT_SID, number(4)));
+		assertNull(cache.get(ACCOUNT_SID, number(2)));
+		assertEquals(3, cache.getStats("IncomingPhoneNumbers").getEvictions());
+	}
+
+	@Test
+	public void testFullCacheEvictsFromTheLargestType() {
+		ResponseCache cache = new ResponseCache.Builder().defaultTtl(60000).maxEntries(3).build();
+		String queues = "https://api.twilio.com/2010-04-01/Accounts/" + ACCOUNT_SID + "/Queues.json";
+		cache.put(ACCOUNT_SID, queues, ok(queues));
+		for (int i = 0; i < 5; i++) {
+			cache.put(ACCOUNT_SID, number(i), ok(number(i)));
+		}
+
+		assertEquals(3, cache.size());
+		assertNotNull(cache.get(ACCOUNT_SID, queues));
+		assertNotNull(cache.get(ACCOUNT_SID, number(3)));
+		assertNotNull(cache.get(ACCOUNT_SID, number(4)));
+		assertEquals(0, cache.getStats("Queues").getEvictions());
+		assertEquals(3, cache.getStats().getEvictions());
+	}
+
+	@Test
+	public void testInvalidate() {
+		ResponseCache cache = new ResponseCache.Builder().defaultTtl(60000).build();
+		String list = NUMBERS + ".json?PageSize=50";
+		cache.put(ACCOUNT_SID, list, ok(list));
+		cache.put(ACCOUNT_SID, number(1), ok(number(1)));
+		cache.put(ACCOUNT_SID, number(2), ok(number(2)));
+
+		cache.invalidate(number(1));
+
+		assertNull(cache.get(ACCOUNT_SID, list));
+		assertNull(cache.get(ACCOUNT_SID, number(1)));
+		assertNotNull(cache.get(ACCOUNT_SID, number(2)));
+		assertEquals(2, cache.getStats().getInvalidations());
+	}
+
+	@Test
+	public void testClientReadThrough() throws Exception {
+		ResponseCache cache = new ResponseCache.Builder().ttl("IncomingPhoneNumbers", 60000).build();
+		TwilioRestClient client = new TwilioRestClient(ACCOUNT_SID, "0123456789abcdef0123456789abcdef", null,
+		                                               new TwilioClientConfig.Builder().responseCache(cache).build());
+		HttpClient httpClient = mock(HttpClient.class);
+		when(httpClient.execute(Matchers.<HttpUriRequest>anyObject())).thenReturn(
+				json("{\"sid\": \"" + NUMBER_SID + "\", \"friendly_name\": \"first\"}"),
+				json("{\"sid\": \"" + NUMBER_SID + "\", \"friendly_name\": \"second\"}"),
+				json("{\"sid\": \"" + NUMBER_SID + "\", \"friendly_name\": \"second\"}"));
+		client.setHttpClient(httpClient);
+
+		IncomingPhoneNumber first = client.getAccount().getIncomingPhoneNumber(NUMBER_SID);
+		assertEquals("first", first.getFriendlyName());
+		IncomingPhoneNumber second = client.getAccount().getIncomingPhoneNumber(NUMBER_SID);
+		assertEquals("first", second.getFriendlyName());
+		verify(httpClient, times(1)).execute(Matchers.<HttpUriRequest>anyObject());
+
+		Map<String, String> params = new HashMap<String, String>();
+		params.put("FriendlyName", "second");
+		second.update(params);
+		assertEquals(0, cache.size());
+
+		IncomingPhoneNumber third = client.getAccount().getIncomingPhoneNumber(NUMBER_SID);
+		assertEquals("second", third.getFriendlyName());
+		verify(httpClient, times(3)).execute(Matchers.<HttpUriRequest>anyObject());
+		assertEquals(1, cache.getStats("IncomingPhoneNumbers").getHits());
+		assertSame(cache, client.getResponseCache());
+	}
+
+	@Test
+	public void testAsyncRequestsUseTheCache() throws Exception {
+		ResponseCache cache = new ResponseCache.Builder().ttl("IncomingPhoneNumbers", 60000).build();
+		TwilioRestClient client = new TwilioRestClient(ACCOUNT_SID, "0123456789abcdef0123456789abcdef", null,
+		                                               new TwilioClientConfig.Builder().responseCache(cache).build());
+		HttpClient httpClient = mock(HttpClient.class);
+		when(httpClient.execute(Matchers.<HttpUriRequest>anyObject())).thenReturn(
+				json("{\"sid\": \"" + NUMBER_SID + "\", \"friendly_name\": \"first\"}"),
+				json("{\"sid\": \"" + NUMBER_SID + "\", \"friendly_name\": \"second\"}"),
+				json("{\"sid\": \"" + NUMBER_SID + "\", \"friendly_name\": \"second\"}"));
+		client.setHttpClient(httpClient);
+
+		String path = "/2010-04-01/Accounts/" + ACCOUNT_SID + "/IncomingPhoneNumbers/" + NUMBER_SID + ".json";
+		assertEquals("first", client.safeRequestAsync(path, "GET", (Map<String, String>) null).get().toMap()
+		                            .get("friendly_name"));
+		assertEquals("first", client.safeRequestAsync(path, "GET", (Map<String, String>) null).get().toMap()
+		                            .get("friendly_name"));
+		verify(httpClient, times(1)).execute(Matchers.<HttpUriRequest>anyObject());
+
+		Map<String, String> params = new HashMap<String, String>();
+		params.put("FriendlyName", "second");
+		client.safeRequestAsync(path, "POST", params).get();
+		assertEquals(0, cache.size());
+
+		TwilioRestResponse third = client.safeRequest(path, "GET", (Map<String, String>) null);
+		assertEquals("second", third.toMap().get("friendly_name"));
+		verify(httpClient, times(3)).execute(Matchers.<HttpUriRequest>anyObject());
+		assertEquals(1, cache.getStats("IncomingPhoneNumbers").getHits());
+	}
+
+	@Test
+	public void testConditionalRevalidation() throws Exception {
+		ResponseCache cache = new ResponseCache.Builder().ttl("IncomingPhoneNumbers", 200).build();
+		TwilioRestClient client = new TwilioRestClient(ACCOUNT_SID, "0123456789abcdef0123456789abcdef", null,
+		                                               new TwilioClientConfig.Builder().responseCache(cache).build());
+		HttpResponse tagged = json("{\"sid\": \"" + NUMBER_SID + "\", \"friendly_name\": \"first\"}");
+		tagged.setHeader("ETag", "\"v1\"");
+		tagged.setHeader("Last-Modified", "Tue, 15 Nov 1994 12:45:26 GMT");
+		HttpClient httpClient = mock(HttpClient.class);
+		when(httpClient.execute(Matchers.<HttpUriRequest>anyObject())).thenReturn(
+				tagged, response(304));
+		client.setHttpClient(httpClient);
+
+		String path = "/2010-04-01/Accounts/" + ACCOUNT_SID + "/IncomingPhoneNumbers/" + NUMBER_SID + ".json";
+		TwilioRestResponse first = client.safeRequest(path, "GET", (Map<String, String>) null);
+		Map<String, Object> properties = first.toMap();
+		Thread.sleep(250);
+
+		TwilioRestResponse second = client.safeRequest(path, "GET", (Map<String, String>) null);
+		assertNotSame(first, second);
+		assertEquals(properties, second.toMap());
+		assertEquals("\"v1\"", second.getHeader("ETag"));
+		assertEquals(1, cache.getStats().getRevalidations());
+
+		ArgumentCaptor<HttpUriRequest> captor = ArgumentCaptor.forClass(HttpUriRequest.class);
+		verify(httpClient, times(2)).execute(captor.capture());
+		assertNull(captor.getAllValues().get(0).getFirstHeader("If-None-Match"));
+		HttpUriRequest conditional = captor.getAllValues().get(1);
+		assertEquals("\"v1\"", conditional.getFirstHeader("If-None-Match").getValue());
+		assertEquals("Tue, 15 Nov 1994 12:45:26 GMT", conditional.getFirstHeader("If-Modified-Since").getValue());
+
+		// Fresh again after revalidation
+		assertEquals(properties, client.safeRequest(path, "GET", (Map<String, String>) null).toMap());
+		verify(httpClient, times(2)).execute(Matchers.<HttpUriRequest>anyObject());
+	}
+
+	@Test
+	public void testHitsAreCopies() throws Exception {
+		ResponseCache cache = new ResponseCache.Builder().ttl("IncomingPhoneNumbers", 60000).build();
+		TwilioRestResponse response = ok(number(1));
+		response.setContentType("application/json");
+		cache.put(ACCOUNT_SID, number(1), response);
+		response.setResponseText("{}");
+
+		TwilioRestResponse first = cache.get(ACCOUNT_SID, number(1));
+		first.toMap().put("sid", "changed");
+		first.setHttpStatus(500);
+
+		TwilioRestResponse second = cache.get(ACCOUNT_SID, number(1));
+		assertNotSame(first, second);
+		assertEquals(200, second.getHttpStatus());
+		assertEquals(number(1), second.toMap().get("sid"));
+	}
+
+	@Test
+	public void testCachedStreamHasTheOriginalBytes() throws Exception {
+		ResponseCache cache = new ResponseCache.Builder().ttl("IncomingPhoneNumbers", 60000).build();
+		TwilioRestClient client = new TwilioRestClient(ACCOUNT_SID, "0123456789abcdef0123456789abcdef", null,
+		                                               new TwilioClientConfig.Builder().responseCache(cache).build());
+		// UTF-8 sent without a charset is decoded as ISO-8859-1, and the stream must give back the UTF-8 bytes
+		byte[] body = ("{\"incoming_phone_numbers\": [{\"friendly_name\": \"Z\u00fcrich\"}]}").getBytes("UTF-8");
+		HttpClient httpClient = mock(HttpClient.class);
+		when(httpClient.execute(Matchers.<HttpUriRequest>anyObject())).thenReturn(
+				response(200, new ByteArrayInputStream(body), body.length, "application/json"));
+		client.setHttpClient(httpClient);
+
+		String path = "/2010-04-01/Accounts/" + ACCOUNT_SID + "/IncomingPhoneNumbers.json";
+		for (int i = 0; i < 2; i++) {
+			JsonPageReader reader = new JsonPageReader(client.safeRequestStream(path, "GET",
+			                                                                    (Map<String, String>) null),
+			                                           "incoming_phone_numbers");
+			assertEquals("Z\u00fcrich", reader.nextElement().get("friendly_name"));
+			reader.close();
+		}
+		verify(httpClient, times(1)).execute(Matchers.<HttpUriRequest>anyObject());
+		assertEquals(1, cache.getStats().getHits());
+	}
+}
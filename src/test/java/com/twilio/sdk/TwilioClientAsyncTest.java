@@ -0,0 +1,104 @@
+package com.twilio.sdk;
+
+import com.twilio.sdk.resource.instance.Message;
+import com.twilio.sdk.resource.list.MessageList;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.NameValuePair;
+import org.apache.http.StatusLine;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicNameValuePair;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the asynchronous request path of TwilioClient.
+ */
+public class TwilioClientAsyncTest {
+
+	private static final String ACCOUNT_SID = "AC0123456789abcdef0123456789abcdef";
+
+	private final HttpClient httpClient = mock(HttpClient.class);
+	private final BasicHttpResponse response = mock(BasicHttpResponse.class);
+	private final Header contentType = mock(Header.class);
+	private final StatusLine statusLine = mock(StatusLine.class);
+	private final HttpEntity entity = mock(HttpEntity.class);
+
+	private TwilioRestClient client;
+
+	@Before
+	public void setUp() throws Exception {
+		client = new TwilioRestClient(ACCOUNT_SID, "0123456789abcdef0123456789abcdef");
+		client.setHttpClient(httpClient);
+
+		when(contentType.getValue()).thenReturn("application/json");
+		when(response.getHeaders("Content-Type")).thenReturn(new Header[] {contentType});
+		when(response.getStatusLine()).thenReturn(statusLine);
+		when(response.getEntity()).thenReturn(entity);
+		when(httpClient.execute(Matchers.<HttpUriRequest>anyObject())).thenReturn(response);
+	}
+
+	private void setExpectedServerAnswer(final int status, final String body) throws Exception {
+		when(statusLine.getStatusCode()).thenReturn(status);
+		when(entity.getContent()).thenReturn(new ByteArrayInputStream(body.getBytes("UTF-8")));
+	}
+
+	@Test
+	public void testRequestAsync() throws Exception {
+		setExpectedServerAnswer(200, "{\"sid\": \"" + ACCOUNT_SID + "\"}");
+
+		Future<TwilioRestResponse> future = client.requestAsync("/2010-04-01/Accounts/" + ACCOUNT_SID + ".json",
+		                                                        "GET", (Map<String, String>) null);
+
+		TwilioRestResponse restResponse = future.get();
+		assertEquals(200, restResponse.getHttpStatus());
+		assertEquals(ACCOUNT_SID, restResponse.toMap().get("sid"));
+	}
+
+	@Test
+	public void testSafeRequestAsyncFailsWithClientError() throws Exception {
+		setExpectedServerAnswer(404, "{\"code\": 20404, \"message\": \"Not found\", \"status\": 404}");
+
+		Future<TwilioRestResponse> future = client.safeRequestAsync("/2010-04-01/Accounts/" + ACCOUNT_SID
+		                                                            + "/Calls/CA123.json", "GET",
+		                                                            (Map<String, String>) null);
+
+		try {
+			future.get();
+			fail("Expected the future to fail");
+		} catch (final ExecutionException e) {
+			assertTrue(e.getCause() instanceof TwilioRestException);
+			assertEquals(20404, ((TwilioRestException) e.getCause()).getErrorCode());
+		}
+	}
+
+	@Test
+	public void testCreateMessageAsync() throws Exception {
+		setExpectedServerAnswer(201, "{\"sid\": \"MM123\", \"body\": \"Hello\"}");
+
+		List<NameValuePair> params = new ArrayList<NameValuePair>();
+		params.add(new BasicNameValuePair("Body", "Hello"));
+
+		MessageList messages = client.getAccount().getMessages();
+		Message message = messages.createAsync(params).get();
+
+		assertEquals("MM123", message.getSid());
+		assertEquals("Hello", message.getBody());
+	}
+}
@@ -0,0 +1,66 @@
+package com.twilio.sdk;
+
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.params.HttpParams;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for TwilioClientConfig and how clients apply it.
+ */
+public class TwilioClientConfigTest {
+
+	private static final String ACCOUNT_SID = "AC0123456789abcdef0123456789abcdef";
+	private static final String AUTH_TOKEN = "0123456789abcdef0123456789abcdef";
+
+	@Test
+	public void testDefaults() {
+		TwilioRestClient client = new TwilioRestClient(ACCOUNT_SID, AUTH_TOKEN);
+		TwilioClientConfig config = client.getConfig();
+
+		assertEquals(TwilioClientConfig.DEFAULT_MAX_CONNECTIONS_PER_ROUTE, config.getMaxConnectionsPerRoute());
+		assertEquals(TwilioClientConfig.DEFAULT_MAX_CONNECTIONS_PER_ROUTE, config.getAsyncThreads());
+
+		HttpParams params = client.getHttpClient().getParams();
+		assertEquals(TwilioClientConfig.DEFAULT_READ_TIMEOUT, params.getIntParameter("http.socket.timeout", 0));
+		assertEquals(TwilioClientConfig.DEFAULT_CONNECTION_TIMEOUT,
+		             params.getIntParameter("http.connection.timeout", 0));
+		assertTrue(params.getBooleanParameter("http.tcp.nodelay", false));
+	}
+
+	@Test
+	public void testCustomConfig() {
+		TwilioClientConfig config = new TwilioClientConfig.Builder()
+				.maxConnectionsPerRoute(50)
+				.maxConnectionsTotal(120)
+				.connectionTimeout(2000)
+				.readTimeout(5000)
+				.staleConnectionCheck(false)
+				.idleConnectionTimeout(30000)
+				.keepAlive(60000)
+				.build();
+
+		TwilioTaskRouterClient client = new TwilioTaskRouterClient(ACCOUNT_SID, AUTH_TOKEN,
+		                                                           "https://taskrouter.twilio.com", config);
+
+		PoolingClientConnectionManager mgr = (PoolingClientConnectionManager) client.getHttpClient()
+				.getConnectionManager();
+		assertEquals(50, mgr.getDefaultMaxPerRoute());
+		assertEquals(120, mgr.getMaxTotal());
+		assertEquals(50, config.getAsyncThreads());
+
+		HttpParams params = client.getHttpClient().getParams();
+		assertEquals(5000, params.getIntParameter("http.socket.timeout", 0));
+		assertEquals(2000, params.getIntParameter("http.connection.timeout", 0));
+		assertFalse(params.getBooleanParameter("http.connection.stalecheck", true));
+	}
+
+	@Test
+	public void testTotalNeverBelowPerRoute() {
+		TwilioClientConfig config = new TwilioClientConfig.Builder().maxConnectionsPerRoute(40).build();
+		assertEquals(40, config.getMaxConnectionsTotal());
+	}
+}
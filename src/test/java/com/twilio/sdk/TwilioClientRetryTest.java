@@ -0,0 +1,146 @@
+package com.twilio.sdk;
+
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.message.BasicHeader;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.Map;
+
+import static com.twilio.sdk.test.CannedResponses.json;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the retry policy and the retrying request path of TwilioClient.
+ */
+public class TwilioClientRetryTest {
+
+	private static final String ACCOUNT_SID = "AC0123456789abcdef0123456789abcdef";
+
+	private static final String CALLS = "/2010-04-01/Accounts/" + ACCOUNT_SID + "/Calls.json";
+
+	private final HttpClient httpClient = mock(HttpClient.class);
+
+	private TwilioRestClient client;
+
+	@Before
+	public void setUp() throws Exception {
+		client = new TwilioRestClient(ACCOUNT_SID, "0123456789abcdef0123456789abcdef");
+		client.setHttpClient(httpClient);
+		client.setRetryPolicy(new ExponentialBackoffRetryPolicy(1, 5, 1000));
+	}
+
+	private void setExpectedServerAnswers(final int status, final int... moreStatuses) throws Exception {
+		HttpResponse[] more = new HttpResponse[moreStatuses.length];
+		for (int i = 0; i < more.length; i++) {
+			more[i] = response(moreStatuses[i]);
+		}
+		when(httpClient.execute(Matchers.<HttpUriRequest>anyObject())).thenReturn(response(status), more);
+	}
+
+	private static HttpResponse response(final int status) {
+		return json(status, "{\"code\": 20429, \"message\": \"Slow down\", \"status\": 429}");
+	}
+
+	private static TwilioRestResponse restResponse(final int status, final String retryAfter) {
+		TwilioRestResponse restResponse = new TwilioRestResponse("https://api.twilio.com" + CALLS, "", status);
+		if (retryAfter != null) {
+			restResponse.setHeaders(new Header[] {new BasicHeader("retry-after", retryAfter)});
+		}
+		return restResponse;
+	}
+
+	@Test
+	public void testBackoffIsBoundedAndJittered() {
+		RetryPolicy policy = new ExponentialBackoffRetryPolicy(100, 1000, 60000);
+		for (int attempt = 1; attempt < 10; attempt++) {
+			long bound = Math.min(1000, 100L << (attempt - 1));
+			for (int i = 0; i < 50; i++) {
+				long delay = policy.getRetryDelay("GET", attempt, 0, restResponse(503, null), null);
+				assertTrue(delay >= 0 && delay <= bound);
+			}
+		}
+	}
+
+	@Test
+	public void testRetryAfterIsHonoured() {
+		RetryPolicy policy = new ExponentialBackoffRetryPolicy(100, 1000, 60000);
+		assertEquals(7000, policy.getRetryDelay("POST", 1, 0, restResponse(429, "7"), null));
+		assertEquals(-1, policy.getRetryDelay("POST", 1, 0, restResponse(429, "120"), null));
+	}
+
+	@Test
+	public void testPostIsOnlyRetriedWhenNotProcessed() {
+		RetryPolicy policy = new ExponentialBackoffRetryPolicy();
+		assertEquals(-1, policy.getRetryDelay("POST", 1, 0, restResponse(500, null), null));
+		assertEquals(-1, policy.getRetryDelay("POST", 1, 0, null, new SocketTimeoutException()));
+		assertTrue(policy.getRetryDelay("POST", 1, 0, null, new ConnectException()) >= 0);
+		assertTrue(policy.getRetryDelay("POST", 1, 0, restResponse(429, null), null) >= 0);
+		assertTrue(policy.getRetryDelay("GET", 1, 0, null, new SocketTimeoutException()) >= 0);
+		assertTrue(policy.getRetryDelay("DELETE", 1, 0, restResponse(500, null), null) >= 0);
+	}
+
+	@Test
+	public void testMaxElapsedStopsRetries() {
+		RetryPolicy policy = new ExponentialBackoffRetryPolicy(100, 1000, 5000);
+		assertEquals(-1, policy.getRetryDelay("GET", 2, 5000, restResponse(503, null), null));
+	}
+
+	@Test
+	public void testGetRetriesServerErrors() throws Exception {
+		setExpectedServerAnswers(503, 500, 200);
+
+		TwilioRestResponse restResponse = client.safeRequest(CALLS, "GET", (Map<String, String>) null);
+
+		assertEquals(200, restResponse.getHttpStatus());
+		verify(httpClient, times(3)).execute(Matchers.<HttpUriRequest>anyObject());
+	}
+
+	@Test
+	public void testPostIsNotRetriedOnServerError() throws Exception {
+		setExpectedServerAnswers(500, 200);
+
+		try {
+			client.safeRequest(CALLS, "POST", (Map<String, String>) null);
+			fail("Expected the request to fail");
+		} catch (final TwilioRestException e) {
+			assertEquals(500, e.getErrorCode());
+		}
+		verify(httpClient, times(1)).execute(Matchers.<HttpUriRequest>anyObject());
+	}
+
+	@Test
+	public void testTooManyRequestsIsRetriedThenReported() throws Exception {
+		setExpectedServerAnswers(429, 429, 429);
+
+		try {
+			client.safeRequest(CALLS, "POST", (Map<String, String>) null);
+			fail("Expected the request to fail");
+		} catch (final TwilioRestException e) {
+			assertEquals(20429, e.getErrorCode());
+		}
+		verify(httpClient, times(3)).execute(Matchers.<HttpUriRequest>anyObject());
+	}
+
+	@Test
+	public void testIOExceptionIsRetriedForGet() throws Exception {
+		when(httpClient.execute(Matchers.<HttpUriRequest>anyObject())).thenThrow(new IOException("reset"))
+				.thenReturn(response(200));
+
+		assertEquals(200, client.get("https://api.twilio.com" + CALLS).getHttpStatus());
+		verify(httpClient, times(2)).execute(Matchers.<HttpUriRequest>anyObject());
+	}
+}
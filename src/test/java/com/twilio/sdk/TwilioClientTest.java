@@ -1,11 +1,45 @@
 package com.twilio.sdk;
 
+import org.apache.commons.codec.binary.Base64;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.StatusLine;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.entity.ByteArrayEntity;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
+import static com.twilio.sdk.test.CannedResponses.json;
+import static com.twilio.sdk.test.CannedResponses.response;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 
 // TODO: Auto-generated Javadoc
@@ -79,4 +113,210 @@ public class TwilioClientTest {
 		assertEquals(200, response.getHttpStatus());
 	}
 
+	/**
+	 * Test every request carries the preemptive Basic authorization header.
+	 */
+	@Test
+	public void testPreemptiveAuthorizationHeader() throws Exception {
+		HttpClient httpClient = mock(HttpClient.class);
+		HttpResponse response = mock(HttpResponse.class);
+		StatusLine statusLine = mock(StatusLine.class);
+		HttpEntity entity = mock(HttpEntity.class);
+		when(httpClient.execute(Matchers.<HttpUriRequest>anyObject())).thenReturn(response);
+		when(response.getStatusLine()).thenReturn(statusLine);
+		when(response.getEntity()).thenReturn(entity);
+		when(response.getHeaders("Content-Type")).thenReturn(new Header[0]);
+		when(statusLine.getStatusCode()).thenReturn(200);
+		when(entity.getContent()).thenReturn(new ByteArrayInputStream(new byte[0]));
+
+		TwilioClient client = new TwilioRestClient("ACXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXX",
+		                                           "XXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXX");
+		client.setHttpClient(httpClient);
+		client.request("/2010-04-01/Accounts.json", "GET", (Map) null);
+		client.request("/2010-04-01/Accounts.json", "POST", (Map) null);
+
+		ArgumentCaptor<HttpUriRequest> captor = ArgumentCaptor.forClass(HttpUriRequest.class);
+		verify(httpClient, times(2)).execute(captor.capture());
+
+		String expected = "Basic " + new String(Base64.encodeBase64(
+				"ACXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXX:XXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXX".getBytes("UTF-8")), "US-ASCII");
+		for (final HttpUriRequest request : captor.getAllValues()) {
+			assertEquals(expected, request.getFirstHeader("Authorization").getValue());
+		}
+	}
+
+	/**
+	 * Test the Authorization header follows redirects on the endpoint host, but not to other hosts.
+	 */
+	@Test
+	public void testAuthorizationNotSentToRedirectHosts() throws Exception {
+		final List<HttpUriRequest> requests = new ArrayList<HttpUriRequest>();
+		HttpClient httpClient = mock(HttpClient.class);
+		when(httpClient.execute(Matchers.<HttpUriRequest>anyObject())).thenAnswer(new Answer<HttpResponse>() {
+			public HttpResponse answer(final InvocationOnMock invocation) throws Throwable {
+				HttpUriRequest request = (HttpUriRequest) invocation.getArguments()[0];
+				requests.add(request);
+				String path = request.getURI().getPath();
+				if (path.endsWith("RE123.wav")) {
+					HttpResponse response = response(302);
+					response.setHeader("Location", "/2010-04-01/Accounts/AC123/Recordings/RE123.mp3");
+					return response;
+				} else if (path.endsWith("RE123.mp3") && "api.twilio.com".equals(request.getURI().getHost())) {
+					HttpResponse response = response(307);
+					response.setHeader("Location", "https://storage.example.com/RE123.mp3?Signature=abc");
+					return response;
+				}
+				return response(200, "audio", "audio/mpeg");
+			}
+		});
+
+		TwilioClient client = new TwilioRestClient("ACXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXX",
+		                                           "XXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXX");
+		client.setHttpClient(httpClient);
+		TwilioRestResponse response = client.request("/2010-04-01/Accounts/AC123/Recordings/RE123.wav", "GET",
+		                                             (Map) null);
+
+		assertEquals(200, response.getHttpStatus());
+		assertEquals("audio", response.getResponseText());
+		assertEquals(3, requests.size());
+		assertEquals("api.twilio.com", requests.get(1).getURI().getHost());
+		assertTrue(requests.get(0).containsHeader("Authorization"));
+		assertTrue(requests.get(1).containsHeader("Authorization"));
+		assertEquals("storage.example.com", requests.get(2).getURI().getHost());
+		assertFalse(requests.get(2).containsHeader("Authorization"));
+		assertEquals("utf-8", requests.get(2).getFirstHeader("Accept-Charset").getValue());
+		assertFalse(requests.get(2).getParams().getBooleanParameter(ClientPNames.HANDLE_REDIRECTS, true));
+	}
+
+	/**
+	 * Test the Authorization header does not follow a redirect to another scheme or port of the endpoint host.
+	 */
+	@Test
+	public void testAuthorizationNotSentToOtherOrigins() throws Exception {
+		final List<HttpUriRequest> requests = new ArrayList<HttpUriRequest>();
+		HttpClient httpClient = mock(HttpClient.class);
+		when(httpClient.execute(Matchers.<HttpUriRequest>anyObject())).thenAnswer(new Answer<HttpResponse>() {
+			public HttpResponse answer(final InvocationOnMock invocation) throws Throwable {
+				HttpUriRequest request = (HttpUriRequest) invocation.getArguments()[0];
+				requests.add(request);
+				if ("https".equals(request.getURI().getScheme())) {
+					HttpResponse response = response(302);
+					response.setHeader("Location", "http://api.twilio.com/2010-04-01/Accounts/AC123/Recordings/RE1.mp3");
+					return response;
+				}
+				return response(200, "audio", "audio/mpeg");
+			}
+		});
+
+		TwilioClient client = new TwilioRestClient("ACXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXX",
+		                                           "XXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXX");
+		client.setHttpClient(httpClient);
+		client.request("/2010-04-01/Accounts/AC123/Recordings/RE1.mp3", "GET", (Map) null);
+
+		assertEquals(2, requests.size());
+		assertTrue(requests.get(0).containsHeader("Authorization"));
+		assertFalse(requests.get(1).containsHeader("Authorization"));
+
+		URI endpoint = URI.create("https://api.twilio.com");
+		assertTrue(TwilioClient.sameOrigin(endpoint, URI.create("https://API.twilio.com:443/2010-04-01")));
+		assertFalse(TwilioClient.sameOrigin(endpoint, URI.create("https://api.twilio.com:8443/2010-04-01")));
+		assertFalse(TwilioClient.sameOrigin(endpoint, URI.create("http://api.twilio.com/2010-04-01")));
+	}
+
+	/**
+	 * Test compressed responses are requested when enabled, decompressed and counted.
+	 */
+	@Test
+	public void testGzipResponse() throws Exception {
+		String body = "{\"sid\": \"CAXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXX\", \"status\": \"completed\"}";
+		StringBuilder largeBody = new StringBuilder("{\"calls\": [");
+		for (int i = 0; i < 100; i++) {
+			largeBody.append(i == 0 ? "" : ", ").append(body);
+		}
+		largeBody.append("]}");
+
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		GZIPOutputStream gzip = new GZIPOutputStream(compressed);
+		gzip.write(largeBody.toString().getBytes("UTF-8"));
+		gzip.close();
+
+		ByteArrayEntity entity = new ByteArrayEntity(compressed.toByteArray());
+		entity.setContentEncoding("gzip");
+		HttpResponse response = response(200);
+		response.setEntity(entity);
+		response.setHeader("Content-Type", "application/json");
+		response.setHeader("Content-Encoding", "gzip");
+
+		HttpClient httpClient = mock(HttpClient.class);
+		when(httpClient.execute(Matchers.<HttpUriRequest>anyObject())).thenReturn((HttpResponse) response);
+
+		TwilioClient client = new TwilioRestClient("ACXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXX",
+		                                           "XXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXX",
+		                                           null, new TwilioClientConfig.Builder().compression(true).build());
+		client.setHttpClient(httpClient);
+		TwilioRestResponse restResponse = client.safeRequest("/2010-04-01/Accounts.json", "GET",
+		                                                     (Map<String, String>) null);
+
+		ArgumentCaptor<HttpUriRequest> captor = ArgumentCaptor.forClass(HttpUriRequest.class);
+		verify(httpClient).execute(captor.capture());
+		assertEquals("gzip, deflate", captor.getValue().getFirstHeader("Accept-Encoding").getValue());
+
+		assertEquals(largeBody.toString(), restResponse.getResponseText());
+		assertEquals(100, ((List) restResponse.toMap().get("calls")).size());
+		assertEquals(compressed.size(), restResponse.getCompressedLength());
+		assertEquals(largeBody.length(), restResponse.getDecompressedLength());
+		assertEquals(compressed.size(), client.getCompressedBytes());
+		assertEquals(largeBody.length(), client.getDecompressedBytes());
+	}
+
+	/**
+	 * Test concurrent identical GETs share one request and one response when coalescing.
+	 */
+	@Test
+	public void testCoalescedGets() throws Exception {
+		final CountDownLatch release = new CountDownLatch(1);
+		final HttpResponse inFlight = json("{\"sid\": \"PN0\"}");
+		HttpClient httpClient = mock(HttpClient.class);
+		when(httpClient.execute(Matchers.<HttpUriRequest>anyObject())).thenAnswer(new Answer<HttpResponse>() {
+			public HttpResponse answer(final InvocationOnMock invocation) throws Throwable {
+				release.await(5, TimeUnit.SECONDS);
+				return inFlight;
+			}
+		}).thenReturn(json("{\"sid\": \"PN1\"}"));
+
+		final TwilioClient client = new TwilioRestClient("ACXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXX",
+		                                                 "XXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXX",
+		                                                 null, new TwilioClientConfig.Builder().coalesceRequests(true).build());
+		client.setHttpClient(httpClient);
+
+		final Map<String, String> params = new HashMap<String, String>();
+		params.put("PageSize", "50");
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<Future<TwilioRestResponse>> responses = new ArrayList<Future<TwilioRestResponse>>();
+		for (int i = 0; i < 4; i++) {
+			responses.add(executor.submit(new Callable<TwilioRestResponse>() {
+				public TwilioRestResponse call() throws Exception {
+					return client.safeRequest("/2010-04-01/Accounts.json", "GET", params);
+				}
+			}));
+		}
+		for (int i = 0; i < 500 && client.getCoalescedRequests() < 3; i++) {
+			Thread.sleep(10);
+		}
+		release.countDown();
+
+		TwilioRestResponse first = responses.get(0).get();
+		for (final Future<TwilioRestResponse> restResponse : responses) {
+			assertSame(first, restResponse.get());
+		}
+		assertEquals(3, client.getCoalescedRequests());
+		verify(httpClient, times(1)).execute(Matchers.<HttpUriRequest>anyObject());
+
+		// Requests no longer in flight are sent again
+		assertEquals("PN0", first.toMap().get("sid"));
+		assertEquals("PN1", client.safeRequest("/2010-04-01/Accounts.json", "GET", params).toMap().get("sid"));
+		verify(httpClient, times(2)).execute(Matchers.<HttpUriRequest>anyObject());
+		executor.shutdown();
+	}
+
 }
@@ -4,7 +4,11 @@ import com.twilio.sdk.parser.JsonResponseParser;
 import com.twilio.sdk.parser.XmlResponseParser;
 import org.junit.Test;
 
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 
@@ -61,4 +65,20 @@ public class TwilioRestResponseTest {
 		response.setContentType("text/html");
 	}
 
+	/**
+	 * Test the body is parsed once and re-parsed after it changes.
+	 */
+	@Test
+	public void testTwilioRestResponseToMapIsCached() {
+		TwilioRestResponse response = new TwilioRestResponse("http://example.com/test", "{\"sid\": \"CA1\"}", 200);
+		response.setContentType("application/json");
+
+		Map<String, Object> first = response.toMap();
+		assertEquals("CA1", first.get("sid"));
+		assertSame(first, response.toMap());
+
+		response.setResponseText("{\"sid\": \"CA2\"}");
+		assertEquals("CA2", response.toMap().get("sid"));
+	}
+
 }
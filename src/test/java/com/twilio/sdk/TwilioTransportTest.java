@@ -0,0 +1,81 @@
+package com.twilio.sdk;
+
+import org.apache.commons.codec.binary.Base64;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.twilio.sdk.test.CannedResponses.json;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for clients sharing a TwilioTransport.
+ */
+public class TwilioTransportTest {
+
+	private static final String FIRST_SID = "AC0123456789abcdef0123456789abcdef";
+
+	private static final String SECOND_SID = "ACfedcba9876543210fedcba9876543210";
+
+	private static final String TOKEN = "0123456789abcdef0123456789abcdef";
+
+	private static String basic(final String username) throws Exception {
+		return "Basic " + new String(Base64.encodeBase64((username + ":" + TOKEN).getBytes("UTF-8")), "US-ASCII");
+	}
+
+	@Test
+	public void testClientsShareTransport() {
+		TwilioTransport transport = new TwilioTransport(new TwilioClientConfig.Builder()
+				.maxConnectionsPerRoute(5)
+				.build());
+		TwilioRestClient first = new TwilioRestClient(FIRST_SID, TOKEN, null, transport);
+		TwilioTaskRouterClient second = new TwilioTaskRouterClient(SECOND_SID, TOKEN, null, transport);
+
+		assertSame(transport, first.getTransport());
+		assertSame(transport.getHttpClient(), first.getHttpClient());
+		assertSame(transport.getHttpClient(), second.getHttpClient());
+		assertSame(transport.getAsyncExecutor(), first.getAsyncExecutor());
+		assertSame(transport.getAsyncExecutor(), second.getAsyncExecutor());
+		assertEquals(5, second.getConfig().getMaxConnectionsPerRoute());
+		transport.shutdown();
+	}
+
+	@Test
+	public void testCredentialsPerRequest() throws Exception {
+		RateLimiter limiter = new RateLimiter.Builder().permitsPerSecond(1000).build();
+		TwilioTransport transport = new TwilioTransport(new TwilioClientConfig.Builder().rateLimiter(limiter).build());
+		TwilioRestClient first = new TwilioRestClient(FIRST_SID, TOKEN, null, transport);
+		TwilioRestClient second = new TwilioRestClient(SECOND_SID, TOKEN, null, transport);
+
+		HttpClient httpClient = mock(HttpClient.class);
+		when(httpClient.execute(Matchers.<HttpUriRequest>anyObject())).thenReturn(json("{}"), json("{}"),
+		                                                                          json("{}"));
+		first.setHttpClient(httpClient);
+		second.setHttpClient(httpClient);
+
+		first.request("/2010-04-01/Accounts/" + FIRST_SID + "/Calls.json", "GET", (Map) null);
+		second.request("/2010-04-01/Accounts/" + SECOND_SID + "/Calls.json", "GET", (Map) null);
+		first.request("/2010-04-01/Accounts/" + FIRST_SID + "/Calls.json", "POST", (Map) null);
+
+		ArgumentCaptor<HttpUriRequest> captor = ArgumentCaptor.forClass(HttpUriRequest.class);
+		verify(httpClient, times(3)).execute(captor.capture());
+		List<HttpUriRequest> requests = captor.getAllValues();
+		assertEquals(basic(FIRST_SID), requests.get(0).getFirstHeader("Authorization").getValue());
+		assertEquals(basic(SECOND_SID), requests.get(1).getFirstHeader("Authorization").getValue());
+		assertEquals(basic(FIRST_SID), requests.get(2).getFirstHeader("Authorization").getValue());
+
+		assertEquals(2, limiter.getStats(FIRST_SID, "api.twilio.com").getAcquired());
+		assertEquals(1, limiter.getStats(SECOND_SID, "api.twilio.com").getAcquired());
+		transport.shutdown();
+	}
+}
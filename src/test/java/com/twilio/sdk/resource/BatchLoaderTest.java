@@ -0,0 +1,110 @@
+package com.twilio.sdk.resource;
+
+import com.twilio.sdk.TwilioRestClient;
+import com.twilio.sdk.TwilioRestException;
+import com.twilio.sdk.resource.instance.Call;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.twilio.sdk.test.CannedResponses.json;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BatchLoaderTest {
+
+	private static final String ACCOUNT_SID = "AC0123456789abcdef0123456789abcdef";
+
+	private static String sid(final int i) {
+		return "CA" + String.format("%032d", i);
+	}
+
+	/**
+	 * Answers call requests after a short delay, with 404 for sids ending in 7, tracking concurrent requests.
+	 */
+	private static HttpClient server(final AtomicInteger maxInFlight) {
+		final AtomicInteger inFlight = new AtomicInteger();
+		// A proxy rather than a mock, as Mockito answers one invocation at a time
+		return (HttpClient) Proxy.newProxyInstance(HttpClient.class.getClassLoader(), new Class<?>[] {HttpClient.class},
+		                                           new InvocationHandler() {
+			public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+				if (!"execute".equals(method.getName()) || args.length != 1) {
+					throw new UnsupportedOperationException(method.getName());
+				}
+				int current = inFlight.incrementAndGet();
+				synchronized (maxInFlight) {
+					maxInFlight.set(Math.max(maxInFlight.get(), current));
+				}
+				try {
+					Thread.sleep(20);
+					String path = ((HttpUriRequest) args[0]).getURI().getPath();
+					String sid = path.substring(path.lastIndexOf('/') + 1, path.length() - ".json".length());
+					if (sid.endsWith("7")) {
+						return json(404, "{\"status\": 404, \"message\": \"not found\", \"code\": 20404}");
+					}
+					return json("{\"sid\": \"" + sid + "\", \"status\": \"completed\"}");
+				} finally {
+					inFlight.decrementAndGet();
+				}
+			}
+		});
+	}
+
+	@Test
+	public void testLoadInOrderWithErrors() throws Exception {
+		AtomicInteger maxInFlight = new AtomicInteger();
+		TwilioRestClient client = new TwilioRestClient(ACCOUNT_SID, "0123456789abcdef0123456789abcdef");
+		client.setHttpClient(server(maxInFlight));
+
+		List<String> sids = new ArrayList<String>();
+		for (int i = 0; i < 20; i++) {
+			sids.add(sid(i));
+		}
+		List<BatchLoader.Result<Call>> calls = new BatchLoader.Builder().parallelism(4).build()
+				.loadCalls(client.getAccount(), sids);
+
+		assertEquals(20, calls.size());
+		for (int i = 0; i < 20; i++) {
+			BatchLoader.Result<Call> call = calls.get(i);
+			assertEquals(sid(i), call.getSid());
+			if (i % 10 == 7) {
+				assertFalse(call.isSuccess());
+				assertNull(call.getResource());
+				assertTrue(call.getError() instanceof TwilioRestException);
+				assertEquals(20404, ((TwilioRestException) call.getError()).getErrorCode());
+			} else {
+				assertTrue(call.isSuccess());
+				assertEquals(sid(i), call.getResource().getSid());
+				assertEquals("completed", call.getResource().getStatus());
+			}
+		}
+		assertTrue(maxInFlight.get() > 1);
+		assertTrue(maxInFlight.get() <= 4);
+	}
+
+	@Test
+	public void testEmptyAndSequential() throws Exception {
+		AtomicInteger maxInFlight = new AtomicInteger();
+		TwilioRestClient client = new TwilioRestClient(ACCOUNT_SID, "0123456789abcdef0123456789abcdef");
+		client.setHttpClient(server(maxInFlight));
+
+		assertTrue(client.getAccount().loadCalls(Collections.<String>emptyList()).isEmpty());
+
+		List<BatchLoader.Result<Call>> calls = new BatchLoader.Builder().parallelism(1).build()
+				.loadCalls(client.getAccount(), Arrays.asList(sid(1), sid(2)));
+		assertEquals(2, calls.size());
+		assertEquals(sid(2), calls.get(1).getResource().getSid());
+		assertEquals(1, maxInFlight.get());
+	}
+}
@@ -0,0 +1,165 @@
+package com.twilio.sdk.resource;
+
+import com.twilio.sdk.TwilioRestClient;
+import com.twilio.sdk.resource.instance.Call;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class DateRangeExporterTest {
+
+	private static final long DAY = 24L * 60 * 60 * 1000;
+
+	private final TwilioRestClient client = mock(TwilioRestClient.class);
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+	/**
+	 * A call list serving one page of calls, one per day of its StartTime range.
+	 */
+	private class DayList extends ListResource<Call, TwilioRestClient> {
+
+		DayList(final Map<String, String> filters) {
+			super(client, filters);
+		}
+
+		@Override
+		protected void load(final Map<String, String> params) {
+			pageData = new ArrayList<Call>();
+			String day = params.get("StartTime>=");
+			while (day.compareTo(params.get("StartTime<=")) <= 0) {
+				Map<String, Object> properties = new HashMap<String, Object>();
+				properties.put("sid", day);
+				pageData.add(new Call(client, properties));
+				day = nextDay(day);
+			}
+			setLoaded(true);
+		}
+
+		@Override
+		protected Call makeNew(final TwilioRestClient client, final Map<String, Object> params) {
+			return new Call(client, params);
+		}
+
+		@Override
+		protected String getListKey() {
+			return "calls";
+		}
+
+		@Override
+		protected String getResourceLocation() {
+			return "/Calls.json";
+		}
+	}
+
+	private static String nextDay(final String day) {
+		int dayOfMonth = Integer.parseInt(day.substring(8)) + 1;
+		return day.substring(0, 8) + (dayOfMonth < 10 ? "0" : "") + dayOfMonth;
+	}
+
+	private DateRangeExporter<Call> exporter(final int partitions) {
+		Map<String, String> filters = new HashMap<String, String>();
+		filters.put("Status", "completed");
+		filters.put("StartTime>", "2015-01-01");
+
+		// 2015-03-01 to 2015-03-10
+		Date from = new Date(16495 * DAY);
+		Date to = new Date(16504 * DAY);
+		return new DateRangeExporter<Call>(filters, "StartTime", from, to, partitions, executor) {
+			@Override
+			protected ListResource<Call, ?> createList(final Map<String, String> partitionFilters) {
+				return new DayList(partitionFilters);
+			}
+		};
+	}
+
+	@Test
+	public void testPartitionFilters() {
+		DateRangeExporter<Call> exporter = exporter(3);
+		assertEquals(3, exporter.getPartitions());
+
+		Map<String, String> first = exporter.getPartitionFilters(0);
+		assertEquals("2015-03-01", first.get("StartTime>="));
+		assertEquals("2015-03-04", first.get("StartTime<="));
+		assertEquals("completed", first.get("Status"));
+		assertFalse(first.containsKey("StartTime>"));
+
+		assertEquals("2015-03-05", exporter.getPartitionFilters(1).get("StartTime>="));
+		assertEquals("2015-03-07", exporter.getPartitionFilters(1).get("StartTime<="));
+		assertEquals("2015-03-08", exporter.getPartitionFilters(2).get("StartTime>="));
+		assertEquals("2015-03-10", exporter.getPartitionFilters(2).get("StartTime<="));
+
+		assertEquals(10, exporter(50).getPartitions());
+	}
+
+	@Test
+	public void testOrderedExport() {
+		DateRangeExporter<Call> exporter = exporter(4);
+		exporter.setBufferSize(1);
+
+		final List<String> sids = new ArrayList<String>();
+		long count = exporter.export(new DateRangeExporter.Sink<Call>() {
+			public void accept(final Call call) {
+				sids.add(call.getSid());
+			}
+		});
+
+		assertEquals(10, count);
+		assertEquals("2015-03-01", sids.get(0));
+		assertEquals("2015-03-10", sids.get(9));
+		List<String> sorted = new ArrayList<String>(sids);
+		Collections.sort(sorted);
+		assertEquals(sorted, sids);
+	}
+
+	@Test
+	public void testExportOnOwnThreads() {
+		final List<String> threads = Collections.synchronizedList(new ArrayList<String>());
+		DateRangeExporter<Call> exporter = new DateRangeExporter<Call>(null, "StartTime", new Date(16495 * DAY),
+		                                                               new Date(16504 * DAY), 3, null) {
+			@Override
+			protected ListResource<Call, ?> createList(final Map<String, String> partitionFilters) {
+				threads.add(Thread.currentThread().getName());
+				return new DayList(partitionFilters);
+			}
+		};
+
+		assertEquals(10, exporter.export(new DateRangeExporter.Sink<Call>() {
+			public void accept(final Call call) {
+			}
+		}));
+		assertEquals(3, threads.size());
+		for (final String thread : threads) {
+			assertTrue(thread, thread.startsWith("twilio-exporter-"));
+		}
+	}
+
+	@Test
+	public void testUnorderedExport() {
+		DateRangeExporter<Call> exporter = exporter(4);
+		exporter.setOrdered(false);
+
+		List<String> sids = new ArrayList<String>();
+		CloseableIterator<Call> calls = exporter.iterator();
+		while (calls.hasNext()) {
+			sids.add(calls.next().getSid());
+		}
+
+		assertEquals(10, sids.size());
+		Collections.sort(sids);
+		assertEquals("2015-03-01", sids.get(0));
+		assertEquals("2015-03-10", sids.get(9));
+	}
+}
@@ -0,0 +1,77 @@
+package com.twilio.sdk.resource;
+
+import com.twilio.sdk.TwilioRestException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the PrefetchingPageIterator.
+ */
+public class PrefetchingPageIteratorTest {
+
+	/**
+	 * Serves pages "1", "2", ... of one item each, up to the given last page.
+	 */
+	private static PrefetchingPageIterator.PageFetcher<String> pages(final int last) {
+		return new PrefetchingPageIterator.PageFetcher<String>() {
+			public PrefetchingPageIterator.Page<String> fetch(final String uri) throws TwilioRestException {
+				int page = Integer.parseInt(uri);
+				return new PrefetchingPageIterator.Page<String>(Arrays.asList("item" + page),
+				                                                page < last ? String.valueOf(page + 1) : null);
+			}
+		};
+	}
+
+	@Test(timeout = 5000)
+	public void testRejectedFetchIsReported() throws Exception {
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		// The executor shuts down after its first task, so the fetch thread's next submission is rejected
+		PrefetchingPageIterator<String> iterator = new PrefetchingPageIterator<String>(
+				Arrays.asList("item0"), "1", new PrefetchingPageIterator.PageFetcher<String>() {
+					public PrefetchingPageIterator.Page<String> fetch(final String uri) throws TwilioRestException {
+						executor.shutdown();
+						return pages(3).fetch(uri);
+					}
+				}, 2, executor);
+
+		assertEquals("item0", iterator.next());
+		assertEquals("item1", iterator.next());
+		try {
+			iterator.hasNext();
+			fail("Expected the rejected fetch to be reported");
+		} catch (final RuntimeException e) {
+			assertTrue(e.getCause() instanceof RejectedExecutionException);
+		}
+	}
+
+	@Test(timeout = 5000)
+	public void testFetcherErrorIsReported() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			PrefetchingPageIterator<String> iterator = new PrefetchingPageIterator<String>(
+					Arrays.asList("item0"), "1", new PrefetchingPageIterator.PageFetcher<String>() {
+						public PrefetchingPageIterator.Page<String> fetch(final String uri) {
+							throw new OutOfMemoryError("test");
+						}
+					}, 1, executor);
+
+			assertEquals("item0", iterator.next());
+			try {
+				iterator.hasNext();
+				fail("Expected the error to be reported");
+			} catch (final RuntimeException e) {
+				assertTrue(e.getCause() instanceof OutOfMemoryError);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
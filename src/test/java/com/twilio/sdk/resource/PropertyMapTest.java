@@ -0,0 +1,134 @@
+package com.twilio.sdk.resource;
+
+import com.twilio.sdk.TwilioRestClient;
+import com.twilio.sdk.resource.instance.Call;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class PropertyMapTest {
+
+	private static Map<String, Object> call() {
+		Map<String, Object> properties = new HashMap<String, Object>();
+		properties.put("sid", "CA0123456789abcdef0123456789abcdef");
+		properties.put("status", "completed");
+		properties.put("duration", "21");
+		properties.put("parent_call_sid", null);
+		return properties;
+	}
+
+	@Test
+	public void testBehavesLikeHashMap() {
+		Map<String, Object> expected = call();
+		PropertyMap properties = new PropertyMap(new PropertyMap.Schema(), expected);
+
+		assertEquals(expected, properties);
+		assertEquals(properties, expected);
+		assertEquals(expected.hashCode(), properties.hashCode());
+		assertEquals(4, properties.size());
+		assertTrue(properties.containsKey("parent_call_sid"));
+		assertNull(properties.get("parent_call_sid"));
+		assertFalse(properties.containsKey("price"));
+		assertNull(properties.get(null));
+
+		assertEquals("completed", properties.put("status", "busy"));
+		assertEquals("busy", properties.get("status"));
+		assertEquals(4, properties.size());
+
+		assertEquals("21", properties.remove("duration"));
+		assertNull(properties.remove("duration"));
+		assertFalse(properties.containsKey("duration"));
+		assertEquals(3, properties.size());
+	}
+
+	@Test
+	public void testSchemaIsShared() {
+		PropertyMap.Schema schema = new PropertyMap.Schema();
+		PropertyMap first = new PropertyMap(schema, call());
+		assertEquals(4, schema.size());
+
+		Map<String, Object> other = call();
+		other.put("price", "-0.01500");
+		PropertyMap second = new PropertyMap(schema, other);
+		assertEquals(5, schema.size());
+		assertFalse(first.containsKey("price"));
+		assertEquals("-0.01500", second.get("price"));
+
+		first.put("price", "-0.02000");
+		assertEquals("-0.02000", first.get("price"));
+		assertEquals("-0.01500", second.get("price"));
+	}
+
+	@Test
+	public void testOverflowBeyondSchema() {
+		PropertyMap.Schema schema = new PropertyMap.Schema();
+		Map<String, Object> expected = new HashMap<String, Object>();
+		for (int i = 0; i < PropertyMap.MAX_SCHEMA_SIZE + 10; i++) {
+			expected.put("property_" + i, String.valueOf(i));
+		}
+		PropertyMap properties = new PropertyMap(schema, expected);
+
+		assertEquals(PropertyMap.MAX_SCHEMA_SIZE, schema.size());
+		assertEquals(expected, properties);
+		assertEquals(expected.size(), properties.size());
+
+		int removed = 0;
+		for (Iterator<Map.Entry<String, Object>> it = properties.entrySet().iterator(); it.hasNext(); ) {
+			if (Integer.parseInt((String) it.next().getValue()) % 2 == 0) {
+				it.remove();
+				removed++;
+			}
+		}
+		assertEquals(expected.size() - removed, properties.size());
+		assertNull(properties.get("property_" + (PropertyMap.MAX_SCHEMA_SIZE + 8)));
+		assertEquals(String.valueOf(PropertyMap.MAX_SCHEMA_SIZE + 9),
+		             properties.get("property_" + (PropertyMap.MAX_SCHEMA_SIZE + 9)));
+	}
+
+	@Test
+	public void testInstanceResourceProperties() {
+		TwilioRestClient client = mock(TwilioRestClient.class);
+		Map<String, Object> properties = call();
+		Call first = new Call(client, properties);
+		Call second = new Call(client, properties);
+		properties.put("status", "busy");
+
+		assertEquals("completed", first.getStatus());
+		assertEquals("CA0123456789abcdef0123456789abcdef", second.getSid());
+		assertNull(first.getParentCallSid());
+		assertSame(PropertyMap.schemaFor(Call.class), PropertyMap.schemaFor(first.getClass()));
+	}
+
+	@Test
+	public void testDecodedOnceUntilReplaced() {
+		final int[] decodes = new int[1];
+		PropertyDecoder decoder = new PropertyDecoder() {
+			@Override
+			long decode(final Object value) {
+				decodes[0]++;
+				return PropertyDecoder.INT.decode(value);
+			}
+		};
+		PropertyMap properties = new PropertyMap(new PropertyMap.Schema(), call());
+
+		assertEquals(21, properties.decode("duration", decoder));
+		assertEquals(21, properties.decode("duration", decoder));
+		assertEquals(1, decodes[0]);
+		assertEquals(PropertyDecoder.NO_VALUE, properties.decode("parent_call_sid", decoder));
+		assertEquals(PropertyDecoder.NO_VALUE, properties.decode("price", decoder));
+
+		properties.put("duration", "42");
+		assertEquals(42, properties.decode("duration", decoder));
+		assertEquals(42000000, properties.decode("duration", PropertyDecoder.MICROS));
+		assertEquals(PropertyDecoder.NO_VALUE, properties.decode("status", PropertyDecoder.MICROS));
+	}
+}
@@ -0,0 +1,203 @@
+package com.twilio.sdk.resource;
+
+import com.twilio.sdk.TwilioRestClient;
+import com.twilio.sdk.resource.instance.Recording;
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.twilio.sdk.test.CannedResponses.response;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RecordingArchiverTest {
+
+	private static final String ACCOUNT_SID = "AC0123456789abcdef0123456789abcdef";
+
+	private static String sid(final int i) {
+		return "RE" + String.format("%032d", i);
+	}
+
+	/**
+	 * Serves one page of four recordings, their audio, and deletes. The audio of the chunked recording is sent
+	 * without a Content-Length.
+	 */
+	private static HttpClient server(final List<String> downloads, final List<String> deletes, final String chunked)
+			throws Exception {
+		HttpClient httpClient = mock(HttpClient.class);
+		when(httpClient.execute(Matchers.<HttpUriRequest>anyObject())).thenAnswer(new Answer<HttpResponse>() {
+			public HttpResponse answer(final InvocationOnMock invocation) throws Throwable {
+				HttpUriRequest request = (HttpUriRequest) invocation.getArguments()[0];
+				String path = request.getURI().getPath();
+				String name = path.substring(path.lastIndexOf('/') + 1);
+				if ("DELETE".equals(request.getMethod())) {
+					deletes.add(name);
+					return response(204, null, null);
+				}
+				if (name.startsWith("Recordings.json")) {
+					StringBuilder page = new StringBuilder("{\"recordings\": [");
+					for (int i = 1; i <= 4; i++) {
+						page.append(i > 1 ? "," : "").append("{\"sid\": \"").append(sid(i)).append("\"}");
+					}
+					return response(200, page.append("], \"next_page_uri\": null}").toString(), "application/json");
+				}
+				downloads.add(name);
+				String audio = "audio-" + name;
+				Header range = request.getFirstHeader("Range");
+				if (range != null && Integer.parseInt(range.getValue().replaceAll("\\D", "")) >= audio.length()) {
+					HttpResponse response = response(416, null, null);
+					response.setHeader("Content-Range", "bytes */" + audio.length());
+					return response;
+				}
+				if (name.equals(chunked)) {
+					return response(200, new ByteArrayInputStream(audio.getBytes("UTF-8")), -1, "audio/x-wav");
+				}
+				return response(200, audio, "audio/x-wav");
+			}
+		});
+		return httpClient;
+	}
+
+	private static File directory() throws Exception {
+		File directory = File.createTempFile("archive", "");
+		directory.delete();
+		directory.mkdirs();
+		directory.deleteOnExit();
+		return directory;
+	}
+
+	private static List<String> lines(final File file) throws Exception {
+		List<String> lines = new ArrayList<String>();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+		String line;
+		while ((line = reader.readLine()) != null) {
+			lines.add(line);
+		}
+		reader.close();
+		return lines;
+	}
+
+	@Test
+	public void testArchiveSkipsCheckpointedAndDeletes() throws Exception {
+		List<String> downloads = Collections.synchronizedList(new ArrayList<String>());
+		List<String> deletes = Collections.synchronizedList(new ArrayList<String>());
+		TwilioRestClient client = new TwilioRestClient(ACCOUNT_SID, "0123456789abcdef0123456789abcdef");
+		client.setHttpClient(server(downloads, deletes, null));
+
+		File directory = directory();
+		File checkpoint = new File(directory, "archived.txt");
+		FileOutputStream seed = new FileOutputStream(checkpoint);
+		seed.write((sid(2) + "\n").getBytes("UTF-8"));
+		seed.close();
+
+		final List<File> archivedFiles = Collections.synchronizedList(new ArrayList<File>());
+		RecordingArchiver archiver = new RecordingArchiver.Builder(client.getAccount().getRecordings(), directory)
+				.parallelism(2)
+				.checkpoint(checkpoint)
+				.delete(true)
+				.listener(new RecordingArchiver.Listener() {
+					public void onArchived(final Recording recording, final File file) {
+						archivedFiles.add(file);
+					}
+
+					public void onFailure(final Recording recording, final Exception e) {
+						throw new AssertionError(e);
+					}
+				})
+				.build();
+		archiver.run();
+
+		assertEquals(3, archiver.getArchived());
+		assertEquals(1, archiver.getSkipped());
+		assertEquals(0, archiver.getFailed());
+		assertEquals(3, archiver.getDeleted());
+		assertEquals(3, downloads.size());
+		assertFalse(downloads.contains(sid(2) + ".wav"));
+		assertEquals(3, deletes.size());
+		assertFalse(deletes.contains(sid(2) + ".json"));
+		assertEquals(3, archivedFiles.size());
+
+		for (int i : new int[] {1, 3, 4}) {
+			File file = new File(directory, sid(i) + ".wav");
+			assertTrue(file.exists());
+			assertEquals(("audio-" + sid(i) + ".wav").length(), file.length());
+			assertFalse(new File(directory, sid(i) + ".wav.part").exists());
+			file.deleteOnExit();
+		}
+
+		List<String> checkpointed = lines(checkpoint);
+		assertEquals(4, checkpointed.size());
+		assertTrue(checkpointed.containsAll(Arrays.asList(sid(1), sid(2), sid(3), sid(4))));
+		checkpoint.deleteOnExit();
+
+		// A second run finds everything checkpointed
+		RecordingArchiver again = new RecordingArchiver.Builder(client.getAccount().getRecordings(), directory)
+				.checkpoint(checkpoint)
+				.build();
+		again.run();
+		assertEquals(0, again.getArchived());
+		assertEquals(4, again.getSkipped());
+		assertEquals(3, downloads.size());
+	}
+
+	@Test
+	public void testCompletePartialFileAndUnverifiedLength() throws Exception {
+		List<String> downloads = Collections.synchronizedList(new ArrayList<String>());
+		List<String> deletes = Collections.synchronizedList(new ArrayList<String>());
+		TwilioRestClient client = new TwilioRestClient(ACCOUNT_SID, "0123456789abcdef0123456789abcdef");
+		client.setHttpClient(server(downloads, deletes, sid(4) + ".wav"));
+		client.setNumRetries(1);
+
+		// Left by a run that stopped between the download and the rename
+		File directory = directory();
+		File partial = new File(directory, sid(3) + ".wav.part");
+		FileOutputStream seed = new FileOutputStream(partial);
+		seed.write(("audio-" + sid(3) + ".wav").getBytes("UTF-8"));
+		seed.close();
+
+		final List<String> failures = Collections.synchronizedList(new ArrayList<String>());
+		RecordingArchiver archiver = new RecordingArchiver.Builder(client.getAccount().getRecordings(), directory)
+				.delete(true)
+				.listener(new RecordingArchiver.Listener() {
+					public void onArchived(final Recording recording, final File file) {
+					}
+
+					public void onFailure(final Recording recording, final Exception e) {
+						failures.add(recording.getSid());
+					}
+				})
+				.build();
+		archiver.run();
+
+		assertEquals(3, archiver.getArchived());
+		assertEquals(1, archiver.getFailed());
+		assertEquals(Arrays.asList(sid(4)), failures);
+		assertEquals(3, deletes.size());
+		assertFalse(deletes.contains(sid(4) + ".json"));
+		assertEquals(("audio-" + sid(3) + ".wav").length(), new File(directory, sid(3) + ".wav").length());
+		assertFalse(new File(directory, sid(4) + ".wav").exists());
+
+		for (File file : directory.listFiles()) {
+			file.deleteOnExit();
+		}
+	}
+}
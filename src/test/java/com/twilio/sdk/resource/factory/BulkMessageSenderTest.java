@@ -0,0 +1,182 @@
+package com.twilio.sdk.resource.factory;
+
+import com.twilio.sdk.ExponentialBackoffRetryPolicy;
+import com.twilio.sdk.TwilioRestClient;
+import com.twilio.sdk.TwilioRestException;
+import com.twilio.sdk.resource.instance.Message;
+import org.apache.http.HttpResponse;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.twilio.sdk.test.CannedResponses.json;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BulkMessageSenderTest {
+
+	/**
+	 * Creates messages after a short delay, counting concurrent calls and failing as told by the message body.
+	 */
+	private static class FakeMessageFactory implements MessageFactory {
+
+		private final AtomicInteger inFlight = new AtomicInteger();
+		private final AtomicInteger maxInFlight = new AtomicInteger();
+		private final AtomicInteger calls = new AtomicInteger();
+
+		public Message create(final List<NameValuePair> params) throws TwilioRestException {
+			calls.incrementAndGet();
+			int current = inFlight.incrementAndGet();
+			synchronized (maxInFlight) {
+				maxInFlight.set(Math.max(maxInFlight.get(), current));
+			}
+
+			try {
+				Thread.sleep(5);
+				String body = params.get(2).getValue();
+				if (body.startsWith("status:")) {
+					int status = Integer.parseInt(body.substring(7));
+					throw new TwilioRestException("Failed", status, "", status);
+				}
+
+				Map<String, Object> properties = new HashMap<String, Object>();
+				properties.put("sid", "MM" + params.get(1).getValue());
+				properties.put("body", body);
+				return new Message(mock(TwilioRestClient.class), properties);
+			} catch (final InterruptedException e) {
+				throw new RuntimeException(e);
+			} finally {
+				inFlight.decrementAndGet();
+			}
+		}
+	}
+
+	private static class CountingCallback implements BulkMessageSender.Callback {
+
+		private final AtomicInteger successes = new AtomicInteger();
+		private final AtomicInteger failures = new AtomicInteger();
+
+		public void onSuccess(final List<NameValuePair> params, final Message message) {
+			assertEquals("MM" + params.get(1).getValue(), message.getSid());
+			successes.incrementAndGet();
+		}
+
+		public void onFailure(final List<NameValuePair> params, final Exception e) {
+			failures.incrementAndGet();
+		}
+	}
+
+	@Test
+	public void testInFlightIsBounded() {
+		FakeMessageFactory factory = new FakeMessageFactory();
+		CountingCallback callback = new CountingCallback();
+		BulkMessageSender sender = new BulkMessageSender.Builder(factory, callback).maxInFlight(4).build();
+
+		for (int i = 0; i < 100; i++) {
+			sender.send("+15005550006", "+1415555" + i, "Hello");
+		}
+		sender.close();
+
+		assertEquals(100, callback.successes.get());
+		assertEquals(100, sender.getSent());
+		assertTrue(factory.maxInFlight.get() <= 4);
+	}
+
+	@Test
+	public void testTooManyRequestsIsRetried() {
+		FakeMessageFactory factory = new FakeMessageFactory();
+		CountingCallback callback = new CountingCallback();
+		BulkMessageSender sender = new BulkMessageSender.Builder(factory, callback)
+				.maxAttempts(3)
+				.retryPolicy(new ExponentialBackoffRetryPolicy(1, 5, 1000))
+				.build();
+
+		sender.send("+15005550006", "+14155550000", "status:429");
+		sender.send("+15005550006", "+14155550001", "status:500");
+		sender.close();
+
+		assertEquals(2, callback.failures.get());
+		assertEquals(2, sender.getRetried());
+		assertEquals(4, factory.calls.get());
+	}
+
+	@Test
+	public void testRateIsPaced() {
+		CountingCallback callback = new CountingCallback();
+		BulkMessageSender sender = new BulkMessageSender.Builder(new FakeMessageFactory(), callback)
+				.maxInFlight(8)
+				.messagesPerSecond(200)
+				.burst(1)
+				.build();
+
+		long start = System.nanoTime();
+		for (int i = 0; i < 21; i++) {
+			sender.send("+15005550006", "+1415555" + i, "Hello");
+		}
+		sender.close();
+		long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertEquals(21, callback.successes.get());
+		assertTrue("elapsed " + elapsed, elapsed >= 90);
+	}
+
+	@Test
+	public void testFailingCallbackCountsMessageAsSent() {
+		final AtomicInteger failures = new AtomicInteger();
+		BulkMessageSender sender = new BulkMessageSender.Builder(new FakeMessageFactory(),
+		                                                         new BulkMessageSender.Callback() {
+			public void onSuccess(final List<NameValuePair> params, final Message message) {
+				throw new IllegalStateException("callback failed");
+			}
+
+			public void onFailure(final List<NameValuePair> params, final Exception e) {
+				failures.incrementAndGet();
+			}
+		}).build();
+
+		sender.send("+15005550006", "+14155550000", "Hello");
+		sender.close();
+
+		assertEquals(1, sender.getSent());
+		assertEquals(0, sender.getFailed());
+		assertEquals(0, failures.get());
+	}
+
+	@Test
+	public void testMessageListIsNotRetriedByClient() throws Exception {
+		final AtomicInteger requests = new AtomicInteger();
+		HttpClient httpClient = mock(HttpClient.class);
+		when(httpClient.execute(Matchers.<HttpUriRequest>anyObject())).thenAnswer(new Answer<HttpResponse>() {
+			public HttpResponse answer(final InvocationOnMock invocation) throws Throwable {
+				requests.incrementAndGet();
+				return json(429, "{\"status\": 429, \"message\": \"Too Many Requests\"}");
+			}
+		});
+		TwilioRestClient client = new TwilioRestClient("AC0123456789abcdef0123456789abcdef",
+		                                               "0123456789abcdef0123456789abcdef");
+		client.setHttpClient(httpClient);
+
+		CountingCallback callback = new CountingCallback();
+		BulkMessageSender sender = new BulkMessageSender.Builder(client.getAccount().getMessageFactory(), callback)
+				.maxAttempts(2)
+				.retryPolicy(new ExponentialBackoffRetryPolicy(1, 5, 1000))
+				.build();
+		sender.send("+15005550006", "+14155550000", "Hello");
+		sender.close();
+
+		assertEquals(1, callback.failures.get());
+		assertEquals(2, requests.get());
+	}
+}
@@ -7,14 +7,27 @@ import com.twilio.sdk.resource.list.RecordingList;
 import com.twilio.sdk.resource.list.TranscriptionList;
 import org.junit.Test;
 import org.mockito.Matchers;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.stub;
+import static org.mockito.Mockito.when;
 
 public class CallTest {
 	final String callSid = "CA12345678901234567890123456789012";
@@ -56,4 +69,64 @@ public class CallTest {
 		assertEquals("2010-04-01", call.getApiVersion());
 
 	}
+
+	@Test
+	public void testTypedAccessors() {
+		Map<String, Object> properties = new HashMap<String, Object>();
+		properties.put("sid", callSid);
+		properties.put("start_time", "Tue, 10 Mar 2015 14:22:10 +0000");
+		properties.put("end_time", null);
+		properties.put("price", "-0.01500");
+		properties.put("duration", "21");
+		Call call = new Call(client, properties);
+
+		assertEquals(1425997330000L, call.getStartTimeMillis());
+		assertEquals(call.getStartTimeMillis(), call.getStartTime().getTime());
+		assertNotSame(call.getStartTime(), call.getStartTime());
+		assertEquals(Call.NO_VALUE, call.getEndTimeMillis());
+		assertNull(call.getEndTime());
+		assertEquals(-15000, call.getPriceMicros());
+		assertEquals(21, call.getDurationSeconds());
+		assertEquals("21", call.getDuration());
+
+		properties.put("duration", null);
+		assertEquals(-1, new Call(client, properties).getDurationSeconds());
+	}
+
+	@Test
+	public void testConcurrentLazyLoadFetchesOnce() throws Exception {
+		setupMocks();
+		final AtomicInteger fetches = new AtomicInteger();
+		final CountDownLatch started = new CountDownLatch(1);
+		when(client.safeRequest(Matchers.anyString(), Matchers.eq("GET"), Matchers.any(Map.class)))
+				.thenAnswer(new Answer<TwilioRestResponse>() {
+					public TwilioRestResponse answer(final InvocationOnMock invocation) throws Throwable {
+						fetches.incrementAndGet();
+						started.countDown();
+						Thread.sleep(100);
+						return resp;
+					}
+				});
+		final Call call = new Call(client, callSid);
+		call.setRequestAccountSid(accountSid);
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<String>> tos = new ArrayList<Future<String>>();
+		for (int i = 0; i < 8; i++) {
+			tos.add(executor.submit(new Callable<String>() {
+				public String call() throws Exception {
+					started.await();
+					return call.getTo();
+				}
+			}));
+		}
+		String first = call.getFrom();
+		for (Future<String> to : tos) {
+			assertEquals("+19197404420", to.get());
+		}
+		executor.shutdown();
+
+		assertEquals("+19192386150", first);
+		assertEquals(1, fetches.get());
+	}
 }
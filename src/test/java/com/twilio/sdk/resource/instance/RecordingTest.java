@@ -1,14 +1,33 @@
 package com.twilio.sdk.resource.instance;
 
+import com.twilio.sdk.ExponentialBackoffRetryPolicy;
+import com.twilio.sdk.TransferListener;
 import com.twilio.sdk.TwilioRestClient;
 import com.twilio.sdk.resource.list.TranscriptionList;
 
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
 import org.mockito.Mockito;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.twilio.sdk.test.CannedResponses.response;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -55,4 +74,106 @@ public class RecordingTest {
 		assertEquals("USD", recording.getPriceUnit());
 	}
 
+	private static HttpResponse audio(final int status, final String body, final long contentLength) {
+		return response(status, new ByteArrayInputStream(body.getBytes()), contentLength, "audio/x-wav");
+	}
+
+	private static String read(final File file) throws Exception {
+		FileInputStream in = new FileInputStream(file);
+		try {
+			byte[] bytes = new byte[(int) file.length()];
+			assertEquals(bytes.length, in.read(bytes));
+			return new String(bytes);
+		} finally {
+			in.close();
+		}
+	}
+
+	@Test
+	public void testDownloadResumesTruncatedTransfer() throws Exception {
+		HttpClient httpClient = mock(HttpClient.class);
+		HttpResponse partial = audio(206, "456789", 6);
+		partial.setHeader("Content-Range", "bytes 4-9/10");
+		when(httpClient.execute(Matchers.<HttpUriRequest>anyObject())).thenReturn(audio(200, "0123", 10), partial);
+
+		TwilioRestClient client = new TwilioRestClient("AC0123456789abcdef0123456789abcdef",
+		                                               "0123456789abcdef0123456789abcdef");
+		client.setHttpClient(httpClient);
+		client.setRetryPolicy(new ExponentialBackoffRetryPolicy(1, 5, 1000));
+
+		File file = File.createTempFile("recording", ".wav");
+		file.deleteOnExit();
+		FileOutputStream stale = new FileOutputStream(file);
+		stale.write("stale content".getBytes());
+		stale.close();
+
+		Recording recording = client.getAccount().getRecording(RECORDING_SID);
+		assertEquals(10, recording.downloadTo(".wav", file));
+		assertEquals("0123456789", read(file));
+
+		ArgumentCaptor<HttpUriRequest> captor = ArgumentCaptor.forClass(HttpUriRequest.class);
+		verify(httpClient, times(2)).execute(captor.capture());
+		List<HttpUriRequest> requests = captor.getAllValues();
+		assertEquals("/2010-04-01/Accounts/AC0123456789abcdef0123456789abcdef/Recordings/" + RECORDING_SID + ".wav",
+		             requests.get(0).getURI().getPath());
+		assertNull(requests.get(0).getFirstHeader("Range"));
+		assertEquals("identity", requests.get(0).getFirstHeader("Accept-Encoding").getValue());
+		assertEquals("bytes=4-", requests.get(1).getFirstHeader("Range").getValue());
+	}
+
+	@Test
+	public void testDownloadResumesPartialFile() throws Exception {
+		HttpClient httpClient = mock(HttpClient.class);
+		HttpResponse partial = audio(206, "6789", 4);
+		partial.setHeader("Content-Range", "bytes 6-9/10");
+		when(httpClient.execute(Matchers.<HttpUriRequest>anyObject())).thenReturn(partial);
+
+		TwilioRestClient client = new TwilioRestClient("AC0123456789abcdef0123456789abcdef",
+		                                               "0123456789abcdef0123456789abcdef");
+		client.setHttpClient(httpClient);
+
+		File file = File.createTempFile("recording", ".mp3");
+		file.deleteOnExit();
+		FileOutputStream started = new FileOutputStream(file);
+		started.write("012345".getBytes());
+		started.close();
+
+		assertEquals(10, client.getAccount().getRecording(RECORDING_SID).downloadTo(".mp3", file, true));
+		assertEquals("0123456789", read(file));
+
+		ArgumentCaptor<HttpUriRequest> captor = ArgumentCaptor.forClass(HttpUriRequest.class);
+		verify(httpClient).execute(captor.capture());
+		assertEquals("bytes=6-", captor.getValue().getFirstHeader("Range").getValue());
+	}
+
+	@Test
+	public void testDownloadReportsEveryChunk() throws Exception {
+		byte[] body = new byte[600 * 1024];
+		HttpClient httpClient = mock(HttpClient.class);
+		when(httpClient.execute(Matchers.<HttpUriRequest>anyObject())).thenReturn(
+				response(200, new ByteArrayInputStream(body), body.length, "audio/x-wav"));
+
+		TwilioRestClient client = new TwilioRestClient("AC0123456789abcdef0123456789abcdef",
+		                                               "0123456789abcdef0123456789abcdef");
+		client.setHttpClient(httpClient);
+
+		File file = File.createTempFile("recording", ".wav");
+		file.deleteOnExit();
+		final List<Long> chunks = new ArrayList<Long>();
+		TransferListener listener = new TransferListener() {
+			public void transferred(final long bytes) {
+				chunks.add(bytes);
+			}
+		};
+
+		assertEquals(body.length, client.getAccount().getRecording(RECORDING_SID).downloadTo(".wav", file, false,
+		                                                                                     true, listener));
+		assertTrue(chunks.size() >= 3);
+		long total = 0;
+		for (long chunk : chunks) {
+			total += chunk;
+		}
+		assertEquals(body.length, total);
+	}
+
 }
@@ -0,0 +1,106 @@
+package com.twilio.sdk.resource.list;
+
+import com.twilio.sdk.resource.CloseableIterator;
+import com.twilio.sdk.resource.instance.BasicRequestTester;
+import com.twilio.sdk.resource.instance.Call;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.when;
+
+public class CallListTest extends BasicRequestTester {
+
+	private InputStream page(final int page) {
+		return CallListTest.class.getResourceAsStream("calls_page_" + page + ".json");
+	}
+
+	@Test
+	public void testStreamingIterator() throws Exception {
+		setExpectedServerReturnCode(200);
+		setExpectedServerContentType("application/json");
+		when(entity.getContent()).thenReturn(page(0), page(1));
+
+		CloseableIterator<Call> calls = restClient.getAccount(accountSid).getCalls().streamingIterator();
+
+		List<String> sids = new ArrayList<String>();
+		while (calls.hasNext()) {
+			Call call = calls.next();
+			assertEquals(accountSid, call.getAccountSid());
+			sids.add(call.getSid());
+		}
+
+		assertEquals(3, sids.size());
+		assertEquals("CA00000000000000000000000000000000", sids.get(0));
+		assertEquals("CA00000000000000000000000000000002", sids.get(2));
+		assertFalse(calls.hasNext());
+
+		ArgumentCaptor<HttpUriRequest> captor = ArgumentCaptor.forClass(HttpUriRequest.class);
+		Mockito.verify(httpClient, Mockito.times(2)).execute(captor.capture());
+		assertEquals("https://api.twilio.com/2010-04-01/Accounts/" + accountSid + "/Calls.json",
+		             captor.getAllValues().get(0).getURI().toString());
+		assertEquals("https://api.twilio.com/2010-04-01/Accounts/" + accountSid
+		             + "/Calls.json?PageSize=2&Page=1&PageToken=PACA00000000000000000000000000000001",
+		             captor.getAllValues().get(1).getURI().toString());
+	}
+
+	@Test
+	public void testStreamingIteratorMatchesPagedIterator() throws Exception {
+		setExpectedServerReturnCode(200);
+		setExpectedServerContentType("application/json");
+		when(entity.getContent()).thenReturn(page(0), page(1), page(0), page(1));
+
+		List<String> streamed = new ArrayList<String>();
+		CloseableIterator<Call> calls = restClient.getAccount(accountSid).getCalls().streamingIterator();
+		while (calls.hasNext()) {
+			Call call = calls.next();
+			streamed.add(call.getSid() + " " + call.getDuration() + " " + call.getTo());
+		}
+
+		List<String> paged = new ArrayList<String>();
+		for (final Call call : restClient.getAccount(accountSid).getCalls()) {
+			paged.add(call.getSid() + " " + call.getDuration() + " " + call.getTo());
+		}
+
+		assertEquals(paged, streamed);
+	}
+
+	@Test
+	public void testStreamingIteratorClose() throws Exception {
+		setExpectedServerReturnCode(200);
+		setExpectedServerContentType("application/json");
+		when(entity.getContent()).thenReturn(page(0));
+
+		CloseableIterator<Call> calls = restClient.getAccount(accountSid).getCalls().streamingIterator();
+		assertEquals("CA00000000000000000000000000000000", calls.next().getSid());
+
+		calls.close();
+		assertFalse(calls.hasNext());
+		Mockito.verify(httpClient, Mockito.times(1)).execute(Mockito.<HttpUriRequest>anyObject());
+	}
+
+	@Test
+	public void testPrefetchingIterator() throws Exception {
+		setExpectedServerReturnCode(200);
+		setExpectedServerContentType("application/json");
+		when(entity.getContent()).thenReturn(page(0), page(1));
+
+		CloseableIterator<Call> calls = restClient.getAccount(accountSid).getCalls().prefetchingIterator(2);
+
+		List<String> sids = new ArrayList<String>();
+		while (calls.hasNext()) {
+			sids.add(calls.next().getSid());
+		}
+
+		assertEquals(3, sids.size());
+		assertEquals("CA00000000000000000000000000000002", sids.get(2));
+		Mockito.verify(httpClient, Mockito.times(2)).execute(Mockito.<HttpUriRequest>anyObject());
+	}
+}
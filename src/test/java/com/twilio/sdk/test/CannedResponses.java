@@ -0,0 +1,89 @@
+package com.twilio.sdk.test;
+
+import org.apache.http.HttpVersion;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.EnglishReasonPhraseCatalog;
+import org.apache.http.message.BasicHttpResponse;
+
+import java.io.InputStream;
+
+/**
+ * Builds real responses for tests answering requests from a mocked or proxied HttpClient, where the mocked
+ * response of {@link com.twilio.sdk.resource.instance.BasicRequestTester} does not fit, e.g. because each
+ * request needs a response of its own.
+ */
+public final class CannedResponses {
+
+	private CannedResponses() {
+	}
+
+	/**
+	 * A 200 response with a JSON body.
+	 *
+	 * @param body the body
+	 * @return the response
+	 */
+	public static BasicHttpResponse json(final String body) {
+		return json(200, body);
+	}
+
+	/**
+	 * A response with a JSON body.
+	 *
+	 * @param status the status code
+	 * @param body the body
+	 * @return the response
+	 */
+	public static BasicHttpResponse json(final int status, final String body) {
+		return response(status, body, "application/json");
+	}
+
+	/**
+	 * A response with a body of the given content type, sent with a Content-Length.
+	 *
+	 * @param status the status code
+	 * @param body the body, or null for a response without a body
+	 * @param contentType the content type of the body
+	 * @return the response
+	 */
+	public static BasicHttpResponse response(final int status, final String body, final String contentType) {
+		BasicHttpResponse response = response(status);
+		if (body != null) {
+			response.setEntity(new StringEntity(body, ContentType.create(contentType)));
+			response.setHeader("Content-Type", contentType);
+		}
+		return response;
+	}
+
+	/**
+	 * A response streaming its body from the given stream.
+	 *
+	 * @param status the status code
+	 * @param content the body
+	 * @param length the Content-Length sent, or -1 to send none
+	 * @param contentType the content type of the body
+	 * @return the response
+	 */
+	public static BasicHttpResponse response(final int status, final InputStream content, final long length,
+	                                         final String contentType) {
+		BasicHttpResponse response = response(status);
+		InputStreamEntity entity = new InputStreamEntity(content, length);
+		entity.setContentType(contentType);
+		response.setEntity(entity);
+		response.setHeader("Content-Type", contentType);
+		return response;
+	}
+
+	/**
+	 * A response without a body, e.g. a redirect or a 204.
+	 *
+	 * @param status the status code
+	 * @return the response
+	 */
+	public static BasicHttpResponse response(final int status) {
+		return new BasicHttpResponse(HttpVersion.HTTP_1_1, status,
+		                             EnglishReasonPhraseCatalog.INSTANCE.getReason(status, null));
+	}
+}